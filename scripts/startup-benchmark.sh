@@ -0,0 +1,85 @@
+#!/usr/bin/env bash
+#
+# Startup time and RSS comparison for the supported launch modes.
+#
+#   jvm     plain executable jar
+#   aot     jar processed by Spring AOT, run with -Dspring.aot.enabled=true
+#   cds     extracted jar + AppCDS archive from the training run
+#   cds-aot both of the above
+#   native  GraalVM native image
+#
+# Build first:
+#   ./mvnw -Pnative,cds -DskipTests package     (jvm, aot, cds, cds-aot)
+#   ./mvnw -Pnative -DskipTests native:compile  (native, requires GraalVM)
+#
+# Usage: scripts/startup-benchmark.sh [iterations] [modes...]
+
+set -euo pipefail
+
+ITERATIONS="${1:-5}"
+shift || true
+MODES=("$@")
+if [ ${#MODES[@]} -eq 0 ]; then
+  MODES=(jvm aot cds cds-aot native)
+fi
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+TARGET="$ROOT/target"
+JAR="$(ls "$TARGET"/authdemo-*.jar 2>/dev/null | grep -v original | head -n 1 || true)"
+CDS_DIR="$TARGET/cds"
+NATIVE="$TARGET/authdemo"
+PORT="${BENCHMARK_PORT:-18080}"
+
+command_for() {
+  case "$1" in
+    jvm)     echo "java -jar $JAR" ;;
+    aot)     echo "java -Dspring.aot.enabled=true -jar $JAR" ;;
+    cds)     echo "java -XX:SharedArchiveFile=$CDS_DIR/application.jsa -jar $CDS_DIR/$(basename "$JAR")" ;;
+    cds-aot) echo "java -XX:SharedArchiveFile=$CDS_DIR/application.jsa -Dspring.aot.enabled=true -jar $CDS_DIR/$(basename "$JAR")" ;;
+    native)  echo "$NATIVE" ;;
+  esac
+}
+
+available() {
+  case "$1" in
+    jvm|aot)     [ -n "$JAR" ] ;;
+    cds|cds-aot) [ -f "$CDS_DIR/application.jsa" ] ;;
+    native)      [ -x "$NATIVE" ] ;;
+    *)           return 1 ;;
+  esac
+}
+
+# Runs one start, waits for "Started AuthdemoApplication", prints "<seconds> <rss_kb>"
+measure() {
+  local log
+  log="$(mktemp)"
+  # shellcheck disable=SC2086
+  $(command_for "$1") --server.port="$PORT" >"$log" 2>&1 &
+  local pid=$!
+  local line=""
+  for _ in $(seq 1 600); do
+    line="$(grep -m1 "Started AuthdemoApplication" "$log" || true)"
+    [ -n "$line" ] && break
+    kill -0 "$pid" 2>/dev/null || break
+    sleep 0.1
+  done
+  local rss
+  rss="$(awk '/VmRSS/ {print $2}' "/proc/$pid/status" 2>/dev/null || echo 0)"
+  kill "$pid" 2>/dev/null || true
+  wait "$pid" 2>/dev/null || true
+  rm -f "$log"
+  local seconds
+  seconds="$(echo "$line" | sed -n 's/.*process running for \([0-9.]*\).*/\1/p')"
+  echo "${seconds:-NaN} ${rss:-0}"
+}
+
+printf "%-8s %12s %12s\n" "mode" "startup(s)" "rss(MB)"
+for mode in "${MODES[@]}"; do
+  if ! available "$mode"; then
+    printf "%-8s %12s %12s\n" "$mode" "n/a" "n/a"
+    continue
+  fi
+  for _ in $(seq 1 "$ITERATIONS"); do
+    measure "$mode"
+  done | awk -v mode="$mode" '{ s += $1; rss += $2; n++ } END { printf "%-8s %12.3f %12.1f\n", mode, s / n, rss / n / 1024 }'
+done
@@ -1,11 +1,18 @@
 package com.pruebatecnica.authdemo;
 
+import com.pruebatecnica.authdemo.config.AuthdemoRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableFeignClients
+@EnableScheduling
+@ConfigurationPropertiesScan
+@ImportRuntimeHints(AuthdemoRuntimeHints.class)
 public class AuthdemoApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,18 @@
+package com.pruebatecnica.authdemo.admin;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Access to /api/admin/**, bound from authdemo.admin.*
+ */
+@Data
+@ConfigurationProperties(prefix = "authdemo.admin")
+public class AdminProperties {
+
+    /**
+     * Shared secret expected in the X-Admin-Token header. When blank, the read-only admin
+     * endpoints stay open and profiling is refused.
+     */
+    private String token = "";
+}
@@ -0,0 +1,21 @@
+package com.pruebatecnica.authdemo.admin;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class AdminSecurityConfiguration {
+
+    @Bean
+    public FilterRegistrationBean<AdminTokenFilter> adminTokenFilter(AdminProperties properties,
+                                                                     ObjectMapper objectMapper) {
+        FilterRegistrationBean<AdminTokenFilter> registration =
+                new FilterRegistrationBean<>(new AdminTokenFilter(properties, objectMapper));
+        registration.addUrlPatterns("/api/admin/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,70 @@
+package com.pruebatecnica.authdemo.admin;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pruebatecnica.authdemo.dto.ErrorResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Guards /api/admin/** with a shared token. Without a configured token every admin request
+ * is refused, reads included: slow requests and query statistics expose usernames, SQL and
+ * timings, and profiling files carry thread stacks, system properties and environment
+ * variables.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class AdminTokenFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Admin-Token";
+
+    private static final UrlPathHelper PATH_HELPER = new UrlPathHelper();
+
+    private final AdminProperties properties;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String configured = properties.getToken();
+        String path = StringUtils.cleanPath(PATH_HELPER.getPathWithinApplication(request));
+        if (configured == null || configured.isBlank()) {
+            reject(response, HttpStatus.FORBIDDEN,
+                    "La administración está deshabilitada: configura authdemo.admin.token para usarla.");
+            return;
+        }
+        if (!matches(configured, request.getHeader(HEADER))) {
+            log.warn("Rejected admin request without a valid token: {} {}", request.getMethod(), path);
+            reject(response, HttpStatus.UNAUTHORIZED, "Token de administración inválido o ausente.");
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    private static boolean matches(String configured, String provided) {
+        if (provided == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(configured.getBytes(StandardCharsets.UTF_8),
+                provided.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        ErrorResponse errorResponse = new ErrorResponse(status.name(), message, "AUTH_006");
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+}
@@ -0,0 +1,38 @@
+package com.pruebatecnica.authdemo.archive;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Cold-tier archival of login_log, bound from authdemo.archive.*
+ */
+@Data
+@ConfigurationProperties(prefix = "authdemo.archive")
+public class ArchiveProperties {
+
+    private boolean enabled = false;
+
+    private Path directory = Path.of("data", "login-log-archive");
+
+    /**
+     * Rows younger than this stay in PostgreSQL
+     */
+    private Duration hotRetention = Duration.ofDays(28);
+
+    /**
+     * Rows per SELECT page and per DELETE batch
+     */
+    private int chunkSize = 1_000;
+
+    /**
+     * Rows per segment file; bounds the memory used by one archival pass
+     */
+    private int segmentRows = 20_000;
+
+    private double bloomFpp = 0.01;
+
+    private Duration interval = Duration.ofHours(1);
+}
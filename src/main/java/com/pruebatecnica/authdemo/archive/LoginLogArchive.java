@@ -0,0 +1,88 @@
+package com.pruebatecnica.authdemo.archive;
+
+import com.pruebatecnica.authdemo.entity.LoginLog;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Read side of the cold tier: the set of segment files on local disk
+ */
+@Component
+@Slf4j
+public class LoginLogArchive {
+
+    private final ArchiveProperties properties;
+    private final List<LoginLogSegment> segments = new CopyOnWriteArrayList<>();
+
+    public LoginLogArchive(ArchiveProperties properties) {
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    void load() throws IOException {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Path directory = properties.getDirectory();
+        Files.createDirectories(directory);
+        List<LoginLogSegment> loaded = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(".tmp")) {
+                    // Left over from an interrupted write; its rows are still in PostgreSQL
+                    Files.deleteIfExists(file);
+                } else if (name.endsWith(LoginLogSegment.EXTENSION)) {
+                    loaded.add(LoginLogSegment.open(file));
+                }
+            }
+        }
+        loaded.sort(Comparator.comparing(LoginLogSegment::minTime));
+        segments.addAll(loaded);
+        log.info("Loaded {} login log archive segments from {}", loaded.size(), directory.toAbsolutePath());
+    }
+
+    /**
+     * Persist rows as a new segment; once this returns they may be deleted from PostgreSQL
+     */
+    public void append(List<LoginLog> rows) throws IOException {
+        if (rows.isEmpty()) {
+            return;
+        }
+        Files.createDirectories(properties.getDirectory());
+        LoginLogSegment segment = LoginLogSegment.write(properties.getDirectory(), rows, properties.getBloomFpp());
+        segments.add(segment);
+        log.info("Archived {} login logs into {}", segment.rowCount(), segment.path().getFileName());
+    }
+
+    /**
+     * Archived rows for the username, newest first
+     */
+    public List<LoginLog> findByUsername(String username) {
+        if (username == null || segments.isEmpty()) {
+            return List.of();
+        }
+        List<LoginLog> rows = new ArrayList<>();
+        for (LoginLogSegment segment : segments) {
+            if (segment.mightContain(username)) {
+                rows.addAll(segment.findByUsername(username));
+            }
+        }
+        rows.sort(Comparator.comparing(LoginLog::getLoginTime).reversed());
+        return rows;
+    }
+
+    public int getSegmentCount() {
+        return segments.size();
+    }
+}
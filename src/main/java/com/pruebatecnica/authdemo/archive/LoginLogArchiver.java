@@ -0,0 +1,87 @@
+package com.pruebatecnica.authdemo.archive;
+
+import com.pruebatecnica.authdemo.entity.LoginLog;
+import com.pruebatecnica.authdemo.repository.LoginLogStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Moves login_log rows older than the hot retention into archive segments.
+ * A segment is fully written and synced before its rows are deleted, in chunks,
+ * so a crash can at worst leave rows in both tiers (reads de-duplicate by id).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LoginLogArchiver {
+
+    private final ArchiveProperties properties;
+    private final LoginLogArchive archive;
+    private final LoginLogStore loginLogStore;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Scheduled(fixedDelayString = "${authdemo.archive.interval:PT1H}")
+    public void archiveOldLogins() {
+        if (!properties.isEnabled() || !running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minus(properties.getHotRetention());
+            int total = 0;
+            List<LoginLog> batch;
+            while (!(batch = readSegmentBatch(cutoff)).isEmpty()) {
+                archive.append(batch);
+                deleteInChunks(batch);
+                total += batch.size();
+                if (batch.size() < properties.getSegmentRows()) {
+                    break;
+                }
+            }
+            if (total > 0) {
+                log.info("Archived {} login logs older than {}", total, cutoff);
+            }
+        } catch (Exception e) {
+            log.error("Login log archival failed: {}", e.getMessage(), e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Reads chunks by keyset on (login_time, id): each chunk starts after the last row of
+     * the previous one, so rows sharing a login_time are neither skipped nor repeated and
+     * every query costs one chunk, also across shards
+     */
+    private List<LoginLog> readSegmentBatch(LocalDateTime cutoff) {
+        int chunkSize = properties.getChunkSize();
+        List<LoginLog> chunk = loginLogStore.findByLoginTimeBeforeOrderByLoginTimeAscIdAsc(
+                cutoff, Pageable.ofSize(chunkSize));
+        List<LoginLog> batch = new ArrayList<>(chunk);
+        while (chunk.size() == chunkSize && batch.size() < properties.getSegmentRows()) {
+            LoginLog last = chunk.get(chunk.size() - 1);
+            chunk = loginLogStore.findBeforeAfterPosition(
+                    cutoff, last.getLoginTime(), last.getId(), Pageable.ofSize(chunkSize));
+            batch.addAll(chunk);
+        }
+        return batch;
+    }
+
+    private void deleteInChunks(List<LoginLog> rows) {
+        int chunkSize = properties.getChunkSize();
+        for (int from = 0; from < rows.size(); from += chunkSize) {
+            List<UUID> ids = rows.subList(from, Math.min(rows.size(), from + chunkSize)).stream()
+                    .map(LoginLog::getId)
+                    .toList();
+            loginLogStore.deleteAllByIdInBatch(ids);
+        }
+    }
+}
@@ -0,0 +1,450 @@
+package com.pruebatecnica.authdemo.archive;
+
+import com.pruebatecnica.authdemo.entity.LoginLog;
+import com.pruebatecnica.authdemo.util.BloomFilter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Immutable, time-sorted, columnar segment of archived login_log rows.
+ *
+ * <pre>
+ * header  : magic "LLSG", version, row count, min/max login time (epoch micros, UTC),
+ *           min/max username, username bloom filter, username column length,
+ *           row group directory (row count, base login time, length of each block)
+ * username: dictionary (varint count + strings) then a varint index per row, deflated
+ * groups  : ROWS_PER_GROUP rows each, every column deflated as its own block
+ *           id            16 bytes per row
+ *           login_time    varint deltas from the group's base time (rows are ascending)
+ *           access_token  varint length + UTF-8 per row
+ *           refresh_token varint length + UTF-8 per row
+ * </pre>
+ *
+ * Segments are memory-mapped. A username lookup is answered from the header (range +
+ * bloom) and the username column; only the row groups holding matching rows are then
+ * inflated, and only the matching rows' tokens become Strings.
+ */
+final class LoginLogSegment {
+
+    static final String EXTENSION = ".seg";
+    static final int ROWS_PER_GROUP = 256;
+
+    private static final int MAGIC = 0x4C4C5347;
+    private static final short VERSION = 2;
+
+    private final Path path;
+    private final MappedByteBuffer data;
+    private final int rowCount;
+    private final LocalDateTime minTime;
+    private final LocalDateTime maxTime;
+    private final String minUsername;
+    private final String maxUsername;
+    private final BloomFilter usernames;
+    private final Block usernameBlock;
+    private final RowGroup[] groups;
+    private final AtomicLong inflatedBytes = new AtomicLong();
+
+    private LoginLogSegment(Path path, MappedByteBuffer data) {
+        this.path = path;
+        this.data = data;
+        ByteBuffer header = data.duplicate();
+        short version = header.getInt() == MAGIC ? header.getShort() : -1;
+        if (version != VERSION) {
+            throw new IllegalStateException("Not a login log segment: " + path);
+        }
+        this.rowCount = header.getInt();
+        this.minTime = fromMicros(header.getLong());
+        this.maxTime = fromMicros(header.getLong());
+        this.minUsername = readString(header);
+        this.maxUsername = readString(header);
+        this.usernames = BloomFilter.readFrom(header);
+        int usernameCompressed = header.getInt();
+        int usernameRaw = header.getInt();
+        int groupCount = header.getInt();
+        ByteBuffer directory = header.duplicate();
+        int offset = header.position() + groupCount * (Integer.BYTES + Long.BYTES + 4 * Integer.BYTES * 2);
+        this.usernameBlock = new Block(offset, usernameCompressed, usernameRaw);
+        offset += usernameCompressed;
+        this.groups = new RowGroup[groupCount];
+        int firstRow = 0;
+        for (int group = 0; group < groupCount; group++) {
+            int rows = directory.getInt();
+            long baseMicros = directory.getLong();
+            Block[] blocks = new Block[4];
+            for (int block = 0; block < blocks.length; block++) {
+                blocks[block] = new Block(offset, directory.getInt(), directory.getInt());
+                offset += blocks[block].compressedLength();
+            }
+            groups[group] = new RowGroup(firstRow, rows, baseMicros, blocks[0], blocks[1], blocks[2], blocks[3]);
+            firstRow += rows;
+        }
+    }
+
+    static LoginLogSegment open(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new LoginLogSegment(path, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open segment " + path, e);
+        }
+    }
+
+    /**
+     * Write rows as a new segment. The file is written under a temporary name,
+     * forced to disk and atomically renamed, so readers never see a partial segment.
+     */
+    static LoginLogSegment write(Path directory, List<LoginLog> rows, double bloomFpp) throws IOException {
+        List<LoginLog> sorted = new ArrayList<>(rows);
+        sorted.sort(Comparator.comparing(LoginLog::getLoginTime));
+
+        Map<String, Integer> dictionary = new LinkedHashMap<>();
+        for (LoginLog row : sorted) {
+            dictionary.putIfAbsent(row.getUsername(), dictionary.size());
+        }
+        BloomFilter bloom = BloomFilter.create(dictionary.size(), bloomFpp);
+        dictionary.keySet().forEach(bloom::put);
+        String minUsername = dictionary.keySet().stream().min(String::compareTo).orElse("");
+        String maxUsername = dictionary.keySet().stream().max(String::compareTo).orElse("");
+
+        byte[] usernameRaw = encodeUsernames(sorted, dictionary);
+        byte[] usernameCompressed = deflate(usernameRaw);
+        int groupCount = (sorted.size() + ROWS_PER_GROUP - 1) / ROWS_PER_GROUP;
+        byte[][][] raw = new byte[groupCount][][];
+        byte[][][] compressed = new byte[groupCount][][];
+        int blocksSize = usernameCompressed.length;
+        for (int group = 0; group < groupCount; group++) {
+            List<LoginLog> groupRows = sorted.subList(group * ROWS_PER_GROUP,
+                    Math.min(sorted.size(), (group + 1) * ROWS_PER_GROUP));
+            raw[group] = new byte[][]{
+                    encodeIds(groupRows),
+                    encodeTimes(groupRows),
+                    encodeStrings(groupRows, LoginLog::getAccessToken),
+                    encodeStrings(groupRows, LoginLog::getRefreshToken)};
+            compressed[group] = new byte[raw[group].length][];
+            for (int block = 0; block < raw[group].length; block++) {
+                compressed[group][block] = deflate(raw[group][block]);
+                blocksSize += compressed[group][block].length;
+            }
+        }
+
+        byte[] minName = minUsername.getBytes(StandardCharsets.UTF_8);
+        byte[] maxName = maxUsername.getBytes(StandardCharsets.UTF_8);
+        int headerSize = Integer.BYTES + Short.BYTES + Integer.BYTES + Long.BYTES * 2
+                + Integer.BYTES + minName.length + Integer.BYTES + maxName.length
+                + bloom.serializedSize() + Integer.BYTES * 3
+                + groupCount * (Integer.BYTES + Long.BYTES + 4 * Integer.BYTES * 2);
+        ByteBuffer buffer = ByteBuffer.allocate(headerSize + blocksSize);
+        long minMicros = toMicros(sorted.get(0).getLoginTime());
+        long maxMicros = toMicros(sorted.get(sorted.size() - 1).getLoginTime());
+        buffer.putInt(MAGIC).putShort(VERSION).putInt(sorted.size()).putLong(minMicros).putLong(maxMicros);
+        buffer.putInt(minName.length).put(minName).putInt(maxName.length).put(maxName);
+        bloom.writeTo(buffer);
+        buffer.putInt(usernameCompressed.length).putInt(usernameRaw.length).putInt(groupCount);
+        for (int group = 0; group < groupCount; group++) {
+            buffer.putInt(Math.min(ROWS_PER_GROUP, sorted.size() - group * ROWS_PER_GROUP));
+            buffer.putLong(toMicros(sorted.get(group * ROWS_PER_GROUP).getLoginTime()));
+            for (int block = 0; block < raw[group].length; block++) {
+                buffer.putInt(compressed[group][block].length).putInt(raw[group][block].length);
+            }
+        }
+        buffer.put(usernameCompressed);
+        for (byte[][] group : compressed) {
+            for (byte[] block : group) {
+                buffer.put(block);
+            }
+        }
+        buffer.flip();
+
+        String name = "login-log-" + minMicros + "-" + maxMicros + "-" + UUID.randomUUID().toString().substring(0, 8);
+        Path temp = directory.resolve(name + ".tmp");
+        Path target = directory.resolve(name + EXTENSION);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        return open(target);
+    }
+
+    Path path() {
+        return path;
+    }
+
+    int rowCount() {
+        return rowCount;
+    }
+
+    LocalDateTime minTime() {
+        return minTime;
+    }
+
+    LocalDateTime maxTime() {
+        return maxTime;
+    }
+
+    /**
+     * Uncompressed bytes produced by reads of this segment so far
+     */
+    long inflatedBytes() {
+        return inflatedBytes.get();
+    }
+
+    /**
+     * Header-only check: false means the segment certainly has no rows for the username
+     */
+    boolean mightContain(String username) {
+        return username.compareTo(minUsername) >= 0 && username.compareTo(maxUsername) <= 0
+                && usernames.mightContain(username);
+    }
+
+    /**
+     * Rows for the username, newest first
+     */
+    List<LoginLog> findByUsername(String username) {
+        if (!mightContain(username)) {
+            return List.of();
+        }
+        ByteBuffer usernameColumn = ByteBuffer.wrap(inflate(usernameBlock));
+        String[] dictionary = readDictionary(usernameColumn);
+        int wanted = -1;
+        for (int i = 0; i < dictionary.length; i++) {
+            if (dictionary[i].equals(username)) {
+                wanted = i;
+                break;
+            }
+        }
+        if (wanted < 0) {
+            return List.of();
+        }
+        List<LoginLog> rows = new ArrayList<>();
+        for (RowGroup group : groups) {
+            boolean[] selected = null;
+            for (int row = 0; row < group.rows(); row++) {
+                if (readVarint(usernameColumn) == wanted) {
+                    if (selected == null) {
+                        selected = new boolean[group.rows()];
+                    }
+                    selected[row] = true;
+                }
+            }
+            if (selected != null) {
+                decodeGroup(group, selected, index -> username, rows);
+            }
+        }
+        return rows.reversed();
+    }
+
+    /**
+     * Every row in the segment, oldest first
+     */
+    List<LoginLog> readAll() {
+        ByteBuffer usernameColumn = ByteBuffer.wrap(inflate(usernameBlock));
+        String[] dictionary = readDictionary(usernameColumn);
+        int[] nameIndexes = new int[rowCount];
+        for (int row = 0; row < rowCount; row++) {
+            nameIndexes[row] = (int) readVarint(usernameColumn);
+        }
+        List<LoginLog> rows = new ArrayList<>(rowCount);
+        for (RowGroup group : groups) {
+            boolean[] selected = new boolean[group.rows()];
+            Arrays.fill(selected, true);
+            decodeGroup(group, selected, row -> dictionary[nameIndexes[group.firstRow() + row]], rows);
+        }
+        return rows;
+    }
+
+    /**
+     * Appends the selected rows of one group; token Strings are only built for those rows
+     */
+    private void decodeGroup(RowGroup group, boolean[] selected, IntFunction<String> username, List<LoginLog> rows) {
+        ByteBuffer ids = ByteBuffer.wrap(inflate(group.ids()));
+        ByteBuffer times = ByteBuffer.wrap(inflate(group.times()));
+        ByteBuffer accessTokens = ByteBuffer.wrap(inflate(group.accessTokens()));
+        ByteBuffer refreshTokens = ByteBuffer.wrap(inflate(group.refreshTokens()));
+        long micros = group.baseMicros();
+        for (int row = 0; row < group.rows(); row++) {
+            micros += readVarint(times);
+            if (selected[row]) {
+                ids.position(row * 16);
+                rows.add(new LoginLog(new UUID(ids.getLong(), ids.getLong()), username.apply(row), fromMicros(micros),
+                        readString(accessTokens, (int) readVarint(accessTokens)),
+                        readString(refreshTokens, (int) readVarint(refreshTokens))));
+            } else {
+                skip(accessTokens, (int) readVarint(accessTokens));
+                skip(refreshTokens, (int) readVarint(refreshTokens));
+            }
+        }
+    }
+
+    private byte[] inflate(Block block) {
+        ByteBuffer input = data.slice(block.offset(), block.compressedLength());
+        byte[] output = new byte[block.rawLength()];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(input);
+            int read = 0;
+            while (read < output.length && !inflater.finished()) {
+                read += inflater.inflate(output, read, output.length - read);
+            }
+            inflatedBytes.addAndGet(output.length);
+            return output;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt block at offset " + block.offset() + " in " + path, e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] encodeIds(List<LoginLog> rows) {
+        ByteBuffer buffer = ByteBuffer.allocate(rows.size() * 16);
+        for (LoginLog row : rows) {
+            buffer.putLong(row.getId().getMostSignificantBits()).putLong(row.getId().getLeastSignificantBits());
+        }
+        return buffer.array();
+    }
+
+    private static byte[] encodeTimes(List<LoginLog> rows) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(rows.size() * 3);
+        long previous = toMicros(rows.get(0).getLoginTime());
+        for (LoginLog row : rows) {
+            long micros = toMicros(row.getLoginTime());
+            writeVarint(out, micros - previous);
+            previous = micros;
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] encodeUsernames(List<LoginLog> rows, Map<String, Integer> dictionary) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeVarint(out, dictionary.size());
+        for (String username : dictionary.keySet()) {
+            writeString(out, username);
+        }
+        for (LoginLog row : rows) {
+            writeVarint(out, dictionary.get(row.getUsername()));
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] encodeStrings(List<LoginLog> rows, Function<LoginLog, String> field) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (LoginLog row : rows) {
+            writeString(out, field.apply(row));
+        }
+        return out.toByteArray();
+    }
+
+    private static String[] readDictionary(ByteBuffer column) {
+        String[] dictionary = new String[(int) readVarint(column)];
+        for (int i = 0; i < dictionary.length; i++) {
+            dictionary[i] = readString(column, (int) readVarint(column));
+        }
+        return dictionary;
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        byte[] bytes = (value == null ? "" : value).getBytes(StandardCharsets.UTF_8);
+        writeVarint(out, bytes.length);
+        out.writeBytes(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        return readString(buffer, buffer.getInt());
+    }
+
+    private static String readString(ByteBuffer buffer, int length) {
+        if (!buffer.hasArray()) {
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        skip(buffer, length);
+        return value;
+    }
+
+    private static void skip(ByteBuffer buffer, int length) {
+        buffer.position(buffer.position() + length);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarint(ByteBuffer buffer) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private static long toMicros(LocalDateTime time) {
+        Instant instant = time.toInstant(ZoneOffset.UTC);
+        return ChronoUnit.MICROS.between(Instant.EPOCH, instant);
+    }
+
+    private record Block(int offset, int compressedLength, int rawLength) {
+    }
+
+    private record RowGroup(int firstRow, int rows, long baseMicros, Block ids, Block times, Block accessTokens,
+                            Block refreshTokens) {
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,14 @@
+package com.pruebatecnica.authdemo.cache;
+
+import com.pruebatecnica.authdemo.dto.UserResponse;
+
+/**
+ * Cached outcome of GET /auth/me for one access token: the profile when DummyJSON
+ * accepted the token, or just the rejection
+ */
+public record CachedUser(UserResponse user, boolean valid) {
+
+    static CachedUser invalid() {
+        return new CachedUser(null, false);
+    }
+}
@@ -0,0 +1,42 @@
+package com.pruebatecnica.authdemo.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Cluster-wide /me cache kept in a Postgres UNLOGGED table, bound from authdemo.shared-cache.*
+ */
+@Data
+@ConfigurationProperties(prefix = "authdemo.shared-cache")
+public class SharedCacheProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Lifetime of a validated token in the shared table; keep it below the token expiry
+     */
+    private Duration ttl = Duration.ofMinutes(5);
+
+    /**
+     * Lifetime of a token DummyJSON rejected
+     */
+    private Duration negativeTtl = Duration.ofSeconds(30);
+
+    /**
+     * Upper bound on how stale a pod's near cache can be if a notification is lost
+     */
+    private Duration nearTtl = Duration.ofSeconds(30);
+
+    private int nearMaxEntries = 10_000;
+
+    private Duration sweepInterval = Duration.ofMinutes(1);
+
+    /**
+     * LISTEN/NOTIFY channel used for invalidations
+     */
+    private String channel = "authdemo_user_cache";
+
+    private Duration listenerReconnectDelay = Duration.ofSeconds(5);
+}
@@ -0,0 +1,237 @@
+package com.pruebatecnica.authdemo.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pruebatecnica.authdemo.dto.UserResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Two-tier cache of /me results keyed by access token: a per-pod near cache in front
+ * of the shared user_cache table. Tokens are stored as SHA-256 hashes only. A new
+ * login for a user evicts their entries everywhere through LISTEN/NOTIFY. Database
+ * errors are treated as misses so the cache never fails a request.
+ */
+@Component
+@Slf4j
+public class UserCache {
+
+    private final SharedCacheProperties properties;
+    private final UserCacheStore store;
+    private final ObjectMapper objectMapper;
+    private final Map<String, NearEntry> nearCache = new ConcurrentHashMap<>();
+
+    private final Counter nearHits;
+    private final Counter sharedHits;
+    private final Counter misses;
+    private final Counter errors;
+
+    public UserCache(SharedCacheProperties properties, UserCacheStore store, ObjectMapper objectMapper,
+                     MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.nearHits = counter(meterRegistry, "near");
+        this.sharedHits = counter(meterRegistry, "shared");
+        this.misses = counter(meterRegistry, "miss");
+        this.errors = counter(meterRegistry, "error");
+        Gauge.builder("authdemo.user-cache.near.size", nearCache, Map::size)
+                .description("Entries in this pod's near cache")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void createTable() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            store.createTable();
+        } catch (DataAccessException e) {
+            log.warn("Could not create user_cache table, shared cache will miss until it exists: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Cached result for this token, looking at the near cache first
+     */
+    public Optional<CachedUser> get(String accessToken) {
+        if (!properties.isEnabled() || accessToken == null) {
+            return Optional.empty();
+        }
+        String key = hash(accessToken);
+        Instant now = Instant.now();
+        NearEntry near = nearCache.get(key);
+        if (near != null) {
+            if (near.expiresAt().isAfter(now)) {
+                nearHits.increment();
+                return Optional.of(near.value());
+            }
+            nearCache.remove(key, near);
+        }
+        try {
+            Optional<UserCacheStore.Entry> stored = store.find(key);
+            if (stored.isEmpty()) {
+                misses.increment();
+                return Optional.empty();
+            }
+            UserCacheStore.Entry entry = stored.get();
+            CachedUser value = entry.valid()
+                    ? new CachedUser(objectMapper.readValue(entry.payload(), UserResponse.class), true)
+                    : CachedUser.invalid();
+            putNear(key, entry.username(), value, entry.expiresAt());
+            sharedHits.increment();
+            return Optional.of(value);
+        } catch (DataAccessException | JsonProcessingException e) {
+            errors.increment();
+            log.warn("Shared user cache read failed: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Remember that DummyJSON accepted this token for the given user
+     */
+    public void put(String accessToken, UserResponse user) {
+        if (!properties.isEnabled() || accessToken == null || user == null) {
+            return;
+        }
+        try {
+            write(accessToken, user.getUsername(), objectMapper.writeValueAsString(user),
+                    new CachedUser(user, true), properties.getTtl().toSeconds());
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize user for shared cache: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Remember that DummyJSON rejected this token
+     */
+    public void putInvalid(String accessToken) {
+        if (!properties.isEnabled() || accessToken == null) {
+            return;
+        }
+        write(accessToken, null, null, CachedUser.invalid(), properties.getNegativeTtl().toSeconds());
+    }
+
+    /**
+     * Evict every token of a user on all pods. Inside a transaction the shared table and
+     * the other pods are only touched after it commits, so a cache failure can never
+     * roll back or abort the caller's writes.
+     */
+    public void invalidateUser(String username) {
+        if (!properties.isEnabled() || username == null) {
+            return;
+        }
+        evictLocal(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidateShared(username);
+                }
+            });
+        } else {
+            invalidateShared(username);
+        }
+    }
+
+    private void invalidateShared(String username) {
+        try {
+            store.deleteByUsernameAndNotify(username, properties.getChannel());
+        } catch (DataAccessException | TransactionException e) {
+            errors.increment();
+            log.warn("Shared user cache invalidation for {} failed: {}", username, e.getMessage());
+        }
+    }
+
+    void evictLocal(String username) {
+        nearCache.values().removeIf(entry -> username.equals(entry.username()));
+    }
+
+    void clearLocal() {
+        nearCache.clear();
+    }
+
+    /**
+     * Remove expired rows from the shared table and expired near cache entries
+     */
+    @Scheduled(fixedDelayString = "${authdemo.shared-cache.sweep-interval:PT1M}")
+    public void sweepExpired() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Instant now = Instant.now();
+        nearCache.values().removeIf(entry -> !entry.expiresAt().isAfter(now));
+        try {
+            int removed = store.deleteExpired();
+            if (removed > 0) {
+                log.debug("Swept {} expired user_cache rows", removed);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Shared user cache sweep failed: {}", e.getMessage());
+        }
+    }
+
+    private void write(String accessToken, String username, String payload, CachedUser value, long ttlSeconds) {
+        String key = hash(accessToken);
+        Instant expiresAt = Instant.now().plusSeconds(ttlSeconds);
+        putNear(key, username, value, expiresAt);
+        try {
+            store.upsert(key, new UserCacheStore.Entry(username, payload, value.valid(), expiresAt));
+        } catch (DataAccessException e) {
+            errors.increment();
+            log.warn("Shared user cache write failed: {}", e.getMessage());
+        }
+    }
+
+    private void putNear(String key, String username, CachedUser value, Instant sharedExpiresAt) {
+        if (nearCache.size() >= properties.getNearMaxEntries()) {
+            Instant now = Instant.now();
+            nearCache.values().removeIf(entry -> !entry.expiresAt().isAfter(now));
+            if (nearCache.size() >= properties.getNearMaxEntries()) {
+                return;
+            }
+        }
+        Instant nearExpiresAt = Instant.now().plus(properties.getNearTtl());
+        Instant expiresAt = nearExpiresAt.isBefore(sharedExpiresAt) ? nearExpiresAt : sharedExpiresAt;
+        nearCache.put(key, new NearEntry(username, value, expiresAt));
+    }
+
+    static String hash(String accessToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(accessToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("authdemo.user-cache.requests")
+                .tag("result", result)
+                .description("Shared user cache lookups by outcome")
+                .register(meterRegistry);
+    }
+
+    private record NearEntry(String username, CachedUser value, Instant expiresAt) {
+    }
+}
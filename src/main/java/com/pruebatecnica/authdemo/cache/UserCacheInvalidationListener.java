@@ -0,0 +1,95 @@
+package com.pruebatecnica.authdemo.cache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps a dedicated connection (outside the Hikari pool, which would otherwise lose a
+ * connection for good) LISTENing on the invalidation channel and evicts the notified
+ * usernames from this pod's near cache. Notifications sent while disconnected are
+ * lost, so the near cache is cleared on every (re)connect.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserCacheInvalidationListener {
+
+    private static final Pattern CHANNEL = Pattern.compile("[a-z_][a-z0-9_]*");
+    private static final int POLL_MILLIS = 1_000;
+
+    private final SharedCacheProperties properties;
+    private final DataSourceProperties dataSourceProperties;
+    private final UserCache userCache;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    @PostConstruct
+    void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (!CHANNEL.matcher(properties.getChannel()).matches()) {
+            throw new IllegalStateException("Invalid shared cache channel name: " + properties.getChannel());
+        }
+        running = true;
+        thread = new Thread(this::listen, "user-cache-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + properties.getChannel());
+                }
+                userCache.clearLocal();
+                log.info("Listening for user cache invalidations on {}", properties.getChannel());
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_MILLIS);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        userCache.evictLocal(notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("User cache listener disconnected, retrying in {}: {}",
+                        properties.getListenerReconnectDelay(), e.getMessage());
+                userCache.clearLocal();
+                try {
+                    Thread.sleep(properties.getListenerReconnectDelay().toMillis());
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.pruebatecnica.authdemo.cache;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JDBC access to the user_cache table. UNLOGGED skips the WAL, so writes are cheap
+ * and the table is emptied after a crash, which is fine for a cache.
+ */
+@Component
+public class UserCacheStore {
+
+    private static final String CREATE_TABLE = """
+            CREATE UNLOGGED TABLE IF NOT EXISTS user_cache (
+                token_hash  VARCHAR(64) PRIMARY KEY,
+                username    VARCHAR(255),
+                payload     TEXT,
+                valid       BOOLEAN NOT NULL,
+                expires_at  TIMESTAMPTZ NOT NULL
+            )""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate requiresNew;
+
+    public UserCacheStore(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    void createTable() {
+        jdbcTemplate.execute(CREATE_TABLE);
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_user_cache_username ON user_cache (username)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_user_cache_expires_at ON user_cache (expires_at)");
+    }
+
+    Optional<Entry> find(String tokenHash) {
+        List<Entry> rows = jdbcTemplate.query(
+                "SELECT username, payload, valid, expires_at FROM user_cache WHERE token_hash = ? AND expires_at > now()",
+                (rs, rowNum) -> new Entry(rs.getString(1), rs.getString(2), rs.getBoolean(3),
+                        rs.getTimestamp(4).toInstant()),
+                tokenHash);
+        return rows.stream().findFirst();
+    }
+
+    void upsert(String tokenHash, Entry entry) {
+        jdbcTemplate.update("""
+                INSERT INTO user_cache (token_hash, username, payload, valid, expires_at) VALUES (?, ?, ?, ?, ?)
+                ON CONFLICT (token_hash) DO UPDATE SET username = EXCLUDED.username, payload = EXCLUDED.payload,
+                    valid = EXCLUDED.valid, expires_at = EXCLUDED.expires_at""",
+                tokenHash, entry.username(), entry.payload(), entry.valid(), Timestamp.from(entry.expiresAt()));
+    }
+
+    /**
+     * Drop every cached token of a user and tell the other pods, in a transaction of its
+     * own: a failed statement aborts the whole Postgres transaction, so it must never
+     * share one with the caller's writes.
+     */
+    void deleteByUsernameAndNotify(String username, String channel) {
+        requiresNew.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM user_cache WHERE username = ?", username);
+            jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", channel, username);
+        });
+    }
+
+    int deleteExpired() {
+        return jdbcTemplate.update("DELETE FROM user_cache WHERE expires_at <= now()");
+    }
+
+    record Entry(String username, String payload, boolean valid, Instant expiresAt) {
+    }
+}
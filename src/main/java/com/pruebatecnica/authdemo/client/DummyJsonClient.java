@@ -4,14 +4,21 @@ import com.pruebatecnica.authdemo.dto.LoginRequest;
 import com.pruebatecnica.authdemo.dto.LoginResponse;
 import com.pruebatecnica.authdemo.dto.UserResponse;
 import com.pruebatecnica.authdemo.dto.UsersListResponse;
+import feign.Response;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 
-@FeignClient(name = "dummyjson-client", url = "https://dummyjson.com")
+@FeignClient(name = "dummyjson-client", url = "https://dummyjson.com", configuration = DummyJsonClientConfiguration.class)
 public interface DummyJsonClient {
+
+    /**
+     * DummyJSON's limit value that returns every user instead of the default first page
+     */
+    int ALL_USERS = 0;
     
     @PostMapping("/auth/login")
     LoginResponse login(@RequestBody LoginRequest loginRequest);
@@ -20,5 +27,13 @@ public interface DummyJsonClient {
     UserResponse getCurrentUser(@RequestHeader("Authorization") String authorization);
     
     @GetMapping("/users")
-    UsersListResponse getAllUsers();
+    UsersListResponse getAllUsers(@RequestParam("limit") int limit);
+    
+    @GetMapping("/users")
+    Response getAllUsersRaw(@RequestParam("limit") int limit, @RequestParam("select") String select);
+    
+    @GetMapping("/users")
+    UsersListResponse getUsers(@RequestParam("limit") int limit,
+                               @RequestParam("skip") int skip,
+                               @RequestParam("select") String select);
 } 
\ No newline at end of file
@@ -0,0 +1,48 @@
+package com.pruebatecnica.authdemo.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pruebatecnica.authdemo.hedging.AbortableClient;
+import feign.Client;
+import feign.RequestInterceptor;
+import feign.codec.Decoder;
+import feign.optionals.OptionalDecoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.HttpMessageConverterCustomizer;
+import org.springframework.cloud.openfeign.support.ResponseEntityDecoder;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Feign configuration of DummyJsonClient only. Deliberately not a @Configuration so
+ * component scanning does not apply it to every Feign client.
+ */
+public class DummyJsonClientConfiguration {
+
+    /**
+     * Same wrapper chain as the Spring Cloud default, with TrimmingUserDecoder in front of SpringDecoder
+     */
+    @Bean
+    public Decoder feignDecoder(ObjectFactory<HttpMessageConverters> messageConverters,
+                                ObjectProvider<HttpMessageConverterCustomizer> customizers, ObjectMapper objectMapper,
+                                UpstreamDecodingProperties properties, MeterRegistry meterRegistry) {
+        Decoder springDecoder = new SpringDecoder(messageConverters, customizers);
+        return new OptionalDecoder(new ResponseEntityDecoder(
+                new TrimmingUserDecoder(springDecoder, objectMapper.getFactory(), properties, meterRegistry)));
+    }
+
+    /**
+     * The Spring Cloud default HttpURLConnection client, whose connections a losing hedged attempt can close
+     */
+    @Bean
+    public Client feignClient() {
+        return new AbortableClient(null, null);
+    }
+
+    @Bean
+    public RequestInterceptor selectFieldsInterceptor(UpstreamDecodingProperties properties) {
+        return new SelectFieldsInterceptor(properties);
+    }
+}
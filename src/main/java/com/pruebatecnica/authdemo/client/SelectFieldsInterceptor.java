@@ -0,0 +1,32 @@
+package com.pruebatecnica.authdemo.client;
+
+import com.pruebatecnica.authdemo.passthrough.UserFieldFilter;
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+
+/**
+ * Asks DummyJSON for only the UserResponse fields on /users list and search calls that
+ * do not pass their own select, so the unmapped subtrees are never sent at all
+ */
+public class SelectFieldsInterceptor implements RequestInterceptor {
+
+    static final String SELECT_PARAM = "select";
+
+    private final UpstreamDecodingProperties properties;
+
+    public SelectFieldsInterceptor(UpstreamDecodingProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public void apply(RequestTemplate template) {
+        if (!properties.isSelectTrimming() || !"GET".equals(template.method())
+                || template.queries().containsKey(SELECT_PARAM)) {
+            return;
+        }
+        String path = template.path();
+        if (path.endsWith("/users") || path.endsWith("/users/search")) {
+            template.query(SELECT_PARAM, UserFieldFilter.SELECT);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.pruebatecnica.authdemo.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.pruebatecnica.authdemo.dto.LoginResponse;
+import com.pruebatecnica.authdemo.dto.UserResponse;
+import com.pruebatecnica.authdemo.dto.UsersListResponse;
+import feign.Response;
+import feign.codec.DecodeException;
+import feign.codec.Decoder;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DummyJsonClient decoder that streams UserResponse, UsersListResponse and LoginResponse
+ * payloads through UserPayloadReader and hands every other type to the Spring decoder.
+ * Allocated bytes and CPU time of each decode are recorded per type and decoder, which
+ * allows comparing both decoders on live traffic by toggling streaming-decoder.
+ */
+public class TrimmingUserDecoder implements Decoder {
+
+    private static final Map<Type, PayloadReader> READERS = Map.of(
+            UserResponse.class, UserPayloadReader::readUser,
+            UsersListResponse.class, UserPayloadReader::readUsersList,
+            LoginResponse.class, UserPayloadReader::readLogin);
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final Decoder delegate;
+    private final JsonFactory jsonFactory;
+    private final UpstreamDecodingProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final boolean measurable;
+
+    public TrimmingUserDecoder(Decoder delegate, JsonFactory jsonFactory, UpstreamDecodingProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.jsonFactory = jsonFactory;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.measurable = THREADS.isThreadAllocatedMemorySupported() && THREADS.isThreadAllocatedMemoryEnabled()
+                && THREADS.isCurrentThreadCpuTimeSupported() && THREADS.isThreadCpuTimeEnabled();
+    }
+
+    @Override
+    public Object decode(Response response, Type type) throws IOException {
+        PayloadReader reader = properties.isStreamingDecoder() ? READERS.get(type) : null;
+        if (!measurable || !properties.isMeasure()) {
+            return reader == null ? delegate.decode(response, type) : stream(reader, response);
+        }
+        long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+        long cpuBefore = THREADS.getCurrentThreadCpuTime();
+        try {
+            return reader == null ? delegate.decode(response, type) : stream(reader, response);
+        } finally {
+            long cpu = THREADS.getCurrentThreadCpuTime() - cpuBefore;
+            long allocated = THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore;
+            record(type, reader == null ? "default" : "streaming", allocated, cpu);
+        }
+    }
+
+    private Object stream(PayloadReader reader, Response response) throws IOException {
+        if (response.body() == null) {
+            return null;
+        }
+        try (InputStream body = response.body().asInputStream();
+             JsonParser parser = jsonFactory.createParser(body)) {
+            parser.nextToken();
+            return reader.read(parser);
+        } catch (JsonProcessingException e) {
+            throw new DecodeException(response.status(), "Could not decode DummyJSON response: "
+                    + e.getOriginalMessage(), response.request(), e);
+        }
+    }
+
+    /**
+     * Covers reading the body off the socket too, the same span the Spring decoder would spend
+     */
+    private void record(Type type, String decoder, long allocatedBytes, long cpuNanos) {
+        String typeName = type instanceof Class<?> clazz ? clazz.getSimpleName() : type.getTypeName();
+        DistributionSummary.builder("authdemo.upstream.decode.allocated")
+                .description("Bytes allocated while decoding one DummyJSON response")
+                .baseUnit("bytes")
+                .tag("type", typeName)
+                .tag("decoder", decoder)
+                .register(meterRegistry)
+                .record(allocatedBytes);
+        Timer.builder("authdemo.upstream.decode.cpu")
+                .description("Thread CPU time spent decoding one DummyJSON response")
+                .tag("type", typeName)
+                .tag("decoder", decoder)
+                .register(meterRegistry)
+                .record(cpuNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @FunctionalInterface
+    interface PayloadReader {
+        Object read(JsonParser parser) throws IOException;
+    }
+}
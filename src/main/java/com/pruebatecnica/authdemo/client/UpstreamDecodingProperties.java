@@ -0,0 +1,28 @@
+package com.pruebatecnica.authdemo.client;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Decoding of DummyJsonClient responses, bound from authdemo.upstream-decoding.*
+ */
+@Data
+@ConfigurationProperties(prefix = "authdemo.upstream-decoding")
+public class UpstreamDecodingProperties {
+
+    /**
+     * Decode user payloads with the field-trimming streaming reader instead of Jackson databind
+     */
+    private boolean streamingDecoder = true;
+
+    /**
+     * Add select= with the UserResponse fields to /users calls that do not choose their own
+     */
+    private boolean selectTrimming = true;
+
+    /**
+     * Record allocated bytes and CPU time of every decoded response; for comparing the
+     * decoders on live traffic, off by default since it costs ThreadMXBean calls per decode
+     */
+    private boolean measure = false;
+}
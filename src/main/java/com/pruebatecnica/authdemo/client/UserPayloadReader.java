@@ -0,0 +1,193 @@
+package com.pruebatecnica.authdemo.client;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.pruebatecnica.authdemo.dto.LoginResponse;
+import com.pruebatecnica.authdemo.dto.UserResponse;
+import com.pruebatecnica.authdemo.dto.UsersListResponse;
+import com.pruebatecnica.authdemo.passthrough.UserFieldFilter;
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.ResolvableType;
+
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Streaming readers for the DummyJSON user documents. Fields the DTOs declare are read
+ * straight into them; everything else (address, company, bank, crypto, hair...) is
+ * skipped with skipChildren, so its strings are never decoded and no tree is built.
+ * The fields come from the DTO classes themselves, the same source UserFieldFilter
+ * uses, so a field added to a DTO is decoded without touching this class; a field of
+ * a type no reader exists for fails class initialisation instead of being dropped.
+ */
+final class UserPayloadReader {
+
+    private static final Map<String, Binding> LIST_BINDINGS = bindings(UsersListResponse.class);
+    private static final Map<String, Binding> USER_BINDINGS = bindings(UserResponse.class);
+    private static final Map<String, Binding> LOGIN_BINDINGS = bindings(LoginResponse.class);
+
+    private UserPayloadReader() {
+    }
+
+    static UsersListResponse readUsersList(JsonParser parser) throws IOException {
+        expectObject(parser, "/users");
+        return readObject(parser, new UsersListResponse(), LIST_BINDINGS);
+    }
+
+    static UserResponse readUser(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        expectObject(parser, "/auth/me");
+        return readObject(parser, new UserResponse(), USER_BINDINGS);
+    }
+
+    static LoginResponse readLogin(JsonParser parser) throws IOException {
+        expectObject(parser, "/auth/login");
+        return readObject(parser, new LoginResponse(), LOGIN_BINDINGS);
+    }
+
+    private static <T> T readObject(JsonParser parser, T target, Map<String, Binding> bindings) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            Binding binding = bindings.get(parser.currentName());
+            parser.nextToken();
+            if (binding == null) {
+                parser.skipChildren();
+            } else {
+                binding.set(target, binding.reader.read(parser));
+            }
+        }
+        return target;
+    }
+
+    private static List<UserResponse> readUsers(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return null;
+        }
+        List<UserResponse> users = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (parser.currentToken() == JsonToken.START_OBJECT) {
+                users.add(readUser(parser));
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return users;
+    }
+
+    private static void expectObject(JsonParser parser, String endpoint) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Expected a JSON object from DummyJSON " + endpoint);
+        }
+    }
+
+    /**
+     * Scalars as text the way databind coerces them into String fields; a nested value is skipped
+     */
+    private static String text(JsonParser parser) throws IOException {
+        if (parser.currentToken().isStructStart()) {
+            parser.skipChildren();
+            return null;
+        }
+        return parser.getValueAsString();
+    }
+
+    private static Long longValue(JsonParser parser) throws IOException {
+        return scalar(parser, () -> parser.getValueAsLong());
+    }
+
+    private static Integer intValue(JsonParser parser) throws IOException {
+        return scalar(parser, () -> parser.getValueAsInt());
+    }
+
+    private static Double doubleValue(JsonParser parser) throws IOException {
+        return scalar(parser, () -> parser.getValueAsDouble());
+    }
+
+    private static Boolean booleanValue(JsonParser parser) throws IOException {
+        return scalar(parser, () -> parser.getValueAsBoolean());
+    }
+
+    private static <V> V scalar(JsonParser parser, IoSupplier<V> value) throws IOException {
+        return switch (parser.currentToken()) {
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT, VALUE_STRING, VALUE_TRUE, VALUE_FALSE -> value.get();
+            default -> {
+                parser.skipChildren();
+                yield null;
+            }
+        };
+    }
+
+    private static Map<String, Binding> bindings(Class<?> type) {
+        Map<String, Binding> bindings = new HashMap<>();
+        for (String name : UserFieldFilter.fieldsOf(type)) {
+            PropertyDescriptor property = BeanUtils.getPropertyDescriptor(type, name);
+            if (property == null || property.getWriteMethod() == null) {
+                throw new IllegalStateException("No setter for " + type.getSimpleName() + "." + name);
+            }
+            Method setter = property.getWriteMethod();
+            bindings.put(name, new Binding(setter, readerFor(type, name, ResolvableType.forMethodParameter(setter, 0))));
+        }
+        return Map.copyOf(bindings);
+    }
+
+    private static ValueReader readerFor(Class<?> owner, String name, ResolvableType type) {
+        Class<?> raw = type.toClass();
+        if (raw == String.class) {
+            return UserPayloadReader::text;
+        }
+        if (raw == Long.class || raw == long.class) {
+            return UserPayloadReader::longValue;
+        }
+        if (raw == Integer.class || raw == int.class) {
+            return UserPayloadReader::intValue;
+        }
+        if (raw == Double.class || raw == double.class) {
+            return UserPayloadReader::doubleValue;
+        }
+        if (raw == Boolean.class || raw == boolean.class) {
+            return UserPayloadReader::booleanValue;
+        }
+        if (List.class.isAssignableFrom(raw) && type.getGeneric(0).toClass() == UserResponse.class) {
+            return UserPayloadReader::readUsers;
+        }
+        throw new IllegalStateException("UserPayloadReader cannot decode " + owner.getSimpleName() + "." + name
+                + " of type " + type);
+    }
+
+    @FunctionalInterface
+    private interface ValueReader {
+        Object read(JsonParser parser) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface IoSupplier<V> {
+        V get() throws IOException;
+    }
+
+    private record Binding(Method setter, ValueReader reader) {
+
+        /**
+         * Null leaves a primitive field at its default, as for a missing field
+         */
+        void set(Object target, Object value) {
+            if (value == null && setter.getParameterTypes()[0].isPrimitive()) {
+                return;
+            }
+            try {
+                setter.invoke(target, value);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException("Cannot set " + setter.getName() + " on " + target.getClass(), e);
+            }
+        }
+    }
+}
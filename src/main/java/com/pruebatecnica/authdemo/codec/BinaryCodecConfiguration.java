@@ -0,0 +1,47 @@
+package com.pruebatecnica.authdemo.codec;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Adds application/cbor and application/x-protobuf to content negotiation. Both use
+ * Boot's Jackson settings so the binary payloads carry the same fields and value
+ * formats as JSON. They are appended after the JSON converter, so JSON stays the
+ * default for Accept: *&#47;* and requests without an Accept header.
+ */
+@Configuration
+public class BinaryCodecConfiguration implements WebMvcConfigurer {
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> builders;
+
+    public BinaryCodecConfiguration(ObjectProvider<Jackson2ObjectMapperBuilder> builders) {
+        this.builders = builders;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(MappingJackson2CborHttpMessageConverter.class::isInstance);
+        converters.add(new MappingJackson2CborHttpMessageConverter(
+                builder().factory(new CBORFactory()).build()));
+        try {
+            converters.add(new ProtobufSchemaHttpMessageConverter(
+                    builder().factory(new ProtobufFactory()).build()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load " + ProtobufSchemaHttpMessageConverter.SCHEMA_LOCATION, e);
+        }
+    }
+
+    private Jackson2ObjectMapperBuilder builder() {
+        return builders.getIfAvailable(Jackson2ObjectMapperBuilder::new);
+    }
+}
@@ -0,0 +1,128 @@
+package com.pruebatecnica.authdemo.codec;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.protobuf.schema.NativeProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchemaLoader;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * application/x-protobuf for the POJO DTOs without generated classes: Jackson's
+ * protobuf codec writes each type against the message of the same simple name in
+ * proto/authdemo.proto. Collections are wrapped in a "&lt;Type&gt;List" message with a
+ * single repeated "items" field. Types without a message are left to other converters.
+ */
+public class ProtobufSchemaHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final MediaType PROTOBUF = new MediaType("application", "x-protobuf");
+    public static final String SCHEMA_LOCATION = "proto/authdemo.proto";
+
+    static final String LIST_SUFFIX = "List";
+    static final String ITEMS_FIELD = "items";
+
+    private final ObjectMapper mapper;
+    private final NativeProtobufSchema nativeSchema;
+    private final Set<String> messageNames;
+    private final Map<String, ProtobufSchema> schemas = new ConcurrentHashMap<>();
+
+    public ProtobufSchemaHttpMessageConverter(ObjectMapper protobufMapper) throws IOException {
+        super(PROTOBUF);
+        this.mapper = protobufMapper;
+        try (InputStream in = new ClassPathResource(SCHEMA_LOCATION).getInputStream()) {
+            this.nativeSchema = ProtobufSchemaLoader.std.load(in).getSource();
+        }
+        this.messageNames = Set.copyOf(nativeSchema.getMessageNames());
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return messageNames.contains(clazz.getSimpleName());
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return messageName(type) != null && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        // ResponseEntity<?> handlers report a wildcard type; the value class decides then
+        boolean known = (type != null && messageName(type) != null) || (clazz != null && messageName(clazz) != null);
+        return known && canWrite(mediaType);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        return readValue(type, inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        return readValue(clazz, inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object value, Type type, HttpOutputMessage outputMessage) throws IOException {
+        Type target = type != null && messageName(type) != null ? type : value.getClass();
+        String message = messageName(target);
+        if (message == null) {
+            throw new HttpMessageNotWritableException("No protobuf message for " + target.getTypeName());
+        }
+        Object payload = value instanceof Collection<?> items ? Map.of(ITEMS_FIELD, items) : value;
+        mapper.writer(schema(message)).writeValue(outputMessage.getBody(), payload);
+    }
+
+    /**
+     * Message name for a DTO type, "&lt;Element&gt;List" for a collection of DTOs, or null
+     */
+    String messageName(Type type) {
+        ResolvableType resolvable = ResolvableType.forType(type);
+        Class<?> raw = resolvable.resolve();
+        if (raw == null) {
+            return null;
+        }
+        if (Collection.class.isAssignableFrom(raw)) {
+            Class<?> element = resolvable.asCollection().resolveGeneric(0);
+            String name = element == null ? null : element.getSimpleName() + LIST_SUFFIX;
+            return name != null && messageNames.contains(name) ? name : null;
+        }
+        return messageNames.contains(raw.getSimpleName()) ? raw.getSimpleName() : null;
+    }
+
+    private Object readValue(Type type, HttpInputMessage inputMessage) throws IOException {
+        String message = messageName(type);
+        if (message == null) {
+            throw new HttpMessageNotReadableException("No protobuf message for " + type.getTypeName(), inputMessage);
+        }
+        JavaType javaType = mapper.constructType(type);
+        if (javaType.isCollectionLikeType()) {
+            JavaType wrapper = mapper.getTypeFactory().constructMapType(Map.class,
+                    mapper.constructType(String.class), javaType);
+            Map<String, Object> wrapped = mapper.readerFor(wrapper).with(schema(message)).readValue(inputMessage.getBody());
+            Object items = wrapped.get(ITEMS_FIELD);
+            return items != null ? items : mapper.convertValue(List.of(), javaType);
+        }
+        return mapper.readerFor(javaType).with(schema(message)).readValue(inputMessage.getBody());
+    }
+
+    private ProtobufSchema schema(String message) {
+        return schemas.computeIfAbsent(message, nativeSchema::forType);
+    }
+}
@@ -0,0 +1,100 @@
+package com.pruebatecnica.authdemo.concurrency;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AIMD concurrency limit driven by round-trip time. The baseline tracks the lower
+ * envelope of observed RTTs (it follows drops quickly and rises slowly). A call
+ * slower than baseline * tolerance, or a failed one, shrinks the limit by the backoff
+ * ratio. A fast call made while at least half the limit is in use grows it by one.
+ * Waiting callers block on this monitor for at most maxWait.
+ */
+final class AdaptiveConcurrencyLimiter {
+
+    private static final double BASELINE_DOWN = 0.5;
+    private static final double BASELINE_UP = 0.01;
+
+    private final ConcurrencyLimitProperties properties;
+    private double limit;
+    private int inFlight;
+    private int waiting;
+    private double baselineNanos = -1;
+
+    AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties properties) {
+        this.properties = properties;
+        this.limit = properties.getInitialLimit();
+    }
+
+    /**
+     * Take a slot, waiting up to maxWaitNanos; false when the call should be rejected
+     */
+    synchronized boolean acquire(long maxWaitNanos) throws InterruptedException {
+        if (inFlight < (int) limit) {
+            inFlight++;
+            return true;
+        }
+        if (waiting >= properties.getMaxQueue() || maxWaitNanos <= 0) {
+            return false;
+        }
+        long deadline = System.nanoTime() + maxWaitNanos;
+        waiting++;
+        try {
+            while (inFlight >= (int) limit) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            }
+            inFlight++;
+            return true;
+        } finally {
+            waiting--;
+        }
+    }
+
+    synchronized void onSuccess(long rttNanos) {
+        if (baselineNanos < 0) {
+            baselineNanos = rttNanos;
+        } else {
+            double alpha = rttNanos < baselineNanos ? BASELINE_DOWN : BASELINE_UP;
+            baselineNanos += alpha * (rttNanos - baselineNanos);
+        }
+        if (rttNanos > baselineNanos * properties.getLatencyTolerance()) {
+            decrease();
+        } else if (inFlight * 2 >= (int) limit) {
+            limit = Math.min(properties.getMaxLimit(), limit + 1);
+        }
+        release();
+    }
+
+    synchronized void onDropped() {
+        decrease();
+        release();
+    }
+
+    synchronized void onIgnored() {
+        release();
+    }
+
+    synchronized int limit() {
+        return (int) limit;
+    }
+
+    synchronized int inFlight() {
+        return inFlight;
+    }
+
+    synchronized double baselineMillis() {
+        return baselineNanos < 0 ? 0 : baselineNanos / 1_000_000.0;
+    }
+
+    private void decrease() {
+        limit = Math.max(properties.getMinLimit(), limit * properties.getBackoffRatio());
+    }
+
+    private void release() {
+        inFlight--;
+        notifyAll();
+    }
+}
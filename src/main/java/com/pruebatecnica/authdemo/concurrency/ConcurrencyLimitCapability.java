@@ -0,0 +1,51 @@
+package com.pruebatecnica.authdemo.concurrency;
+
+import com.pruebatecnica.authdemo.hedging.HedgingCapability;
+import feign.Capability;
+import feign.Client;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Registers ConcurrencyLimitingClient around the Feign client. Ordered before
+ * HedgingCapability so it sits inside it and every hedge attempt needs its own slot.
+ */
+@Component
+@Order(ConcurrencyLimitCapability.ORDER)
+public class ConcurrencyLimitCapability implements Capability {
+
+    public static final int ORDER = HedgingCapability.ORDER - 100;
+
+    private final ConcurrencyLimitProperties properties;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final Counter rejected;
+
+    public ConcurrencyLimitCapability(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.limiter = new AdaptiveConcurrencyLimiter(properties);
+        this.rejected = Counter.builder("authdemo.concurrency.rejected")
+                .description("Upstream calls rejected by the adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("authdemo.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::limit)
+                .description("Current adaptive limit on concurrent upstream calls")
+                .register(meterRegistry);
+        Gauge.builder("authdemo.concurrency.inflight", limiter, AdaptiveConcurrencyLimiter::inFlight)
+                .description("Upstream calls in flight")
+                .register(meterRegistry);
+        Gauge.builder("authdemo.concurrency.baseline.rtt", limiter, AdaptiveConcurrencyLimiter::baselineMillis)
+                .baseUnit("milliseconds")
+                .description("No-load round-trip time estimate the limit is compared against")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Client enrich(Client client) {
+        if (!properties.isEnabled()) {
+            return client;
+        }
+        return new ConcurrencyLimitingClient(client, limiter, properties.getMaxWait().toNanos(), rejected);
+    }
+}
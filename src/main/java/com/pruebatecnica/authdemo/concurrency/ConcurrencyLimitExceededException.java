@@ -0,0 +1,12 @@
+package com.pruebatecnica.authdemo.concurrency;
+
+/**
+ * Thrown instead of calling DummyJSON when the adaptive limit is reached and no slot
+ * frees up within the configured wait
+ */
+public class ConcurrencyLimitExceededException extends RuntimeException {
+
+    public ConcurrencyLimitExceededException(int limit) {
+        super("Upstream concurrency limit of " + limit + " reached");
+    }
+}
@@ -0,0 +1,42 @@
+package com.pruebatecnica.authdemo.concurrency;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Adaptive limit on concurrent DummyJSON calls, bound from authdemo.concurrency-limit.*
+ */
+@Data
+@ConfigurationProperties(prefix = "authdemo.concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled = true;
+
+    private int initialLimit = 20;
+
+    private int minLimit = 2;
+
+    private int maxLimit = 200;
+
+    /**
+     * Multiplicative decrease applied on a drop or a latency spike
+     */
+    private double backoffRatio = 0.9;
+
+    /**
+     * A call slower than baseline RTT times this factor counts as congestion
+     */
+    private double latencyTolerance = 2.0;
+
+    /**
+     * How long a call may wait for a free slot before it is rejected
+     */
+    private Duration maxWait = Duration.ofMillis(50);
+
+    /**
+     * Calls allowed to wait at once; further calls are rejected immediately
+     */
+    private int maxQueue = 50;
+}
@@ -0,0 +1,71 @@
+package com.pruebatecnica.authdemo.concurrency;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.Counter;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+
+/**
+ * Feign client decorator that holds a limiter slot for the duration of each upstream
+ * call and feeds the measured RTT (or the failure) back into the limit
+ */
+class ConcurrencyLimitingClient implements Client {
+
+    private final Client delegate;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final long maxWaitNanos;
+    private final Counter rejected;
+
+    ConcurrencyLimitingClient(Client delegate, AdaptiveConcurrencyLimiter limiter, long maxWaitNanos,
+                              Counter rejected) {
+        this.delegate = delegate;
+        this.limiter = limiter;
+        this.maxWaitNanos = maxWaitNanos;
+        this.rejected = rejected;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        try {
+            if (!limiter.acquire(maxWaitNanos)) {
+                rejected.increment();
+                throw new ConcurrencyLimitExceededException(limiter.limit());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for an upstream slot");
+        }
+
+        long start = System.nanoTime();
+        Response response;
+        try {
+            response = delegate.execute(request, options);
+        } catch (SocketTimeoutException e) {
+            // Connect and read timeouts are the clearest congestion signal there is
+            limiter.onDropped();
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            if (Thread.currentThread().isInterrupted()) {
+                // A cancelled hedge loser says nothing about upstream health
+                limiter.onIgnored();
+            } else {
+                limiter.onDropped();
+            }
+            throw e;
+        }
+        if (isOverloaded(response.status())) {
+            limiter.onDropped();
+        } else {
+            limiter.onSuccess(System.nanoTime() - start);
+        }
+        return response;
+    }
+
+    private static boolean isOverloaded(int status) {
+        return status == 429 || status == 503 || status == 504;
+    }
+}
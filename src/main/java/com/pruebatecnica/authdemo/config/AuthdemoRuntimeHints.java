@@ -0,0 +1,61 @@
+package com.pruebatecnica.authdemo.config;
+
+import com.pruebatecnica.authdemo.cache.CachedUser;
+import com.pruebatecnica.authdemo.codec.ProtobufSchemaHttpMessageConverter;
+import com.pruebatecnica.authdemo.entity.LoginLog;
+import jdk.jfr.Event;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AssignableTypeFilter;
+import org.springframework.core.type.filter.TypeFilter;
+import org.springframework.util.ClassUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reflection hints for the AOT/native build. Jackson binds the Lombok DTOs, LoginLog
+ * and CachedUser through their generated accessors, which the native image cannot see
+ * statically. The dto package is scanned at build time so new DTOs are covered, and so
+ * is the whole application for JFR events, whose fields JFR reads reflectively.
+ * The protobuf schema is read from the classpath at startup.
+ */
+public class AuthdemoRuntimeHints implements RuntimeHintsRegistrar {
+
+    static final String BASE_PACKAGE = "com.pruebatecnica.authdemo";
+    static final String DTO_PACKAGE = BASE_PACKAGE + ".dto";
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+        List<Class<?>> types = new ArrayList<>(scan(DTO_PACKAGE, (reader, factory) -> true, classLoader));
+        types.add(LoginLog.class);
+        types.add(CachedUser.class);
+        bindingRegistrar.registerReflectionHints(hints.reflection(), types.toArray(new Class<?>[0]));
+        for (Class<?> event : scan(BASE_PACKAGE, new AssignableTypeFilter(Event.class), classLoader)) {
+            hints.reflection().registerType(event, MemberCategory.DECLARED_FIELDS,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+        }
+        hints.resources().registerPattern(ProtobufSchemaHttpMessageConverter.SCHEMA_LOCATION);
+    }
+
+    private static List<Class<?>> scan(String basePackage, TypeFilter filter, ClassLoader classLoader) {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false) {
+            @Override
+            protected boolean isCandidateComponent(AnnotatedBeanDefinition definition) {
+                return definition.getMetadata().isIndependent();
+            }
+        };
+        scanner.addIncludeFilter(filter);
+        List<Class<?>> types = new ArrayList<>();
+        for (BeanDefinition candidate : scanner.findCandidateComponents(basePackage)) {
+            types.add(ClassUtils.resolveClassName(candidate.getBeanClassName(), classLoader));
+        }
+        return types;
+    }
+}
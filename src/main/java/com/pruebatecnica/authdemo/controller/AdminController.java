@@ -0,0 +1,178 @@
+package com.pruebatecnica.authdemo.controller;
+
+import com.pruebatecnica.authdemo.dto.ErrorResponse;
+import com.pruebatecnica.authdemo.dto.QueryStatsResponse;
+import com.pruebatecnica.authdemo.dto.RecordingResponse;
+import com.pruebatecnica.authdemo.dto.SlowRequestResponse;
+import com.pruebatecnica.authdemo.profiling.RecordingManager;
+import com.pruebatecnica.authdemo.querystats.QueryStatsService;
+import com.pruebatecnica.authdemo.timing.SlowRequestLog;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+@Slf4j
+public class AdminController {
+
+    private final SlowRequestLog slowRequestLog;
+    private final QueryStatsService queryStatsService;
+    private final RecordingManager recordingManager;
+
+    /**
+     * Requests captured over the slow threshold, newest first, with their stage breakdown
+     */
+    @GetMapping("/slow-requests")
+    public ResponseEntity<List<SlowRequestResponse>> getSlowRequests() {
+        log.info("Get slow requests received");
+        return ResponseEntity.ok(slowRequestLog.getEntries());
+    }
+
+    /**
+     * Clear the slow request buffer
+     */
+    @DeleteMapping("/slow-requests")
+    public ResponseEntity<Void> clearSlowRequests() {
+        log.info("Clear slow requests received");
+        slowRequestLog.clear();
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Hibernate statement, query and entity statistics since start or the last reset
+     */
+    @GetMapping("/query-stats")
+    public ResponseEntity<QueryStatsResponse> getQueryStats() {
+        log.info("Get query stats received");
+        return ResponseEntity.ok(queryStatsService.getStats());
+    }
+
+    /**
+     * Reset Hibernate statistics
+     */
+    @DeleteMapping("/query-stats")
+    public ResponseEntity<Void> resetQueryStats() {
+        log.info("Reset query stats received");
+        queryStatsService.reset();
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Start a time-boxed JFR recording ("90s", "2m" or ISO-8601; plain numbers are seconds),
+     * capped by configuration
+     */
+    @PostMapping("/profiling/recordings")
+    public ResponseEntity<?> startRecording(@RequestParam(value = "duration", required = false) String duration) {
+        log.info("Start JFR recording received (duration: {})", duration);
+        Duration requested;
+        try {
+            requested = duration == null ? null : DurationStyle.detectAndParse(duration, ChronoUnit.SECONDS);
+        } catch (IllegalArgumentException e) {
+            ErrorResponse errorResponse = new ErrorResponse(
+                    "BAD_REQUEST",
+                    "Duración inválida: " + duration,
+                    "AUTH_002");
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(recordingManager.start(requested));
+        } catch (IllegalStateException e) {
+            ErrorResponse errorResponse = new ErrorResponse(
+                    "CONFLICT",
+                    "Ya hay una grabación en curso. Detenla o espera a que termine.",
+                    "AUTH_007");
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+        } catch (Exception e) {
+            log.error("Could not start JFR recording: {}", e.getMessage(), e);
+            ErrorResponse errorResponse = new ErrorResponse(
+                    "INTERNAL_SERVER_ERROR",
+                    "No se pudo iniciar la grabación.",
+                    "AUTH_007");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
+    /**
+     * Continuous and on-demand recordings, newest first
+     */
+    @GetMapping("/profiling/recordings")
+    public ResponseEntity<List<RecordingResponse>> getRecordings() {
+        log.info("Get JFR recordings received");
+        return ResponseEntity.ok(recordingManager.list());
+    }
+
+    /**
+     * Stop an on-demand recording before its duration elapses
+     */
+    @PostMapping("/profiling/recordings/{id}/stop")
+    public ResponseEntity<RecordingResponse> stopRecording(@PathVariable long id) {
+        log.info("Stop JFR recording received: {}", id);
+        return ResponseEntity.of(recordingManager.stop(id));
+    }
+
+    /**
+     * Discard an on-demand recording and its data
+     */
+    @DeleteMapping("/profiling/recordings/{id}")
+    public ResponseEntity<Void> deleteRecording(@PathVariable long id) {
+        log.info("Delete JFR recording received: {}", id);
+        return recordingManager.delete(id)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Download an on-demand recording as a .jfr file (data so far if still running)
+     */
+    @GetMapping("/profiling/recordings/{id}/file")
+    public ResponseEntity<StreamingResponseBody> downloadRecording(@PathVariable long id) throws IOException {
+        log.info("Download JFR recording received: {}", id);
+        return jfrFile(recordingManager.dump(id), "authdemo-" + id + ".jfr");
+    }
+
+    /**
+     * Download the continuous recording's ring buffer as a .jfr file
+     */
+    @GetMapping("/profiling/continuous/file")
+    public ResponseEntity<StreamingResponseBody> downloadContinuousRecording() throws IOException {
+        log.info("Download continuous JFR recording received");
+        return jfrFile(recordingManager.dumpContinuous(), "authdemo-continuous.jfr");
+    }
+
+    private static ResponseEntity<StreamingResponseBody> jfrFile(Optional<Path> dump, String filename)
+            throws IOException {
+        if (dump.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        Path file = dump.get();
+        long size = Files.size(file);
+        StreamingResponseBody body = out -> {
+            try {
+                Files.copy(file, out);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .contentLength(size)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+}
@@ -1,17 +1,29 @@
 package com.pruebatecnica.authdemo.controller;
 
+import com.pruebatecnica.authdemo.concurrency.ConcurrencyLimitExceededException;
 import com.pruebatecnica.authdemo.dto.ErrorResponse;
 import com.pruebatecnica.authdemo.dto.LoginRequest;
 import com.pruebatecnica.authdemo.dto.LoginResponse;
 import com.pruebatecnica.authdemo.dto.UserResponse;
+import com.pruebatecnica.authdemo.dto.UserSearchResponse;
 import com.pruebatecnica.authdemo.dto.UsersListResponse;
 import com.pruebatecnica.authdemo.entity.LoginLog;
+import com.pruebatecnica.authdemo.event.LoginEventBroadcaster;
+import com.pruebatecnica.authdemo.passthrough.UsersPassthrough;
+import com.pruebatecnica.authdemo.ratelimit.LoginRateLimiter;
+import com.pruebatecnica.authdemo.ratelimit.RateLimitDecision;
 import com.pruebatecnica.authdemo.service.AuthService;
+import com.pruebatecnica.authdemo.service.InvalidCredentialsException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -22,18 +34,45 @@ import java.util.List;
 @CrossOrigin(origins = "*")
 public class AuthController {
 
+    private static final String UPSTREAM_RETRY_AFTER_SECONDS = "1";
+
     private final AuthService authService;
+    private final LoginRateLimiter loginRateLimiter;
+    private final LoginEventBroadcaster loginEventBroadcaster;
+    private final UsersPassthrough usersPassthrough;
 
     /**
      * Login endpoint - authenticates user against DummyJSON and saves login log
      */
     @PostMapping("/login")
-    public ResponseEntity<LoginResponse> login(@RequestBody LoginRequest loginRequest) {
+    public ResponseEntity<?> login(@RequestBody LoginRequest loginRequest, HttpServletRequest request) {
         log.info("Login request received for user: {}", loginRequest.getUsername());
 
+        RateLimitDecision decision = loginRateLimiter.tryAcquire(
+                loginRequest.getUsername(), loginRateLimiter.resolveClientIp(request));
+        if (!decision.allowed()) {
+            log.warn("Login rate limit exceeded for user: {}", loginRequest.getUsername());
+            ErrorResponse errorResponse = new ErrorResponse(
+                    "TOO_MANY_REQUESTS",
+                    "Demasiados intentos de inicio de sesión. Intenta de nuevo más tarde.",
+                    "AUTH_003");
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(decision.retryAfterSeconds()))
+                    .body(errorResponse);
+        }
+
         try {
             LoginResponse response = authService.authenticateUser(loginRequest);
             return ResponseEntity.ok(response);
+        } catch (InvalidCredentialsException e) {
+            log.warn("Login failed: {}", e.getMessage());
+            ErrorResponse errorResponse = new ErrorResponse(
+                    "BAD_REQUEST",
+                    "Usuario o contraseña incorrectos.",
+                    "AUTH_009");
+            return ResponseEntity.badRequest().body(errorResponse);
+        } catch (ConcurrencyLimitExceededException e) {
+            return upstreamSaturated(e);
         } catch (Exception e) {
             log.error("Login failed: {}", e.getMessage());
             return ResponseEntity.badRequest().build();
@@ -68,6 +107,8 @@ public class AuthController {
 
             UserResponse response = authService.getCurrentUser(token);
             return ResponseEntity.ok(response);
+        } catch (ConcurrencyLimitExceededException e) {
+            return upstreamSaturated(e);
         } catch (Exception e) {
             log.error("Get current user failed: {}", e.getMessage());
             ErrorResponse errorResponse = new ErrorResponse(
@@ -79,17 +120,56 @@ public class AuthController {
     }
 
     /**
-     * Get all available users from DummyJSON for testing
+     * Get all available users. The local user directory owns this endpoint; until it has
+     * loaded, the request falls back to DummyJSON for the same full list, streamed by
+     * passthrough mode (which returns null) or rebuilt by the service. With q, limit or
+     * cursor the request is a directory search instead.
      */
     @GetMapping("/users")
-    public ResponseEntity<UsersListResponse> getAllUsers() {
+    public ResponseEntity<?> getAllUsers(
+            @RequestParam(value = "q", required = false) String query,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            HttpServletRequest request,
+            HttpServletResponse httpResponse) {
+        if (query != null || limit != null || cursor != null) {
+            return searchUsers(query, limit, cursor);
+        }
         log.info("Get all users request received");
 
         try {
+            if (!authService.isUserDirectoryLoaded() && usersPassthrough.accepts(request)) {
+                usersPassthrough.proxyAllUsers(httpResponse);
+                return null;
+            }
             UsersListResponse response = authService.getAllUsers();
             return ResponseEntity.ok(response);
+        } catch (ConcurrencyLimitExceededException e) {
+            return upstreamSaturated(e);
         } catch (Exception e) {
             log.error("Get all users failed: {}", e.getMessage());
+            if (httpResponse.isCommitted()) {
+                return null;
+            }
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    private ResponseEntity<?> searchUsers(String query, Integer limit, String cursor) {
+        log.info("Search users request received (q: {})", query);
+
+        try {
+            UserSearchResponse response = authService.searchUsers(query, limit, cursor);
+            return ResponseEntity.ok(response);
+        } catch (IllegalStateException e) {
+            log.error("Search users unavailable: {}", e.getMessage());
+            ErrorResponse errorResponse = new ErrorResponse(
+                    "SERVICE_UNAVAILABLE",
+                    "El directorio de usuarios aún no está disponible. Intenta de nuevo más tarde.",
+                    "AUTH_004");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse);
+        } catch (Exception e) {
+            log.error("Search users failed: {}", e.getMessage());
             return ResponseEntity.badRequest().build();
         }
     }
@@ -126,4 +206,38 @@ public class AuthController {
 
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Live stream of successful logins (Server-Sent Events), optionally filtered by username.
+     * Reconnecting clients send Last-Event-ID to receive the logins they missed.
+     */
+    @GetMapping(value = "/login-logs/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamLoginLogs(
+            @RequestParam(value = "username", required = false) String username,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        log.info("Login log stream request received (username: {}, lastEventId: {})", username, lastEventId);
+
+        try {
+            SseEmitter emitter = loginEventBroadcaster.subscribe(username, lastEventId);
+            return ResponseEntity.ok(emitter);
+        } catch (IllegalStateException e) {
+            log.error("Login log stream rejected: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    /**
+     * The adaptive limit rejected the DummyJSON call before sending it; the client may
+     * retry shortly, so this is a 503 rather than a bad request
+     */
+    private ResponseEntity<ErrorResponse> upstreamSaturated(ConcurrencyLimitExceededException e) {
+        log.warn("Upstream call rejected: {}", e.getMessage());
+        ErrorResponse errorResponse = new ErrorResponse(
+                "SERVICE_UNAVAILABLE",
+                "El servicio de autenticación está saturado. Intenta de nuevo en unos segundos.",
+                "AUTH_008");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, UPSTREAM_RETRY_AFTER_SECONDS)
+                .body(errorResponse);
+    }
+}
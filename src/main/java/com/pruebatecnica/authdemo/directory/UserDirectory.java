@@ -0,0 +1,127 @@
+package com.pruebatecnica.authdemo.directory;
+
+import com.pruebatecnica.authdemo.client.DummyJsonClient;
+import com.pruebatecnica.authdemo.dto.UserResponse;
+import com.pruebatecnica.authdemo.dto.UserSearchResponse;
+import com.pruebatecnica.authdemo.dto.UsersListResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Full DummyJSON user directory held in memory. Every page of /users is fetched
+ * with bounded concurrency and the resulting index is swapped in atomically, so
+ * readers always see a complete snapshot and never wait for a rebuild.
+ */
+@Component
+@Slf4j
+public class UserDirectory {
+
+    private final DummyJsonClient dummyJsonClient;
+    private final UserDirectoryProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ExecutorService pageExecutor;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    private volatile UserIndex index;
+
+    public UserDirectory(DummyJsonClient dummyJsonClient, UserDirectoryProperties properties,
+                         ApplicationEventPublisher eventPublisher) {
+        this.dummyJsonClient = dummyJsonClient;
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.pageExecutor = Executors.newFixedThreadPool(properties.getMaxConcurrency(), runnable -> {
+            Thread thread = new Thread(runnable, "user-directory-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Prefix search over username and email, paged with an opaque cursor
+     */
+    public UserSearchResponse search(String query, String cursor, int limit) {
+        UserIndex current = index;
+        if (current == null) {
+            throw new IllegalStateException("User directory is not loaded yet");
+        }
+        return current.search(query, cursor, limit);
+    }
+
+    /**
+     * The whole directory in DummyJSON order, or empty until the first load completes
+     */
+    public Optional<List<UserResponse>> allUsers() {
+        UserIndex current = index;
+        return current == null ? Optional.empty() : Optional.of(current.all());
+    }
+
+    public boolean isLoaded() {
+        return index != null;
+    }
+
+    public int size() {
+        UserIndex current = index;
+        return current == null ? 0 : current.size();
+    }
+
+    @Scheduled(fixedDelayString = "${authdemo.user-directory.refresh-interval:PT10M}")
+    public void refresh() {
+        if (!properties.isEnabled() || !rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            List<UserResponse> users = fetchAllUsers();
+            index = UserIndex.build(users);
+            log.info("User directory rebuilt with {} users in {} ms",
+                    index.size(), (System.nanoTime() - start) / 1_000_000);
+            eventPublisher.publishEvent(new UserDirectoryRefreshedEvent(
+                    users.stream().map(UserResponse::getUsername).toList()));
+        } catch (Exception e) {
+            log.error("Failed to rebuild user directory, keeping previous snapshot: {}", e.getMessage());
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pageExecutor.shutdownNow();
+    }
+
+    private List<UserResponse> fetchAllUsers() throws InterruptedException, ExecutionException {
+        int pageSize = properties.getPageSize();
+        String select = properties.getSelect();
+        UsersListResponse first = dummyJsonClient.getUsers(pageSize, 0, select);
+        List<UserResponse> users = new ArrayList<>(Math.max(first.getTotal(), pageSize));
+        users.addAll(first.getUsers());
+
+        List<Future<UsersListResponse>> pages = new ArrayList<>();
+        for (int skip = pageSize; skip < first.getTotal(); skip += pageSize) {
+            int pageSkip = skip;
+            pages.add(pageExecutor.submit(() -> dummyJsonClient.getUsers(pageSize, pageSkip, select)));
+        }
+        try {
+            for (Future<UsersListResponse> page : pages) {
+                users.addAll(page.get().getUsers());
+            }
+        } finally {
+            pages.forEach(page -> page.cancel(true));
+        }
+        return users;
+    }
+}
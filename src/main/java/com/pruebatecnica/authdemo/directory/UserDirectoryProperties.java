@@ -0,0 +1,31 @@
+package com.pruebatecnica.authdemo.directory;
+
+import com.pruebatecnica.authdemo.passthrough.UserFieldFilter;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Local copy of the DummyJSON user directory, bound from authdemo.user-directory.*
+ */
+@Data
+@ConfigurationProperties(prefix = "authdemo.user-directory")
+public class UserDirectoryProperties {
+
+    private boolean enabled = true;
+
+    private int pageSize = 100;
+
+    /**
+     * Upper bound on concurrent page requests against DummyJSON during a rebuild
+     */
+    private int maxConcurrency = 4;
+
+    private Duration refreshInterval = Duration.ofMinutes(10);
+
+    /**
+     * Fields requested from upstream; defaults to the public UserResponse fields
+     */
+    private String select = UserFieldFilter.SELECT;
+}
@@ -0,0 +1,9 @@
+package com.pruebatecnica.authdemo.directory;
+
+import java.util.List;
+
+/**
+ * Published after a complete directory snapshot has been swapped in
+ */
+public record UserDirectoryRefreshedEvent(List<String> usernames) {
+}
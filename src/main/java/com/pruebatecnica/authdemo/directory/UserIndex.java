@@ -0,0 +1,198 @@
+package com.pruebatecnica.authdemo.directory;
+
+import com.pruebatecnica.authdemo.dto.UserResponse;
+import com.pruebatecnica.authdemo.dto.UserSearchResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of the user directory. Users are kept in username order and
+ * a second sorted array over emails maps back to that order, so username and email
+ * prefix lookups are two binary searches each. Paging uses a keyset cursor (the
+ * last returned username), which stays valid across index rebuilds.
+ */
+final class UserIndex {
+
+    static final UserIndex EMPTY = new UserIndex(List.of(), new UserResponse[0], new String[0], new String[0],
+            new int[0], null);
+
+    private final List<UserResponse> inSourceOrder;
+    private final UserResponse[] users;
+    private final String[] usernames;
+    private final String[] emails;
+    private final int[] emailOrdinals;
+    private final Instant builtAt;
+
+    private UserIndex(List<UserResponse> inSourceOrder, UserResponse[] users, String[] usernames, String[] emails,
+                      int[] emailOrdinals, Instant builtAt) {
+        this.inSourceOrder = inSourceOrder;
+        this.users = users;
+        this.usernames = usernames;
+        this.emails = emails;
+        this.emailOrdinals = emailOrdinals;
+        this.builtAt = builtAt;
+    }
+
+    static UserIndex build(List<UserResponse> source) {
+        Map<String, UserResponse> byUsername = new LinkedHashMap<>();
+        for (UserResponse user : source) {
+            if (user != null && user.getUsername() != null) {
+                byUsername.putIfAbsent(normalize(user.getUsername()), user);
+            }
+        }
+        String[] usernames = byUsername.keySet().toArray(new String[0]);
+        Arrays.sort(usernames);
+        UserResponse[] users = new UserResponse[usernames.length];
+        for (int i = 0; i < usernames.length; i++) {
+            users[i] = byUsername.get(usernames[i]);
+        }
+
+        Integer[] byEmail = new Integer[users.length];
+        for (int i = 0; i < byEmail.length; i++) {
+            byEmail[i] = i;
+        }
+        Arrays.sort(byEmail, Comparator.comparing(i -> normalize(users[i].getEmail())));
+        String[] emails = new String[users.length];
+        int[] emailOrdinals = new int[users.length];
+        for (int i = 0; i < byEmail.length; i++) {
+            emailOrdinals[i] = byEmail[i];
+            emails[i] = normalize(users[byEmail[i]].getEmail());
+        }
+        return new UserIndex(List.copyOf(byUsername.values()), users, usernames, emails, emailOrdinals, Instant.now());
+    }
+
+    int size() {
+        return users.length;
+    }
+
+    /**
+     * Every user once, in the order DummyJSON listed them
+     */
+    List<UserResponse> all() {
+        return inSourceOrder;
+    }
+
+    Instant builtAt() {
+        return builtAt;
+    }
+
+    /**
+     * Users whose username or email starts with the query, in username order. Username
+     * matches are one contiguous range of ordinals; email matches that fall outside it are
+     * sorted and merged with that range, so a query costs O(log n + email matches + limit).
+     */
+    UserSearchResponse search(String query, String cursor, int limit) {
+        String prefix = normalize(query);
+        int from = lowerBound(usernames, prefix);
+        int to = upperBound(usernames, prefix);
+        int[] extra = new int[0];
+        if (!prefix.isEmpty()) {
+            int emailFrom = lowerBound(emails, prefix);
+            int emailTo = upperBound(emails, prefix);
+            extra = new int[emailTo - emailFrom];
+            int count = 0;
+            for (int i = emailFrom; i < emailTo; i++) {
+                int ordinal = emailOrdinals[i];
+                if (ordinal < from || ordinal >= to) {
+                    extra[count++] = ordinal;
+                }
+            }
+            extra = Arrays.copyOf(extra, count);
+            Arrays.sort(extra);
+        }
+        int total = (to - from) + extra.length;
+
+        int start = 0;
+        String after = decodeCursor(cursor);
+        if (after != null) {
+            start = upperBound(usernames, after, false);
+        }
+        int next = Math.max(from, start);
+        int nextExtra = lowerBound(extra, start);
+
+        List<UserResponse> page = new ArrayList<>(Math.min(limit, total));
+        while (page.size() < limit && (next < to || nextExtra < extra.length)) {
+            if (nextExtra >= extra.length || (next < to && next < extra[nextExtra])) {
+                page.add(users[next++]);
+            } else {
+                page.add(users[extra[nextExtra++]]);
+            }
+        }
+        boolean more = next < to || nextExtra < extra.length;
+        String nextCursor = more && !page.isEmpty()
+                ? encodeCursor(page.get(page.size() - 1).getUsername()) : null;
+        return new UserSearchResponse(page, total, nextCursor);
+    }
+
+    private static int lowerBound(int[] sorted, int key) {
+        int index = Arrays.binarySearch(sorted, key);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    private static int lowerBound(String[] sorted, String key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * First position past every entry that starts with the prefix
+     */
+    private static int upperBound(String[] sorted, String prefix) {
+        return upperBound(sorted, prefix, true);
+    }
+
+    private static int upperBound(String[] sorted, String key, boolean asPrefix) {
+        int low = lowerBound(sorted, key);
+        if (!asPrefix) {
+            return low < sorted.length && sorted[low].equals(key) ? low + 1 : low;
+        }
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid].startsWith(key)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String encodeCursor(String username) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(normalize(username).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.pruebatecnica.authdemo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoginEventResponse {
+    private UUID id;
+    private String username;
+    private LocalDateTime loginTime;
+}
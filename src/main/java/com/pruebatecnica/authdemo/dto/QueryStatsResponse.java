@@ -0,0 +1,37 @@
+package com.pruebatecnica.authdemo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class QueryStatsResponse {
+    private boolean statisticsEnabled;
+    private LocalDateTime since;
+    private long statementsPrepared;
+    private long queriesExecuted;
+    private long queryMaxTimeMs;
+    private String slowestQuery;
+    private long entityLoads;
+    private long entityFetches;
+    private long entityInserts;
+    private long entityUpdates;
+    private long entityDeletes;
+    private long flushes;
+    private long transactions;
+    private long connectionsObtained;
+    private Map<String, EntityStats> entities;
+    private List<QueryStats> slowQueries;
+
+    public record EntityStats(long loads, long fetches, long inserts, long updates, long deletes) {
+    }
+
+    public record QueryStats(String query, long executions, long avgMs, long maxMs, long rows) {
+    }
+}
@@ -0,0 +1,20 @@
+package com.pruebatecnica.authdemo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecordingResponse {
+    private long id;
+    private String name;
+    private String state;
+    private LocalDateTime startTime;
+    private LocalDateTime stopTime;
+    private Long durationSeconds;
+    private long sizeBytes;
+}
@@ -0,0 +1,20 @@
+package com.pruebatecnica.authdemo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlowRequestResponse {
+    private LocalDateTime timestamp;
+    private String method;
+    private String path;
+    private int status;
+    private double durationMs;
+    private Map<String, Double> stagesMs;
+}
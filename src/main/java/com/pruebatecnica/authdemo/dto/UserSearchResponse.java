@@ -0,0 +1,16 @@
+package com.pruebatecnica.authdemo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSearchResponse {
+    private List<UserResponse> users;
+    private int total;
+    private String nextCursor;
+}
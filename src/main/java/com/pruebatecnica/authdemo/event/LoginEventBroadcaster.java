@@ -0,0 +1,302 @@
+package com.pruebatecnica.authdemo.event;
+
+import com.pruebatecnica.authdemo.dto.LoginEventResponse;
+import com.pruebatecnica.authdemo.repository.LoginLogStore;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process event bus for successful logins, fanned out to SSE subscribers.
+ * Events are delivered after the login_log transaction commits; each subscriber
+ * has its own bounded queue drained by a small shared pool. A subscriber whose write
+ * blocks past the send timeout is dropped and its thread replaced until the write
+ * returns, so a client that stops reading cannot starve the others.
+ */
+@Component
+@Slf4j
+public class LoginEventBroadcaster {
+
+    private static final String EVENT_ID_SEPARATOR = "/";
+    private static final UUID NIL_ID = new UUID(0, 0);
+
+    private final LoginStreamProperties properties;
+    private final LoginLogStore loginLogStore;
+    private final Set<LoginEventSubscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor deliveryExecutor;
+
+    /**
+     * Delivery uses platform threads: SseEmitter.send is synchronized, so a virtual thread
+     * blocked in a socket write would pin its carrier and stall unrelated virtual threads.
+     */
+    public LoginEventBroadcaster(LoginStreamProperties properties, LoginLogStore loginLogStore) {
+        this.properties = properties;
+        this.loginLogStore = loginLogStore;
+        AtomicInteger threadCount = new AtomicInteger();
+        int threads = properties.getDeliveryThreads();
+        this.deliveryExecutor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "login-stream-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Register a subscriber, optionally filtered by username and resumed after the given event id
+     */
+    public SseEmitter subscribe(String username, String lastEventId) {
+        if (subscriptions.size() >= properties.getMaxSubscribers()) {
+            throw new IllegalStateException("Too many login stream subscribers");
+        }
+        SseEmitter emitter = createEmitter();
+        LoginEventSubscription subscription = new LoginEventSubscription(emitter, username, properties);
+        emitter.onCompletion(() -> subscriptions.remove(subscription));
+        emitter.onTimeout(() -> disconnect(subscription));
+        emitter.onError(error -> disconnect(subscription));
+        subscriptions.add(subscription);
+
+        ResumePosition resumeAfter = parseEventId(lastEventId);
+        if (resumeAfter != null) {
+            replay(subscription, resumeAfter);
+        }
+        if (!subscription.finishReplay()) {
+            disconnect(subscription);
+            return emitter;
+        }
+        schedule(subscription);
+        log.info("Login stream subscriber added (filter: {}, resume: {}), total: {}",
+                subscription.usernameFilter(), resumeAfter, subscriptions.size());
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLoginSucceeded(LoginSucceededEvent event) {
+        for (LoginEventSubscription subscription : subscriptions) {
+            if (!subscription.accepts(event)) {
+                continue;
+            }
+            if (subscription.offer(event)) {
+                schedule(subscription);
+            } else {
+                log.warn("Disconnecting slow login stream subscriber");
+                disconnect(subscription);
+            }
+        }
+    }
+
+    /**
+     * Keep-alive comments go out in one task per delivery thread, each covering a slice of
+     * the subscribers, instead of one drain task per subscriber. Subscribers with events
+     * pending or being delivered are skipped: their traffic keeps the connection alive.
+     */
+    @Scheduled(fixedDelayString = "${authdemo.login-stream.heartbeat-interval:PT15S}")
+    public void sendHeartbeats() {
+        List<LoginEventSubscription> targets = new ArrayList<>(subscriptions);
+        int batches = Math.min(properties.getDeliveryThreads(), targets.size());
+        for (int batch = 0; batch < batches; batch++) {
+            List<LoginEventSubscription> slice = targets.subList(
+                    batch * targets.size() / batches, (batch + 1) * targets.size() / batches);
+            try {
+                deliveryExecutor.execute(() -> slice.forEach(this::sendHeartbeat));
+            } catch (RuntimeException e) {
+                log.debug("Heartbeat batch not scheduled: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Drops subscribers whose current write has been blocked longer than the send timeout
+     * and adds a delivery thread for each of them until its write returns. The blocked write
+     * only returns when the connection fails or the servlet container's write timeout
+     * expires; completing the emitter here would wait on the same lock, so the delivery
+     * thread completes it once the write returns.
+     */
+    @Scheduled(fixedDelayString = "${authdemo.login-stream.stall-check-interval:PT1S}")
+    public void disconnectStalledSubscribers() {
+        long now = System.nanoTime();
+        long timeoutNanos = properties.getSendTimeout().toNanos();
+        for (LoginEventSubscription subscription : subscriptions) {
+            Thread sender = subscription.markStalled(now, timeoutNanos);
+            if (sender != null) {
+                log.warn("Disconnecting login stream subscriber blocked on write for more than {}",
+                        properties.getSendTimeout());
+                subscription.close();
+                subscriptions.remove(subscription);
+                resizeDelivery(1);
+                sender.interrupt();
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        deliveryExecutor.shutdownNow();
+        subscriptions.forEach(this::disconnect);
+    }
+
+    SseEmitter createEmitter() {
+        return new SseEmitter(properties.getEmitterTimeout().toMillis());
+    }
+
+    private void replay(LoginEventSubscription subscription, ResumePosition resumeAfter) {
+        try {
+            PageRequest page = PageRequest.of(0, properties.getMaxReplay());
+            var rows = subscription.usernameFilter() == null
+                    ? loginLogStore.findAfterPosition(resumeAfter.loginTime(), resumeAfter.id(), page)
+                    : loginLogStore.findByUsernameIgnoreCaseAfterPosition(
+                            subscription.usernameFilter(), resumeAfter.loginTime(), resumeAfter.id(), page);
+            List<LoginSucceededEvent> events = rows.stream().map(LoginSucceededEvent::from).toList();
+            subscription.replay(events);
+            log.info("Replayed {} login events after {}", events.size(), resumeAfter);
+        } catch (Exception e) {
+            log.error("Failed to replay login events after {}: {}", resumeAfter, e.getMessage());
+        }
+    }
+
+    private void schedule(LoginEventSubscription subscription) {
+        if (!subscription.isEmpty() && subscription.tryStartDrain()) {
+            try {
+                deliveryExecutor.execute(() -> drain(subscription));
+            } catch (RuntimeException e) {
+                subscription.endDrain();
+            }
+        }
+    }
+
+    private void drain(LoginEventSubscription subscription) {
+        try {
+            while (true) {
+                LoginSucceededEvent item = subscription.poll();
+                if (item == null) {
+                    subscription.endDrain();
+                    // An offer may have raced with endDrain; pick it up if nobody else did
+                    if (subscription.isEmpty() || !subscription.tryStartDrain()) {
+                        return;
+                    }
+                    continue;
+                }
+                send(subscription, toSseEvent(item));
+                if (subscription.isClosed()) {
+                    disconnect(subscription);
+                    return;
+                }
+            }
+        } catch (Exception e) {
+            log.debug("Login stream subscriber gone: {}", e.getMessage());
+            subscription.endDrain();
+            disconnect(subscription);
+        }
+    }
+
+    private void sendHeartbeat(LoginEventSubscription subscription) {
+        if (!subscription.isEmpty() || !subscription.tryStartDrain()) {
+            return;
+        }
+        try {
+            send(subscription, SseEmitter.event().comment("keep-alive"));
+        } catch (Exception e) {
+            log.debug("Login stream subscriber gone: {}", e.getMessage());
+            subscription.endDrain();
+            disconnect(subscription);
+            return;
+        }
+        subscription.endDrain();
+        if (subscription.isClosed()) {
+            disconnect(subscription);
+        } else {
+            // Events offered during the heartbeat found the subscriber busy
+            schedule(subscription);
+        }
+    }
+
+    private void send(LoginEventSubscription subscription, SseEmitter.SseEventBuilder event) throws IOException {
+        subscription.beginSend();
+        try {
+            subscription.emitter().send(event);
+        } finally {
+            if (subscription.endSend()) {
+                resizeDelivery(-1);
+            }
+        }
+    }
+
+    private synchronized void resizeDelivery(int delta) {
+        int threads = deliveryExecutor.getCorePoolSize() + delta;
+        if (delta > 0) {
+            deliveryExecutor.setMaximumPoolSize(threads);
+            deliveryExecutor.setCorePoolSize(threads);
+        } else {
+            deliveryExecutor.setCorePoolSize(threads);
+            deliveryExecutor.setMaximumPoolSize(threads);
+        }
+    }
+
+    private void disconnect(LoginEventSubscription subscription) {
+        subscription.close();
+        subscriptions.remove(subscription);
+        try {
+            subscription.emitter().complete();
+        } catch (Exception e) {
+            log.debug("Error completing login stream emitter: {}", e.getMessage());
+        }
+    }
+
+    private static SseEmitter.SseEventBuilder toSseEvent(LoginSucceededEvent event) {
+        SseEmitter.SseEventBuilder builder = SseEmitter.event()
+                .name("login")
+                .data(new LoginEventResponse(event.id(), event.username(), event.loginTime()),
+                        MediaType.APPLICATION_JSON);
+        if (event.loginTime() != null && event.id() != null) {
+            builder.id(event.loginTime() + EVENT_ID_SEPARATOR + event.id());
+        }
+        return builder;
+    }
+
+    /**
+     * Event ids are "loginTime/id". Ids holding only a loginTime (sent before the id was
+     * added) resume at the start of that instant: a login may repeat, none is skipped.
+     */
+    private static ResumePosition parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        String value = lastEventId.trim();
+        int separator = value.indexOf(EVENT_ID_SEPARATOR);
+        try {
+            if (separator < 0) {
+                return new ResumePosition(LocalDateTime.parse(value), NIL_ID);
+            }
+            return new ResumePosition(LocalDateTime.parse(value.substring(0, separator)),
+                    UUID.fromString(value.substring(separator + 1)));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            log.warn("Ignoring unparseable Last-Event-ID: {}", lastEventId);
+            return null;
+        }
+    }
+
+    private record ResumePosition(LocalDateTime loginTime, UUID id) {
+    }
+}
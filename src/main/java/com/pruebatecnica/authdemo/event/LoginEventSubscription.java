@@ -0,0 +1,169 @@
+package com.pruebatecnica.authdemo.event;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One SSE client. Holds a bounded queue of pending events; a subscriber with an
+ * empty queue costs only the emitter and this object, no thread is parked on it.
+ */
+class LoginEventSubscription {
+
+    private final SseEmitter emitter;
+    private final String usernameFilter;
+    private final int capacity;
+    private final LoginStreamProperties.OverflowPolicy overflowPolicy;
+    private final ArrayDeque<LoginSucceededEvent> queue = new ArrayDeque<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile boolean closed;
+
+    // Set while an event is being written to the emitter, so stalled writes can be detected
+    private final Object sendLock = new Object();
+    private long sendStartedNanos;
+    private Thread sender;
+    private boolean stalled;
+
+    // Live events arriving while the DB replay is in progress are held here
+    private boolean replaying = true;
+    private final List<LoginSucceededEvent> pendingLive = new ArrayList<>();
+    private final Set<UUID> replayedIds = new HashSet<>();
+
+    LoginEventSubscription(SseEmitter emitter, String usernameFilter, LoginStreamProperties properties) {
+        this.emitter = emitter;
+        this.usernameFilter = usernameFilter == null || usernameFilter.isBlank()
+                ? null : usernameFilter.trim().toLowerCase(Locale.ROOT);
+        this.capacity = properties.getBufferSize();
+        this.overflowPolicy = properties.getOverflowPolicy();
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    String usernameFilter() {
+        return usernameFilter;
+    }
+
+    boolean accepts(LoginSucceededEvent event) {
+        return !closed && (usernameFilter == null
+                || (event.username() != null && usernameFilter.equals(event.username().toLowerCase(Locale.ROOT))));
+    }
+
+    /**
+     * Enqueue a live event. Returns false when the subscriber overflowed under the DISCONNECT policy.
+     */
+    synchronized boolean offer(LoginSucceededEvent event) {
+        if (replaying) {
+            if (pendingLive.size() >= capacity) {
+                if (overflowPolicy == LoginStreamProperties.OverflowPolicy.DISCONNECT) {
+                    return false;
+                }
+                pendingLive.remove(0);
+            }
+            pendingLive.add(event);
+            return true;
+        }
+        return enqueue(event);
+    }
+
+    synchronized void replay(List<LoginSucceededEvent> events) {
+        for (LoginSucceededEvent event : events) {
+            replayedIds.add(event.id());
+            queue.addLast(event);
+        }
+    }
+
+    /**
+     * Ends the replay phase, appending held live events that the replay did not already cover
+     */
+    synchronized boolean finishReplay() {
+        replaying = false;
+        boolean keep = true;
+        for (LoginSucceededEvent event : pendingLive) {
+            if (!replayedIds.contains(event.id())) {
+                keep &= enqueue(event);
+            }
+        }
+        pendingLive.clear();
+        replayedIds.clear();
+        return keep;
+    }
+
+    synchronized LoginSucceededEvent poll() {
+        return queue.pollFirst();
+    }
+
+    synchronized boolean isEmpty() {
+        return queue.isEmpty();
+    }
+
+    boolean tryStartDrain() {
+        return !closed && draining.compareAndSet(false, true);
+    }
+
+    void endDrain() {
+        draining.set(false);
+    }
+
+    void beginSend() {
+        synchronized (sendLock) {
+            sender = Thread.currentThread();
+            sendStartedNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Returns true when the write that just ended had been given up on by markStalled
+     */
+    boolean endSend() {
+        synchronized (sendLock) {
+            boolean wasStalled = stalled;
+            sender = null;
+            sendStartedNanos = 0;
+            stalled = false;
+            return wasStalled;
+        }
+    }
+
+    /**
+     * Marks the current write as stalled once it has been blocked for more than timeoutNanos.
+     * Returns the blocked thread the first time, null otherwise.
+     */
+    Thread markStalled(long nowNanos, long timeoutNanos) {
+        synchronized (sendLock) {
+            if (sendStartedNanos == 0 || stalled || nowNanos - sendStartedNanos <= timeoutNanos) {
+                return null;
+            }
+            stalled = true;
+            return sender;
+        }
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    void close() {
+        closed = true;
+    }
+
+    private boolean enqueue(LoginSucceededEvent item) {
+        if (queue.size() >= capacity) {
+            if (overflowPolicy == LoginStreamProperties.OverflowPolicy.DISCONNECT) {
+                return false;
+            }
+            // DROP_OLDEST: the newest event is more useful to a console than a stale one
+            queue.pollFirst();
+        }
+        queue.addLast(item);
+        return true;
+    }
+}
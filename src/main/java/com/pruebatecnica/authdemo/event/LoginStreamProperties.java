@@ -0,0 +1,53 @@
+package com.pruebatecnica.authdemo.event;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for GET /api/auth/login-logs/stream, bound from authdemo.login-stream.*
+ */
+@Data
+@ConfigurationProperties(prefix = "authdemo.login-stream")
+public class LoginStreamProperties {
+
+    /**
+     * Events buffered per subscriber before the overflow policy kicks in
+     */
+    private int bufferSize = 256;
+
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_OLDEST;
+
+    private int maxSubscribers = 10_000;
+
+    /**
+     * Maximum rows replayed from login_log when a client resumes with Last-Event-ID
+     */
+    private int maxReplay = 1_000;
+
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+    /**
+     * Connections are closed after this long; EventSource clients reconnect with Last-Event-ID
+     */
+    private Duration emitterTimeout = Duration.ofMinutes(30);
+
+    /**
+     * A subscriber whose event write has been blocked for longer than this is disconnected
+     */
+    private Duration sendTimeout = Duration.ofSeconds(5);
+
+    private Duration stallCheckInterval = Duration.ofSeconds(1);
+
+    /**
+     * Threads writing events and heartbeats; each write blocked past send-timeout is given
+     * an extra thread until it returns
+     */
+    private int deliveryThreads = 4;
+
+    public enum OverflowPolicy {
+        DROP_OLDEST,
+        DISCONNECT
+    }
+}
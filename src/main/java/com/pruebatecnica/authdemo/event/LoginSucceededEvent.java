@@ -0,0 +1,21 @@
+package com.pruebatecnica.authdemo.event;
+
+import com.pruebatecnica.authdemo.entity.LoginLog;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+/**
+ * Published by AuthService once a login has been recorded in login_log.
+ * loginTime is truncated to the microsecond precision PostgreSQL stores,
+ * so it can be used as a resume cursor against the table.
+ */
+public record LoginSucceededEvent(UUID id, String username, LocalDateTime loginTime) {
+
+    public static LoginSucceededEvent from(LoginLog loginLog) {
+        LocalDateTime loginTime = loginLog.getLoginTime() == null ? null
+                : loginLog.getLoginTime().truncatedTo(ChronoUnit.MICROS);
+        return new LoginSucceededEvent(loginLog.getId(), loginLog.getUsername(), loginTime);
+    }
+}
@@ -0,0 +1,31 @@
+package com.pruebatecnica.authdemo.hedging;
+
+import feign.Client;
+
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.SSLSocketFactory;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+
+/**
+ * Feign's HttpURLConnection client with connections bound to the running hedged attempt,
+ * so HedgingClient can close the socket of the attempt that lost the race.
+ */
+public class AbortableClient extends Client.Default {
+
+    public AbortableClient(SSLSocketFactory sslContextFactory, HostnameVerifier hostnameVerifier) {
+        super(sslContextFactory, hostnameVerifier);
+    }
+
+    @Override
+    public HttpURLConnection getConnection(URL url) throws IOException {
+        HttpURLConnection connection = super.getConnection(url);
+        AttemptHandle attempt = AttemptHandle.current();
+        if (attempt != null && !attempt.bind(connection)) {
+            throw new InterruptedIOException("Hedged attempt cancelled before connecting to " + url);
+        }
+        return connection;
+    }
+}
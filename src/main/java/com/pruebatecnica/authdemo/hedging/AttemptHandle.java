@@ -0,0 +1,51 @@
+package com.pruebatecnica.authdemo.hedging;
+
+import java.net.HttpURLConnection;
+
+/**
+ * Connection of one hedged attempt. The attempt's thread publishes the handle while it
+ * calls upstream and AbortableClient binds the HttpURLConnection it opens, so the losing
+ * attempt can be aborted by closing its socket: interrupting a blocked read does nothing.
+ */
+final class AttemptHandle {
+
+    private static final ThreadLocal<AttemptHandle> CURRENT = new ThreadLocal<>();
+
+    private HttpURLConnection connection;
+    private boolean aborted;
+
+    static AttemptHandle current() {
+        return CURRENT.get();
+    }
+
+    void enter() {
+        CURRENT.set(this);
+    }
+
+    void exit() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Returns false when the attempt was aborted before its connection was opened
+     */
+    synchronized boolean bind(HttpURLConnection connection) {
+        if (aborted) {
+            return false;
+        }
+        this.connection = connection;
+        return true;
+    }
+
+    void abort() {
+        HttpURLConnection toClose;
+        synchronized (this) {
+            aborted = true;
+            toClose = connection;
+            connection = null;
+        }
+        if (toClose != null) {
+            toClose.disconnect();
+        }
+    }
+}
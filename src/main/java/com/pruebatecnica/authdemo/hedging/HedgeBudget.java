@@ -0,0 +1,38 @@
+package com.pruebatecnica.authdemo.hedging;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps hedges at a percentage of primary traffic: every primary request deposits
+ * percent/100 of a token, every hedge withdraws a whole one. Balance is kept in
+ * thousandths of a token and bounded by the burst size.
+ */
+final class HedgeBudget {
+
+    private static final long SCALE = 1_000;
+
+    private final long depositPerRequest;
+    private final long maxBalance;
+    private final AtomicLong balance;
+
+    HedgeBudget(double percent, int burst) {
+        this.depositPerRequest = Math.round(percent / 100.0 * SCALE);
+        this.maxBalance = burst * SCALE;
+        this.balance = new AtomicLong(maxBalance);
+    }
+
+    void deposit() {
+        balance.updateAndGet(current -> Math.min(maxBalance, current + depositPerRequest));
+    }
+
+    boolean tryWithdraw() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < SCALE) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - SCALE));
+        return true;
+    }
+}
@@ -0,0 +1,53 @@
+package com.pruebatecnica.authdemo.hedging;
+
+import feign.Capability;
+import feign.Client;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registers HedgingClient around the Feign client of every @FeignClient. Ordered
+ * after the resilience capabilities so it wraps them and each attempt goes through
+ * the inner ones separately.
+ */
+@Component
+@Order(HedgingCapability.ORDER)
+public class HedgingCapability implements Capability {
+
+    public static final int ORDER = 200;
+
+    private final HedgingProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final HedgeBudget budget;
+    private final ThreadPoolExecutor executor;
+
+    public HedgingCapability(HedgingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.budget = new HedgeBudget(properties.getBudgetPercent(), properties.getBudgetBurst());
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("upstream-hedge-");
+        threadFactory.setDaemon(true);
+        this.executor = new ThreadPoolExecutor(0, properties.getMaxConcurrentAttempts(), 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), threadFactory);
+    }
+
+    @Override
+    public Client enrich(Client client) {
+        if (!properties.isEnabled()) {
+            return client;
+        }
+        return new HedgingClient(client, properties, budget, executor, meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,232 @@
+package com.pruebatecnica.authdemo.hedging;
+
+import feign.Client;
+import feign.MethodMetadata;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Feign client decorator that sends a second attempt when the first one is slower
+ * than the recent latency percentile of the same method, and returns whichever
+ * response arrives first. The losing attempt is interrupted and its connection is
+ * closed through its AttemptHandle, which aborts a read blocked on the socket; if it
+ * still completes, its response is closed so the connection is released.
+ */
+@Slf4j
+class HedgingClient implements Client {
+
+    private final Client delegate;
+    private final HedgingProperties properties;
+    private final HedgeBudget budget;
+    private final ExecutorService executor;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, MethodStats> stats = new ConcurrentHashMap<>();
+
+    HedgingClient(Client delegate, HedgingProperties properties, HedgeBudget budget,
+                  ExecutorService executor, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.properties = properties;
+        this.budget = budget;
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        String method = methodName(request);
+        if (method == null || !properties.getMethods().contains(method)) {
+            return delegate.execute(request, options);
+        }
+        MethodStats methodStats = stats.computeIfAbsent(method, this::newStats);
+        methodStats.requests.increment();
+        budget.deposit();
+
+        AtomicBoolean settled = new AtomicBoolean();
+        CompletionService<Response> attempts = new ExecutorCompletionService<>(executor);
+        AttemptHandle primaryHandle = new AttemptHandle();
+        AttemptHandle hedgeHandle = new AttemptHandle();
+        Future<Response> primary;
+        Future<Response> hedge = null;
+        try {
+            primary = attempts.submit(() -> attempt(request, options, methodStats, settled, primaryHandle));
+        } catch (RejectedExecutionException e) {
+            methodStats.saturated.increment();
+            return timed(request, options, methodStats);
+        }
+
+        try {
+            Future<Response> first = attempts.poll(delayNanos(methodStats), TimeUnit.NANOSECONDS);
+            if (first != null) {
+                return result(first);
+            }
+            if (!budget.tryWithdraw()) {
+                methodStats.budgetExhausted.increment();
+                return result(primary);
+            }
+            try {
+                hedge = attempts.submit(() -> attempt(request, options, methodStats, settled, hedgeHandle));
+            } catch (RejectedExecutionException e) {
+                methodStats.saturated.increment();
+                return result(primary);
+            }
+            methodStats.hedges.increment();
+            return race(attempts, primary, primaryHandle, hedge, hedgeHandle, methodStats);
+        } catch (InterruptedException e) {
+            cancel(primary, primaryHandle);
+            if (hedge != null) {
+                cancel(hedge, hedgeHandle);
+            }
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for " + method);
+        }
+    }
+
+    private Response race(CompletionService<Response> attempts, Future<Response> primary, AttemptHandle primaryHandle,
+                          Future<Response> hedge, AttemptHandle hedgeHandle, MethodStats methodStats)
+            throws IOException, InterruptedException {
+        Exception failure = null;
+        for (int outstanding = 2; outstanding > 0; outstanding--) {
+            Future<Response> done = attempts.take();
+            try {
+                Response response = done.get();
+                if (response != null) {
+                    boolean hedgeWon = done == hedge;
+                    if (hedgeWon) {
+                        cancel(primary, primaryHandle);
+                    } else {
+                        cancel(hedge, hedgeHandle);
+                    }
+                    (hedgeWon ? methodStats.hedgeWins : methodStats.primaryWins).increment();
+                    return response;
+                }
+            } catch (ExecutionException e) {
+                failure = e;
+            }
+        }
+        throw rethrow(failure);
+    }
+
+    /**
+     * One upstream call; only the first successful attempt keeps its response
+     */
+    private Response attempt(Request request, Request.Options options, MethodStats methodStats,
+                             AtomicBoolean settled, AttemptHandle handle) throws IOException {
+        Response response;
+        handle.enter();
+        try {
+            response = timed(request, options, methodStats);
+        } finally {
+            handle.exit();
+        }
+        if (settled.compareAndSet(false, true)) {
+            return response;
+        }
+        response.close();
+        return null;
+    }
+
+    private Response timed(Request request, Request.Options options, MethodStats methodStats) throws IOException {
+        long start = System.nanoTime();
+        Response response = delegate.execute(request, options);
+        methodStats.latencies.record(System.nanoTime() - start);
+        return response;
+    }
+
+    private static void cancel(Future<Response> attempt, AttemptHandle handle) {
+        attempt.cancel(true);
+        handle.abort();
+    }
+
+    private long delayNanos(MethodStats methodStats) {
+        long percentile = methodStats.latencies.percentileNanos();
+        if (percentile < 0 || methodStats.latencies.count() < properties.getMinSamples()) {
+            return properties.getInitialDelay().toNanos();
+        }
+        return Math.max(properties.getMinDelay().toNanos(), Math.min(properties.getMaxDelay().toNanos(), percentile));
+    }
+
+    private static Response result(Future<Response> future) throws IOException, InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw rethrow(e);
+        }
+    }
+
+    private static IOException rethrow(Exception failure) {
+        Throwable cause = failure instanceof ExecutionException ? failure.getCause() : failure;
+        if (cause instanceof IOException io) {
+            return io;
+        }
+        if (cause instanceof RuntimeException runtime) {
+            throw runtime;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IOException(cause);
+    }
+
+    static String methodName(Request request) {
+        if (request.requestTemplate() == null) {
+            return null;
+        }
+        MethodMetadata metadata = request.requestTemplate().methodMetadata();
+        return metadata == null || metadata.method() == null ? null : metadata.method().getName();
+    }
+
+    private MethodStats newStats(String method) {
+        MethodStats methodStats = new MethodStats(method, properties, meterRegistry);
+        Gauge.builder("authdemo.hedging.delay", methodStats, s -> delayNanos(s) / 1_000_000.0)
+                .tag("method", method)
+                .baseUnit("milliseconds")
+                .description("Current hedge delay")
+                .register(meterRegistry);
+        return methodStats;
+    }
+
+    private static final class MethodStats {
+        private final LatencyWindow latencies;
+        private final Counter requests;
+        private final Counter hedges;
+        private final Counter primaryWins;
+        private final Counter hedgeWins;
+        private final Counter budgetExhausted;
+        private final Counter saturated;
+
+        private MethodStats(String method, HedgingProperties properties, MeterRegistry meterRegistry) {
+            this.latencies = new LatencyWindow(properties.getWindowSize(), properties.getPercentile());
+            this.requests = counter(meterRegistry, "authdemo.hedging.requests", method, "Hedgeable upstream calls");
+            this.hedges = counter(meterRegistry, "authdemo.hedging.hedges", method, "Hedge attempts sent");
+            this.primaryWins = Counter.builder("authdemo.hedging.wins").tag("method", method).tag("winner", "primary")
+                    .description("Hedged calls by winning attempt").register(meterRegistry);
+            this.hedgeWins = Counter.builder("authdemo.hedging.wins").tag("method", method).tag("winner", "hedge")
+                    .description("Hedged calls by winning attempt").register(meterRegistry);
+            this.budgetExhausted = counter(meterRegistry, "authdemo.hedging.budget.exhausted", method,
+                    "Hedges skipped because the budget was spent");
+            this.saturated = counter(meterRegistry, "authdemo.hedging.saturated", method,
+                    "Attempts not hedged because the hedging pool was full");
+        }
+
+        private static Counter counter(MeterRegistry meterRegistry, String name, String method, String description) {
+            return Counter.builder(name).tag("method", method).description(description).register(meterRegistry);
+        }
+    }
+}
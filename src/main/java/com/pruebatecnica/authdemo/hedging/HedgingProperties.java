@@ -0,0 +1,61 @@
+package com.pruebatecnica.authdemo.hedging;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Hedged requests to DummyJSON, bound from authdemo.hedging.*
+ */
+@Data
+@ConfigurationProperties(prefix = "authdemo.hedging")
+public class HedgingProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * DummyJsonClient methods that may be hedged; login is not idempotent upstream-wise
+     * (every call mints tokens) so it has to be added explicitly
+     */
+    private Set<String> methods = new LinkedHashSet<>(List.of("getCurrentUser", "getAllUsers", "getAllUsersRaw"));
+
+    /**
+     * Latency percentile of recent calls after which the hedge is sent
+     */
+    private double percentile = 95.0;
+
+    /**
+     * Delay used until a method has minSamples observations
+     */
+    private Duration initialDelay = Duration.ofMillis(250);
+
+    private Duration minDelay = Duration.ofMillis(20);
+
+    private Duration maxDelay = Duration.ofSeconds(2);
+
+    private int minSamples = 20;
+
+    /**
+     * Latencies kept per method to compute the percentile
+     */
+    private int windowSize = 500;
+
+    /**
+     * Extra upstream load allowed for hedges, as a percentage of primary requests
+     */
+    private double budgetPercent = 10.0;
+
+    /**
+     * Hedges that can be spent in a burst before the budget has to refill
+     */
+    private int budgetBurst = 10;
+
+    /**
+     * Upper bound on attempts running at once; past it calls run unhedged on the caller
+     */
+    private int maxConcurrentAttempts = 64;
+}
@@ -0,0 +1,53 @@
+package com.pruebatecnica.authdemo.hedging;
+
+import java.util.Arrays;
+
+/**
+ * Ring buffer of the last N latencies of one upstream method. The percentile is
+ * recomputed from a sorted copy every few samples rather than on every read.
+ */
+final class LatencyWindow {
+
+    private static final int RECOMPUTE_EVERY = 16;
+
+    private final long[] samples;
+    private final double percentile;
+    private int next;
+    private int count;
+    private int sinceRecompute;
+    private volatile long cachedNanos = -1;
+
+    LatencyWindow(int size, double percentile) {
+        this.samples = new long[size];
+        this.percentile = percentile;
+    }
+
+    synchronized void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % samples.length;
+        if (count < samples.length) {
+            count++;
+        }
+        boolean due = ++sinceRecompute >= RECOMPUTE_EVERY;
+        if (due || cachedNanos < 0) {
+            if (due) {
+                sinceRecompute = 0;
+            }
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100.0 * count) - 1;
+            cachedNanos = sorted[Math.max(0, Math.min(count - 1, index))];
+        }
+    }
+
+    synchronized int count() {
+        return count;
+    }
+
+    /**
+     * Last computed percentile, or -1 before the first sample
+     */
+    long percentileNanos() {
+        return cachedNanos;
+    }
+}
@@ -0,0 +1,28 @@
+package com.pruebatecnica.authdemo.passthrough;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Passthrough proxying of GET /api/auth/users, bound from authdemo.passthrough.*
+ */
+@Data
+@ConfigurationProperties(prefix = "authdemo.passthrough")
+public class PassthroughProperties {
+
+    private Mode mode = Mode.OFF;
+
+    /**
+     * Size of the copy buffer used in RAW mode
+     */
+    private int bufferSize = 8_192;
+
+    public enum Mode {
+        /** Deserialize into UsersListResponse and serialize again */
+        OFF,
+        /** Copy the upstream bytes unchanged, relying on DummyJSON's select parameter */
+        RAW,
+        /** Stream the upstream tokens through UserFieldFilter */
+        FILTERED
+    }
+}
@@ -0,0 +1,92 @@
+package com.pruebatecnica.authdemo.passthrough;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.pruebatecnica.authdemo.dto.UserResponse;
+import com.pruebatecnica.authdemo.dto.UsersListResponse;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Token-level copy of a DummyJSON /users payload that keeps only the fields of
+ * UsersListResponse and UserResponse. No tree is built: tokens go straight from
+ * the parser to the generator and unknown values are skipped in place.
+ */
+public final class UserFieldFilter {
+
+    static final Set<String> LIST_FIELDS = fieldsOf(UsersListResponse.class);
+    static final Set<String> USER_FIELDS = fieldsOf(UserResponse.class);
+
+    /**
+     * Value for DummyJSON's select parameter matching the public UserResponse fields
+     */
+    public static final String SELECT = String.join(",", USER_FIELDS);
+
+    private UserFieldFilter() {
+    }
+
+    public static void copy(JsonParser parser, JsonGenerator generator) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Expected a JSON object from DummyJSON /users");
+        }
+        generator.writeStartObject();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (!LIST_FIELDS.contains(name)) {
+                parser.skipChildren();
+                continue;
+            }
+            generator.writeFieldName(name);
+            if (value == JsonToken.START_ARRAY && "users".equals(name)) {
+                copyUsers(parser, generator);
+            } else {
+                generator.copyCurrentStructure(parser);
+            }
+        }
+        generator.writeEndObject();
+    }
+
+    private static void copyUsers(JsonParser parser, JsonGenerator generator) throws IOException {
+        generator.writeStartArray();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+            generator.writeStartObject();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                parser.nextToken();
+                if (USER_FIELDS.contains(name)) {
+                    generator.writeFieldName(name);
+                    generator.copyCurrentStructure(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+    }
+
+    /**
+     * Non-static fields declared by the DTO, in declaration order
+     */
+    public static Set<String> fieldsOf(Class<?> type) {
+        Set<String> fields = new LinkedHashSet<>();
+        for (Field field : type.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers())) {
+                fields.add(field.getName());
+            }
+        }
+        return Collections.unmodifiableSet(fields);
+    }
+}
@@ -0,0 +1,129 @@
+package com.pruebatecnica.authdemo.passthrough;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pruebatecnica.authdemo.client.DummyJsonClient;
+import com.pruebatecnica.authdemo.codec.ProtobufSchemaHttpMessageConverter;
+import com.pruebatecnica.authdemo.timing.RequestTiming;
+import feign.Response;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Streams DummyJSON's /users body straight to the servlet response instead of
+ * materializing UsersListResponse, so memory per request stays bounded by the
+ * copy buffer (RAW) or Jackson's recycled buffers (FILTERED) whatever the payload size.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UsersPassthrough {
+
+    private final PassthroughProperties properties;
+    private final DummyJsonClient dummyJsonClient;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Whether the request should be proxied; clients that don't accept JSON keep
+     * going through the regular message converters.
+     */
+    public boolean accepts(HttpServletRequest request) {
+        if (properties.getMode() == PassthroughProperties.Mode.OFF) {
+            return false;
+        }
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null || accept.isBlank()) {
+            return true;
+        }
+        try {
+            List<MediaType> types = MediaType.parseMediaTypes(accept);
+            double json = types.stream()
+                    .filter(type -> type.isCompatibleWith(MediaType.APPLICATION_JSON))
+                    .mapToDouble(MediaType::getQualityValue)
+                    .max().orElse(0);
+            // Clients that prefer a binary format go through the message converters instead
+            return json > 0 && types.stream().noneMatch(type -> type.getQualityValue() >= json
+                    && (type.equalsTypeAndSubtype(MediaType.APPLICATION_CBOR)
+                    || type.equalsTypeAndSubtype(ProtobufSchemaHttpMessageConverter.PROTOBUF)));
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Proxy GET /users?limit=0 into the response, so it lists every user like the
+     * directory does. Fails before anything is written when upstream does not answer 200.
+     */
+    public void proxyAllUsers(HttpServletResponse response) throws IOException {
+        Response upstream;
+        try (RequestTiming.Stage stage = RequestTiming.stage("upstream")) {
+            upstream = dummyJsonClient.getAllUsersRaw(DummyJsonClient.ALL_USERS, UserFieldFilter.SELECT);
+        }
+        try (upstream) {
+            if (upstream.status() != HttpStatus.OK.value() || upstream.body() == null) {
+                throw new IllegalStateException("DummyJSON returned status " + upstream.status());
+            }
+            response.setStatus(HttpStatus.OK.value());
+            if (properties.getMode() == PassthroughProperties.Mode.RAW) {
+                copyRaw(upstream, response);
+            } else {
+                copyFiltered(upstream, response);
+            }
+        }
+    }
+
+    private void copyRaw(Response upstream, HttpServletResponse response) throws IOException {
+        response.setContentType(header(upstream, HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE));
+        // Feign's default client inflates gzip/deflate bodies, so the upstream length only
+        // matches what we forward when the body was sent uncompressed
+        Integer length = upstream.body().length();
+        if (length != null && header(upstream, HttpHeaders.CONTENT_ENCODING, null) == null) {
+            response.setContentLengthLong(length);
+        }
+        RequestTiming.applyHeader(response);
+
+        byte[] buffer = new byte[properties.getBufferSize()];
+        try (InputStream in = upstream.body().asInputStream()) {
+            OutputStream out = response.getOutputStream();
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            out.flush();
+        }
+    }
+
+    private void copyFiltered(Response upstream, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        RequestTiming.applyHeader(response);
+
+        JsonFactory factory = objectMapper.getFactory();
+        try (InputStream in = upstream.body().asInputStream();
+             JsonParser parser = factory.createParser(in);
+             JsonGenerator generator = factory.createGenerator(response.getOutputStream(), JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            UserFieldFilter.copy(parser, generator);
+        }
+    }
+
+    private static String header(Response upstream, String name, String defaultValue) {
+        Collection<String> values = upstream.headers().getOrDefault(name, List.of());
+        return values.isEmpty() ? defaultValue : values.iterator().next();
+    }
+}
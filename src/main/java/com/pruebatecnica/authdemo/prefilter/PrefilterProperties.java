@@ -0,0 +1,30 @@
+package com.pruebatecnica.authdemo.prefilter;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Known-username Bloom filter in front of DummyJSON logins, bound from authdemo.username-prefilter.*
+ */
+@Data
+@ConfigurationProperties(prefix = "authdemo.username-prefilter")
+public class PrefilterProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Target false positive probability; unknown usernames slip through at roughly this rate
+     */
+    private double falsePositiveRate = 0.01;
+
+    /**
+     * Upper bound on the filter's bit array; the false positive rate degrades beyond it
+     */
+    private DataSize maxMemory = DataSize.ofMegabytes(1);
+
+    /**
+     * Extra capacity reserved on top of the usernames known at build time
+     */
+    private double growthFactor = 1.5;
+}
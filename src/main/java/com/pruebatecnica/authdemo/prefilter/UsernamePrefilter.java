@@ -0,0 +1,140 @@
+package com.pruebatecnica.authdemo.prefilter;
+
+import com.pruebatecnica.authdemo.directory.UserDirectoryRefreshedEvent;
+import com.pruebatecnica.authdemo.repository.LoginLogStore;
+import com.pruebatecnica.authdemo.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Bloom filter of every username DummyJSON can authenticate, so logins for names that
+ * cannot exist are rejected without an upstream round trip. Rebuilt from each complete
+ * user directory snapshot plus the usernames in login_log and swapped in atomically.
+ * Until the first directory snapshot arrives nothing is rejected.
+ */
+@Component
+@Slf4j
+public class UsernamePrefilter {
+
+    private final PrefilterProperties properties;
+    private final LoginLogStore loginLogStore;
+    private final Counter rejected;
+    private final Counter passed;
+    private final Counter unarmed;
+
+    private volatile Snapshot snapshot;
+
+    public UsernamePrefilter(PrefilterProperties properties, LoginLogStore loginLogStore,
+                             MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.loginLogStore = loginLogStore;
+        this.rejected = counter(meterRegistry, "rejected");
+        this.passed = counter(meterRegistry, "passed");
+        this.unarmed = counter(meterRegistry, "unarmed");
+        Gauge.builder("authdemo.login.prefilter.rejection.ratio", this, UsernamePrefilter::rejectionRatio)
+                .description("Share of checked logins rejected as unknown usernames")
+                .register(meterRegistry);
+        Gauge.builder("authdemo.login.prefilter.entries", this, p -> p.snapshot == null ? 0 : p.snapshot.entries())
+                .description("Usernames in the current prefilter")
+                .register(meterRegistry);
+        Gauge.builder("authdemo.login.prefilter.memory", this,
+                        p -> p.snapshot == null ? 0 : p.snapshot.filter().bitSize() / Byte.SIZE)
+                .baseUnit("bytes")
+                .description("Size of the prefilter bit array")
+                .register(meterRegistry);
+        Gauge.builder("authdemo.login.prefilter.fpp", this,
+                        p -> p.snapshot == null ? 0 : p.snapshot.filter().expectedFpp(p.snapshot.entries()))
+                .description("Expected false positive probability of the current prefilter")
+                .register(meterRegistry);
+    }
+
+    /**
+     * True only when the username is certainly not known upstream; false when it might be
+     * or when no filter has been built yet
+     */
+    public boolean isDefinitelyUnknown(String username) {
+        if (!properties.isEnabled() || username == null) {
+            return false;
+        }
+        Snapshot current = snapshot;
+        if (current == null) {
+            unarmed.increment();
+            return false;
+        }
+        if (current.filter().mightContain(normalize(username))) {
+            passed.increment();
+            return false;
+        }
+        rejected.increment();
+        return true;
+    }
+
+    public boolean isArmed() {
+        return snapshot != null;
+    }
+
+    @EventListener
+    public void onUserDirectoryRefreshed(UserDirectoryRefreshedEvent event) {
+        if (properties.isEnabled()) {
+            rebuild(event.usernames());
+        }
+    }
+
+    void rebuild(Collection<String> directoryUsernames) {
+        long start = System.nanoTime();
+        Set<String> usernames = new HashSet<>(directoryUsernames.size() * 2);
+        directoryUsernames.forEach(username -> add(usernames, username));
+        try {
+            List<String> loggedIn = loginLogStore.findDistinctUsernames();
+            loggedIn.forEach(username -> add(usernames, username));
+        } catch (Exception e) {
+            // Directory usernames alone are authoritative; login_log only adds history
+            log.warn("Could not read login_log usernames for the prefilter: {}", e.getMessage());
+        }
+
+        long capacity = (long) Math.ceil(usernames.size() * Math.max(1.0, properties.getGrowthFactor()));
+        BloomFilter filter = BloomFilter.create(capacity, properties.getFalsePositiveRate(),
+                properties.getMaxMemory().toBytes() * Byte.SIZE);
+        usernames.forEach(filter::put);
+        snapshot = new Snapshot(filter, usernames.size());
+        log.info("Username prefilter rebuilt with {} usernames ({} bytes, expected fpp {}) in {} ms",
+                usernames.size(), filter.bitSize() / Byte.SIZE,
+                String.format(Locale.ROOT, "%.4f", filter.expectedFpp(usernames.size())),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private double rejectionRatio() {
+        double checked = rejected.count() + passed.count();
+        return checked == 0 ? 0 : rejected.count() / checked;
+    }
+
+    private static void add(Set<String> usernames, String username) {
+        if (username != null && !username.isBlank()) {
+            usernames.add(normalize(username));
+        }
+    }
+
+    private static String normalize(String username) {
+        return username.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("authdemo.login.prefilter")
+                .tag("outcome", outcome)
+                .description("Login prefilter checks by outcome")
+                .register(meterRegistry);
+    }
+
+    private record Snapshot(BloomFilter filter, int entries) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.pruebatecnica.authdemo.profiling;
+
+import com.pruebatecnica.authdemo.hedging.HedgingCapability;
+import feign.Capability;
+import feign.Client;
+import feign.MethodMetadata;
+import feign.Request;
+import feign.Response;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Wraps every DummyJsonClient call in an authdemo.UpstreamCall JFR event. Ordered
+ * after HedgingCapability so it is outermost, runs on the caller's thread and sees
+ * the call the way AuthService does.
+ */
+@Component
+@Order(JfrEventCapability.ORDER)
+public class JfrEventCapability implements Capability {
+
+    public static final int ORDER = HedgingCapability.ORDER + 100;
+
+    @Override
+    public Client enrich(Client client) {
+        return (request, options) -> {
+            try (PipelineEvents.Span span = PipelineEvents.upstreamCall(methodName(request))) {
+                try {
+                    Response response = client.execute(request, options);
+                    span.status(response.status());
+                    return response;
+                } catch (IOException | RuntimeException e) {
+                    span.outcome(e.getClass().getSimpleName());
+                    throw e;
+                }
+            }
+        };
+    }
+
+    private static String methodName(Request request) {
+        if (request.requestTemplate() == null) {
+            return null;
+        }
+        MethodMetadata metadata = request.requestTemplate().methodMetadata();
+        return metadata == null ? null : metadata.configKey();
+    }
+}
@@ -0,0 +1,11 @@
+package com.pruebatecnica.authdemo.profiling;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("authdemo.Login")
+@Label("Login")
+@Description("AuthService.authenticateUser, from the upstream call to the saved login log")
+final class LoginEvent extends PipelineEvent {
+}
@@ -0,0 +1,14 @@
+package com.pruebatecnica.authdemo.profiling;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("authdemo.LoginLogPersist")
+@Label("Login Log Persist")
+@Description("LoginLogStore.save or the flush and commit of the login transaction")
+final class LoginLogPersistEvent extends PipelineEvent {
+
+    @Label("Stage")
+    String stage;
+}
@@ -0,0 +1,20 @@
+package com.pruebatecnica.authdemo.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Fields shared by the login pipeline JFR events
+ */
+@Category({"Authdemo", "Login pipeline"})
+@StackTrace(false)
+abstract class PipelineEvent extends Event {
+
+    @Label("Username Hash")
+    String usernameHash;
+
+    @Label("Outcome")
+    String outcome;
+}
@@ -0,0 +1,154 @@
+package com.pruebatecnica.authdemo.profiling;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+
+/**
+ * Emits the login pipeline JFR events. Events only do work while a recording has them
+ * enabled; the username is carried on the thread for the duration of a login so nested
+ * upstream and persist events are attributed to it, and is only recorded as a hash.
+ */
+public final class PipelineEvents {
+
+    public static final String SUCCESS = "success";
+    public static final String FAILURE = "failure";
+
+    private static final ThreadLocal<String> CURRENT_USERNAME = new ThreadLocal<>();
+
+    private PipelineEvents() {
+    }
+
+    /**
+     * Start the login event; nested events on this thread carry the same username hash
+     */
+    public static Span login(String username) {
+        String previous = CURRENT_USERNAME.get();
+        CURRENT_USERNAME.set(username);
+        return new Span(new LoginEvent(), () -> restore(previous));
+    }
+
+    public static Span upstreamCall(String method) {
+        UpstreamCallEvent event = new UpstreamCallEvent();
+        event.method = method;
+        return new Span(event, null);
+    }
+
+    public static Span loginLogSave() {
+        LoginLogPersistEvent event = new LoginLogPersistEvent();
+        event.stage = "save";
+        return new Span(event, null);
+    }
+
+    /**
+     * Record the flush + commit of the surrounding transaction as a persist event
+     */
+    public static void timeCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        String username = CURRENT_USERNAME.get();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private LoginLogPersistEvent event;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                event = new LoginLogPersistEvent();
+                event.begin();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (event == null) {
+                    return;
+                }
+                event.end();
+                if (event.shouldCommit()) {
+                    event.stage = "commit";
+                    event.usernameHash = hash(username);
+                    event.outcome = status == STATUS_COMMITTED ? SUCCESS : "rolled_back";
+                    event.commit();
+                }
+            }
+        });
+    }
+
+    static String hash(String username) {
+        if (username == null) {
+            return null;
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] bytes = digest.digest(username.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(bytes, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static void restore(String previous) {
+        if (previous == null) {
+            CURRENT_USERNAME.remove();
+        } else {
+            CURRENT_USERNAME.set(previous);
+        }
+    }
+
+    /**
+     * An in-progress event; committed on close with FAILURE unless an outcome was set
+     */
+    public static final class Span implements AutoCloseable {
+
+        private final PipelineEvent event;
+        private final Runnable onClose;
+        private final String username;
+
+        private Span(PipelineEvent event, Runnable onClose) {
+            this.event = event;
+            this.onClose = onClose;
+            this.username = CURRENT_USERNAME.get();
+            event.begin();
+        }
+
+        public void outcome(String outcome) {
+            event.outcome = outcome;
+        }
+
+        public void succeeded() {
+            event.outcome = SUCCESS;
+        }
+
+        /**
+         * HTTP status of an upstream call; 4xx/5xx also become the outcome
+         */
+        public void status(int status) {
+            if (event instanceof UpstreamCallEvent upstream) {
+                upstream.status = status;
+            }
+            event.outcome = status < 400 ? SUCCESS : "http_" + status;
+        }
+
+        @Override
+        public void close() {
+            try {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.usernameHash = hash(username);
+                    if (event.outcome == null) {
+                        event.outcome = FAILURE;
+                    }
+                    event.commit();
+                }
+            } finally {
+                if (onClose != null) {
+                    onClose.run();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.pruebatecnica.authdemo.profiling;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * JDK Flight Recorder settings, bound from authdemo.profiling.*
+ */
+@Data
+@ConfigurationProperties(prefix = "authdemo.profiling")
+public class ProfilingProperties {
+
+    /**
+     * Low-overhead recording kept running in a disk ring buffer from startup
+     */
+    private boolean continuousEnabled = true;
+
+    private String continuousSettings = "default";
+
+    private Duration continuousMaxAge = Duration.ofMinutes(30);
+
+    private DataSize continuousMaxSize = DataSize.ofMegabytes(100);
+
+    /**
+     * JFR configuration used by recordings started through the admin endpoint
+     */
+    private String recordingSettings = "profile";
+
+    private Duration defaultDuration = Duration.ofSeconds(60);
+
+    private Duration maxDuration = Duration.ofMinutes(5);
+
+    /**
+     * Finished on-demand recordings kept for download; older ones are discarded
+     */
+    private int retainedRecordings = 3;
+}
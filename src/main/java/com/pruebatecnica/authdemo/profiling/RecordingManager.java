@@ -0,0 +1,196 @@
+package com.pruebatecnica.authdemo.profiling;
+
+import com.pruebatecnica.authdemo.dto.RecordingResponse;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Owns the JFR recordings of this process: the continuous ring buffer started once the
+ * application is ready, and time-boxed on-demand recordings (one running at a time)
+ * started from the admin endpoint. Downloads are dumped to a temporary file.
+ */
+@Component
+@Slf4j
+public class RecordingManager {
+
+    static final String CONTINUOUS_NAME = "authdemo-continuous";
+    static final String ON_DEMAND_NAME = "authdemo-on-demand";
+
+    private final ProfilingProperties properties;
+    private final ConcurrentSkipListMap<Long, Recording> recordings = new ConcurrentSkipListMap<>();
+    private volatile Recording continuous;
+
+    public RecordingManager(ProfilingProperties properties) {
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startContinuous() {
+        if (!properties.isContinuousEnabled() || continuous != null) {
+            return;
+        }
+        try {
+            Recording recording = newRecording(properties.getContinuousSettings(), CONTINUOUS_NAME);
+            recording.setToDisk(true);
+            recording.setMaxAge(properties.getContinuousMaxAge());
+            recording.setMaxSize(properties.getContinuousMaxSize().toBytes());
+            recording.start();
+            continuous = recording;
+            log.info("Continuous JFR recording started (settings: {}, max age: {})",
+                    properties.getContinuousSettings(), properties.getContinuousMaxAge());
+        } catch (Exception e) {
+            log.warn("Could not start continuous JFR recording: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Start a recording that stops by itself after the given duration (capped at max-duration)
+     *
+     * @throws IllegalStateException if another on-demand recording is still running
+     */
+    public synchronized RecordingResponse start(Duration duration) throws IOException, ParseException {
+        boolean running = recordings.values().stream()
+                .anyMatch(r -> r.getState() == RecordingState.RUNNING || r.getState() == RecordingState.DELAYED);
+        if (running) {
+            throw new IllegalStateException("An on-demand recording is already running");
+        }
+        Duration requested = duration == null ? properties.getDefaultDuration() : duration;
+        Duration effective = requested.compareTo(properties.getMaxDuration()) > 0
+                ? properties.getMaxDuration() : requested;
+
+        Recording recording = newRecording(properties.getRecordingSettings(), ON_DEMAND_NAME);
+        recording.setToDisk(true);
+        recording.setDuration(effective);
+        recording.start();
+        recordings.put(recording.getId(), recording);
+        discardOldRecordings();
+        log.info("On-demand JFR recording {} started for {}", recording.getId(), effective);
+        return toResponse(recording);
+    }
+
+    public List<RecordingResponse> list() {
+        List<RecordingResponse> result = new ArrayList<>();
+        Recording current = continuous;
+        if (current != null) {
+            result.add(toResponse(current));
+        }
+        recordings.descendingMap().values().forEach(r -> result.add(toResponse(r)));
+        return result;
+    }
+
+    public Optional<RecordingResponse> stop(long id) {
+        Recording recording = recordings.get(id);
+        if (recording == null) {
+            return Optional.empty();
+        }
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+            log.info("On-demand JFR recording {} stopped", id);
+        }
+        return Optional.of(toResponse(recording));
+    }
+
+    public boolean delete(long id) {
+        Recording recording = recordings.remove(id);
+        if (recording == null) {
+            return false;
+        }
+        recording.close();
+        return true;
+    }
+
+    /**
+     * Dump an on-demand recording (so far, if still running) to a temporary .jfr file
+     * the caller must delete
+     */
+    public Optional<Path> dump(long id) throws IOException {
+        Recording recording = recordings.get(id);
+        return recording == null ? Optional.empty() : Optional.of(dumpToTempFile(recording));
+    }
+
+    /**
+     * Dump the last continuous-max-age of the continuous recording to a temporary .jfr file
+     */
+    public Optional<Path> dumpContinuous() throws IOException {
+        Recording recording = continuous;
+        return recording == null ? Optional.empty() : Optional.of(dumpToTempFile(recording));
+    }
+
+    @PreDestroy
+    public void close() {
+        recordings.values().forEach(Recording::close);
+        recordings.clear();
+        if (continuous != null) {
+            continuous.close();
+            continuous = null;
+        }
+    }
+
+    private Path dumpToTempFile(Recording recording) throws IOException {
+        Path file = Files.createTempFile("authdemo-" + recording.getId() + "-", ".jfr");
+        try {
+            recording.dump(file);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return file;
+    }
+
+    private void discardOldRecordings() {
+        List<Long> finished = recordings.values().stream()
+                .filter(r -> r.getState() == RecordingState.STOPPED)
+                .sorted(Comparator.comparingLong(Recording::getId).reversed())
+                .skip(Math.max(0, properties.getRetainedRecordings() - 1))
+                .map(Recording::getId)
+                .toList();
+        finished.forEach(this::delete);
+    }
+
+    private static Recording newRecording(String settings, String name) throws IOException, ParseException {
+        Map<String, String> configuration = Configuration.getConfiguration(settings).getSettings();
+        Recording recording = new Recording(configuration);
+        recording.setName(name);
+        recording.enable(LoginEvent.class);
+        recording.enable(UpstreamCallEvent.class);
+        recording.enable(LoginLogPersistEvent.class);
+        return recording;
+    }
+
+    private static RecordingResponse toResponse(Recording recording) {
+        Duration duration = recording.getDuration();
+        return new RecordingResponse(
+                recording.getId(),
+                recording.getName(),
+                recording.getState().name(),
+                toLocal(recording.getStartTime()),
+                toLocal(recording.getStopTime()),
+                duration == null ? null : duration.toSeconds(),
+                recording.getSize());
+    }
+
+    private static LocalDateTime toLocal(Instant instant) {
+        return instant == null ? null : LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,17 @@
+package com.pruebatecnica.authdemo.profiling;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("authdemo.UpstreamCall")
+@Label("Upstream Call")
+@Description("DummyJsonClient call as seen by the caller, including hedging and concurrency limit waits")
+final class UpstreamCallEvent extends PipelineEvent {
+
+    @Label("Method")
+    String method;
+
+    @Label("Status")
+    int status;
+}
@@ -0,0 +1,16 @@
+package com.pruebatecnica.authdemo.querystats;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Registered through hibernate.session_factory.statement_inspector; Hibernate calls it
+ * once for every statement it prepares, including sequence fetches and flush writes
+ */
+public class CountingStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        SqlStatementCounter.record(sql);
+        return sql;
+    }
+}
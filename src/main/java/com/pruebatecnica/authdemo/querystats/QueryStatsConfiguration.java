@@ -0,0 +1,32 @@
+package com.pruebatecnica.authdemo.querystats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class QueryStatsConfiguration {
+
+    /**
+     * Hibernate statistics follow authdemo.query-stats instead of being on for every session
+     */
+    @Bean
+    public HibernatePropertiesCustomizer queryStatsHibernateProperties(QueryStatsProperties properties) {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.GENERATE_STATISTICS,
+                properties.isEnabled() && properties.isHibernateStatistics());
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryStatsFilter> queryStatsFilter(QueryStatsProperties properties,
+                                                                     MeterRegistry meterRegistry) {
+        FilterRegistrationBean<QueryStatsFilter> registration =
+                new FilterRegistrationBean<>(new QueryStatsFilter(properties, meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+}
@@ -0,0 +1,62 @@
+package com.pruebatecnica.authdemo.querystats;
+
+import com.pruebatecnica.authdemo.warmup.WarmupRequest;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Counts the SQL statements issued while serving each request and publishes them as
+ * authdemo.sql.statements per endpoint pattern. Startup warm-up requests are counted but
+ * not published.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class QueryStatsFilter extends OncePerRequestFilter {
+
+    private final QueryStatsProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!properties.isEnabled()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        SqlStatementCounter.Scope scope = SqlStatementCounter.open();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            scope.close();
+            if (!WarmupRequest.isWarmup(request)) {
+                record(request, scope);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatementCounter.Scope scope) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder("authdemo.sql.statements")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .description("SQL statements issued per request")
+                .register(meterRegistry)
+                .record(scope.total());
+        if (scope.total() > properties.getWarnStatements()) {
+            log.warn("{} {} issued {}", request.getMethod(), request.getRequestURI(), scope);
+        } else if (log.isDebugEnabled() && scope.total() > 0) {
+            log.debug("{} {} issued {}", request.getMethod(), request.getRequestURI(), scope);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.pruebatecnica.authdemo.querystats;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Per-request SQL statement counts and Hibernate statistics, bound from authdemo.query-stats.*
+ */
+@Data
+@ConfigurationProperties(prefix = "authdemo.query-stats")
+public class QueryStatsProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Turns on hibernate.generate_statistics, which adds bookkeeping to every session and
+     * query; without it the per-request statement counts still work
+     */
+    private boolean hibernateStatistics = false;
+
+    /**
+     * Requests issuing more statements than this are logged at WARN
+     */
+    private int warnStatements = 10;
+
+    /**
+     * Queries whose slowest execution reaches this are listed as slow
+     */
+    private Duration slowThreshold = Duration.ofMillis(100);
+
+    private int maxSlowQueries = 20;
+}
@@ -0,0 +1,86 @@
+package com.pruebatecnica.authdemo.querystats;
+
+import com.pruebatecnica.authdemo.dto.QueryStatsResponse;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aggregated view over Hibernate's SessionFactory statistics
+ * (hibernate.generate_statistics) since start or the last reset
+ */
+@Component
+@RequiredArgsConstructor
+public class QueryStatsService {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final QueryStatsProperties properties;
+
+    public QueryStatsResponse getStats() {
+        Statistics statistics = statistics();
+
+        Map<String, QueryStatsResponse.EntityStats> entities = new LinkedHashMap<>();
+        for (String entityName : statistics.getEntityNames()) {
+            EntityStatistics entity = statistics.getEntityStatistics(entityName);
+            entities.put(simpleName(entityName), new QueryStatsResponse.EntityStats(entity.getLoadCount(),
+                    entity.getFetchCount(), entity.getInsertCount(), entity.getUpdateCount(), entity.getDeleteCount()));
+        }
+
+        long thresholdMs = properties.getSlowThreshold().toMillis();
+        List<QueryStatsResponse.QueryStats> slowQueries = new ArrayList<>();
+        for (String query : statistics.getQueries()) {
+            QueryStatistics queryStatistics = statistics.getQueryStatistics(query);
+            if (queryStatistics.getExecutionMaxTime() >= thresholdMs) {
+                slowQueries.add(new QueryStatsResponse.QueryStats(query, queryStatistics.getExecutionCount(),
+                        queryStatistics.getExecutionAvgTime(), queryStatistics.getExecutionMaxTime(),
+                        queryStatistics.getExecutionRowCount()));
+            }
+        }
+        slowQueries.sort(Comparator.comparingLong(QueryStatsResponse.QueryStats::maxMs).reversed());
+        if (slowQueries.size() > properties.getMaxSlowQueries()) {
+            slowQueries = new ArrayList<>(slowQueries.subList(0, properties.getMaxSlowQueries()));
+        }
+
+        return new QueryStatsResponse(
+                statistics.isStatisticsEnabled(),
+                LocalDateTime.ofInstant(statistics.getStart(), ZoneId.systemDefault()),
+                statistics.getPrepareStatementCount(),
+                statistics.getQueryExecutionCount(),
+                statistics.getQueryExecutionMaxTime(),
+                statistics.getQueryExecutionMaxTimeQueryString(),
+                statistics.getEntityLoadCount(),
+                statistics.getEntityFetchCount(),
+                statistics.getEntityInsertCount(),
+                statistics.getEntityUpdateCount(),
+                statistics.getEntityDeleteCount(),
+                statistics.getFlushCount(),
+                statistics.getTransactionCount(),
+                statistics.getConnectCount(),
+                entities,
+                slowQueries);
+    }
+
+    public void reset() {
+        statistics().clear();
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private static String simpleName(String entityName) {
+        return entityName.substring(entityName.lastIndexOf('.') + 1);
+    }
+}
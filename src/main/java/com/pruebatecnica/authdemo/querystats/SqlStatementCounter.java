@@ -0,0 +1,120 @@
+package com.pruebatecnica.authdemo.querystats;
+
+import java.util.Locale;
+
+/**
+ * Thread-bound count of the SQL statements Hibernate prepares, fed by
+ * CountingStatementInspector. Scopes nest: closing an inner scope adds its counts to
+ * the enclosing one, so a test budget inside a request still shows up in the request.
+ */
+public final class SqlStatementCounter {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private SqlStatementCounter() {
+    }
+
+    /**
+     * Start counting on this thread until the returned scope is closed
+     */
+    public static Scope open() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    static void record(String sql) {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.add(sql);
+        }
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final Scope parent;
+        private int selects;
+        private int inserts;
+        private int updates;
+        private int deletes;
+        private int others;
+        private boolean closed;
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+
+        private void add(String sql) {
+            String verb = firstWord(sql);
+            switch (verb) {
+                case "select", "with" -> selects++;
+                case "insert" -> inserts++;
+                case "update" -> updates++;
+                case "delete" -> deletes++;
+                default -> others++;
+            }
+        }
+
+        public int total() {
+            return selects + inserts + updates + deletes + others;
+        }
+
+        public int selects() {
+            return selects;
+        }
+
+        public int inserts() {
+            return inserts;
+        }
+
+        public int updates() {
+            return updates;
+        }
+
+        public int deletes() {
+            return deletes;
+        }
+
+        public int others() {
+            return others;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (parent != null) {
+                parent.selects += selects;
+                parent.inserts += inserts;
+                parent.updates += updates;
+                parent.deletes += deletes;
+                parent.others += others;
+            }
+            if (parent == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(parent);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return total() + " statements (select=" + selects + ", insert=" + inserts + ", update=" + updates
+                    + ", delete=" + deletes + ", other=" + others + ")";
+        }
+
+        private static String firstWord(String sql) {
+            int start = 0;
+            while (start < sql.length() && (Character.isWhitespace(sql.charAt(start)) || sql.charAt(start) == '(')) {
+                start++;
+            }
+            int end = start;
+            while (end < sql.length() && Character.isLetter(sql.charAt(end))) {
+                end++;
+            }
+            return sql.substring(start, end).toLowerCase(Locale.ROOT);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.pruebatecnica.authdemo.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-process token bucket limiter for login attempts, keyed by username and by client IP.
+ * Checks are pure in-memory operations and never touch the network or the database.
+ */
+@Component
+@Slf4j
+public class LoginRateLimiter {
+
+    private final RateLimitProperties properties;
+    private final TokenBucketRegistry usernameBuckets;
+    private final TokenBucketRegistry ipBuckets;
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+
+    private final Counter ipAllowed;
+    private final Counter ipRejected;
+    private final Counter usernameAllowed;
+    private final Counter usernameRejected;
+
+    public LoginRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        long idleNanos = properties.getIdleEviction().toNanos();
+        this.usernameBuckets = new TokenBucketRegistry(properties.getUsername(), idleNanos, properties.getMaxKeys());
+        this.ipBuckets = new TokenBucketRegistry(properties.getIp(), idleNanos, properties.getMaxKeys());
+
+        this.ipAllowed = counter(meterRegistry, "ip", "allowed");
+        this.ipRejected = counter(meterRegistry, "ip", "rejected");
+        this.usernameAllowed = counter(meterRegistry, "username", "allowed");
+        this.usernameRejected = counter(meterRegistry, "username", "rejected");
+
+        registerGauges(meterRegistry, "username", usernameBuckets, properties.getUsername());
+        registerGauges(meterRegistry, "ip", ipBuckets, properties.getIp());
+    }
+
+    /**
+     * Consume one attempt for the given username and client IP. The username is checked
+     * first, and its token is refunded when the IP rejects, so a rejection in one
+     * dimension never spends the allowance of the other.
+     */
+    public RateLimitDecision tryAcquire(String username, String clientIp) {
+        if (!properties.isEnabled()) {
+            return RateLimitDecision.allow();
+        }
+        long now = System.nanoTime();
+
+        String usernameKey = username == null ? "" : username.trim().toLowerCase(Locale.ROOT);
+        long usernameWait = usernameBuckets.tryConsume(usernameKey, now);
+        if (usernameWait > 0) {
+            usernameRejected.increment();
+            return RateLimitDecision.reject(usernameWait);
+        }
+
+        long ipWait = ipBuckets.tryConsume(clientIp == null ? "" : clientIp, now);
+        if (ipWait > 0) {
+            usernameBuckets.refund(usernameKey);
+            ipRejected.increment();
+            return RateLimitDecision.reject(ipWait);
+        }
+        usernameAllowed.increment();
+        ipAllowed.increment();
+        return RateLimitDecision.allow();
+    }
+
+    /**
+     * Client IP used as rate limit key; X-Forwarded-For is only honoured when configured
+     */
+    public String resolveClientIp(HttpServletRequest request) {
+        if (properties.isTrustForwardedFor()) {
+            String forwardedFor = request.getHeader("X-Forwarded-For");
+            if (forwardedFor != null && !forwardedFor.isBlank()) {
+                int comma = forwardedFor.indexOf(',');
+                return (comma < 0 ? forwardedFor : forwardedFor.substring(0, comma)).trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    @Scheduled(fixedDelayString = "${authdemo.rate-limit.sweep-interval:PT1M}")
+    public void evictIdleBuckets() {
+        if (!sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long now = System.nanoTime();
+            int evicted = usernameBuckets.evictIdle(now) + ipBuckets.evictIdle(now);
+            if (evicted > 0) {
+                log.debug("Evicted {} idle rate limit buckets", evicted);
+            }
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    private static Counter counter(MeterRegistry registry, String dimension, String outcome) {
+        return Counter.builder("authdemo.ratelimit.requests")
+                .tag("dimension", dimension)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private static void registerGauges(MeterRegistry registry, String dimension,
+                                       TokenBucketRegistry buckets, RateLimitProperties.Bucket limits) {
+        Gauge.builder("authdemo.ratelimit.keys", buckets, TokenBucketRegistry::size)
+                .tag("dimension", dimension)
+                .register(registry);
+        FunctionCounter.builder("authdemo.ratelimit.overflow", buckets, TokenBucketRegistry::overflowed)
+                .tag("dimension", dimension)
+                .register(registry);
+        Gauge.builder("authdemo.ratelimit.capacity", limits, RateLimitProperties.Bucket::getCapacity)
+                .tag("dimension", dimension)
+                .register(registry);
+        Gauge.builder("authdemo.ratelimit.refill.per.second", limits,
+                        l -> l.getRefillTokens() * 1e9 / l.getRefillPeriod().toNanos())
+                .tag("dimension", dimension)
+                .register(registry);
+    }
+}
@@ -0,0 +1,18 @@
+package com.pruebatecnica.authdemo.ratelimit;
+
+/**
+ * Outcome of a rate limit check; retryAfterSeconds is only meaningful when rejected
+ */
+public record RateLimitDecision(boolean allowed, long retryAfterSeconds) {
+
+    private static final RateLimitDecision ALLOWED = new RateLimitDecision(true, 0);
+
+    public static RateLimitDecision allow() {
+        return ALLOWED;
+    }
+
+    public static RateLimitDecision reject(long retryAfterNanos) {
+        long seconds = Math.max(1, (retryAfterNanos + 999_999_999L) / 1_000_000_000L);
+        return new RateLimitDecision(false, seconds);
+    }
+}
@@ -0,0 +1,56 @@
+package com.pruebatecnica.authdemo.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Limits applied to POST /api/auth/login, bound from authdemo.rate-limit.*
+ */
+@Data
+@ConfigurationProperties(prefix = "authdemo.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Use the first X-Forwarded-For hop as client IP (only behind a trusted proxy)
+     */
+    private boolean trustForwardedFor = false;
+
+    private Bucket username = new Bucket(5, 5, Duration.ofMinutes(1));
+
+    private Bucket ip = new Bucket(20, 60, Duration.ofMinutes(1));
+
+    /**
+     * Buckets untouched for this long (and already refilled) are evicted
+     */
+    private Duration idleEviction = Duration.ofMinutes(10);
+
+    /**
+     * Hard cap on tracked keys per dimension; new keys beyond it are only limited by the other dimension
+     */
+    private int maxKeys = 1_000_000;
+
+    /**
+     * Period of the background idle-bucket sweep (read by the scheduler as ISO-8601)
+     */
+    private Duration sweepInterval = Duration.ofMinutes(1);
+
+    @Data
+    public static class Bucket {
+        private long capacity;
+        private long refillTokens;
+        private Duration refillPeriod;
+
+        public Bucket() {
+        }
+
+        public Bucket(long capacity, long refillTokens, Duration refillPeriod) {
+            this.capacity = capacity;
+            this.refillTokens = refillTokens;
+            this.refillPeriod = refillPeriod;
+        }
+    }
+}
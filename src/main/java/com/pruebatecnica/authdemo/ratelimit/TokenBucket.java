@@ -0,0 +1,58 @@
+package com.pruebatecnica.authdemo.ratelimit;
+
+/**
+ * Classic token bucket with lazy refill. One instance per key; calls are
+ * synchronized on the bucket, so contention is limited to a single key.
+ */
+class TokenBucket {
+
+    private final long capacity;
+    private final double tokensPerNano;
+
+    private double tokens;
+    private long lastRefillNanos;
+    private volatile long lastAccessNanos;
+
+    TokenBucket(long capacity, double tokensPerNano, long nowNanos) {
+        this.capacity = capacity;
+        this.tokensPerNano = tokensPerNano;
+        this.tokens = capacity;
+        this.lastRefillNanos = nowNanos;
+        this.lastAccessNanos = nowNanos;
+    }
+
+    /**
+     * Takes one token. Returns 0 when granted, otherwise the nanos until a token is available.
+     */
+    synchronized long tryConsume(long nowNanos) {
+        refill(nowNanos);
+        lastAccessNanos = nowNanos;
+        if (tokens >= 1.0) {
+            tokens -= 1.0;
+            return 0L;
+        }
+        return (long) Math.ceil((1.0 - tokens) / tokensPerNano);
+    }
+
+    synchronized void refund() {
+        tokens = Math.min(capacity, tokens + 1.0);
+    }
+
+    /**
+     * A bucket can be dropped once it has been idle long enough to be full again:
+     * recreating it later yields exactly the same state.
+     */
+    boolean isEvictable(long nowNanos, long idleNanos) {
+        long idle = nowNanos - lastAccessNanos;
+        long refillFullNanos = (long) (capacity / tokensPerNano);
+        return idle >= Math.max(idleNanos, refillFullNanos);
+    }
+
+    private void refill(long nowNanos) {
+        long elapsed = nowNanos - lastRefillNanos;
+        if (elapsed > 0) {
+            tokens = Math.min(capacity, tokens + elapsed * tokensPerNano);
+            lastRefillNanos = nowNanos;
+        }
+    }
+}
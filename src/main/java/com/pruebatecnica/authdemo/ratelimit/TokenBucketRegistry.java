@@ -0,0 +1,65 @@
+package com.pruebatecnica.authdemo.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Buckets for one dimension (username or IP). Backed by a ConcurrentHashMap,
+ * whose per-bin locking gives striped access without a global lock.
+ * Once maxKeys buckets are tracked, unknown keys are not limited by this dimension
+ * until the scheduled sweep frees room, so memory stays bounded and flooding the map
+ * with random keys cannot lock out new users; the other dimension still applies.
+ */
+class TokenBucketRegistry {
+
+    private final ConcurrentMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final long capacity;
+    private final double tokensPerNano;
+    private final long idleNanos;
+    private final int maxKeys;
+    private final LongAdder overflowed = new LongAdder();
+
+    TokenBucketRegistry(RateLimitProperties.Bucket limits, long idleNanos, int maxKeys) {
+        this.capacity = limits.getCapacity();
+        this.tokensPerNano = (double) limits.getRefillTokens() / limits.getRefillPeriod().toNanos();
+        this.idleNanos = idleNanos;
+        this.maxKeys = maxKeys;
+    }
+
+    long tryConsume(String key, long nowNanos) {
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxKeys) {
+                overflowed.increment();
+                return 0L;
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(capacity, tokensPerNano, nowNanos));
+        }
+        return bucket.tryConsume(nowNanos);
+    }
+
+    /**
+     * Gives back a token taken for an attempt the other dimension then rejected
+     */
+    void refund(String key) {
+        TokenBucket bucket = buckets.get(key);
+        if (bucket != null) {
+            bucket.refund();
+        }
+    }
+
+    int evictIdle(long nowNanos) {
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.isEvictable(nowNanos, idleNanos));
+        return before - buckets.size();
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    long overflowed() {
+        return overflowed.sum();
+    }
+}
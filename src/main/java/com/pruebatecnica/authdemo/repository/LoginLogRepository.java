@@ -1,16 +1,45 @@
 package com.pruebatecnica.authdemo.repository;
 
 import com.pruebatecnica.authdemo.entity.LoginLog;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface LoginLogRepository extends JpaRepository<LoginLog, UUID> {
+public interface LoginLogRepository extends JpaRepository<LoginLog, UUID>, LoginLogStore {
+
+    @Override
+    <S extends LoginLog> S save(S loginLog);
     
     List<LoginLog> findByUsernameOrderByLoginTimeDesc(String username);
     
     List<LoginLog> findAllByOrderByLoginTimeDesc();
+
+    @Query("select distinct l.username from LoginLog l")
+    List<String> findDistinctUsernames();
+
+    List<LoginLog> findByLoginTimeBeforeOrderByLoginTimeAscIdAsc(LocalDateTime before, Pageable pageable);
+
+    @Query("select l from LoginLog l where l.loginTime < :before and (l.loginTime > :loginTime"
+            + " or (l.loginTime = :loginTime and l.id > :id)) order by l.loginTime asc, l.id asc")
+    List<LoginLog> findBeforeAfterPosition(@Param("before") LocalDateTime before,
+                                           @Param("loginTime") LocalDateTime loginTime,
+                                           @Param("id") UUID id, Pageable pageable);
+
+    @Query("select l from LoginLog l where l.loginTime > :loginTime"
+            + " or (l.loginTime = :loginTime and l.id > :id) order by l.loginTime asc, l.id asc")
+    List<LoginLog> findAfterPosition(@Param("loginTime") LocalDateTime loginTime, @Param("id") UUID id,
+                                     Pageable pageable);
+
+    @Query("select l from LoginLog l where upper(l.username) = upper(:username) and (l.loginTime > :loginTime"
+            + " or (l.loginTime = :loginTime and l.id > :id)) order by l.loginTime asc, l.id asc")
+    List<LoginLog> findByUsernameIgnoreCaseAfterPosition(@Param("username") String username,
+                                                         @Param("loginTime") LocalDateTime loginTime,
+                                                         @Param("id") UUID id, Pageable pageable);
 } 
\ No newline at end of file
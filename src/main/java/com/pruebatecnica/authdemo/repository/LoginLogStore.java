@@ -0,0 +1,44 @@
+package com.pruebatecnica.authdemo.repository;
+
+import com.pruebatecnica.authdemo.entity.LoginLog;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The login_log operations the application uses. LoginLogRepository implements it
+ * through Spring Data and ShardedLoginLogRepository across shards, so services that
+ * depend on this interface work unchanged with either.
+ */
+public interface LoginLogStore {
+
+    <S extends LoginLog> S save(S loginLog);
+
+    List<LoginLog> findByUsernameOrderByLoginTimeDesc(String username);
+
+    List<LoginLog> findAllByOrderByLoginTimeDesc();
+
+    List<String> findDistinctUsernames();
+
+    List<LoginLog> findByLoginTimeBeforeOrderByLoginTimeAscIdAsc(LocalDateTime before, Pageable pageable);
+
+    /**
+     * Rows older than before and positioned after (loginTime, id), ordered by login_time
+     * then id. Lets a caller walk the rows before a cutoff by keyset instead of by offset.
+     */
+    List<LoginLog> findBeforeAfterPosition(LocalDateTime before, LocalDateTime loginTime, UUID id,
+                                           Pageable pageable);
+
+    /**
+     * Rows positioned after (loginTime, id), ordered by login_time then id. Rows sharing
+     * loginTime are kept when their id sorts after the given one.
+     */
+    List<LoginLog> findAfterPosition(LocalDateTime loginTime, UUID id, Pageable pageable);
+
+    List<LoginLog> findByUsernameIgnoreCaseAfterPosition(String username, LocalDateTime loginTime, UUID id,
+                                                         Pageable pageable);
+
+    void deleteAllByIdInBatch(Iterable<UUID> ids);
+}
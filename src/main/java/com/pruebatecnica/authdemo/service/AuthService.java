@@ -1,37 +1,72 @@
 package com.pruebatecnica.authdemo.service;
 
+import com.pruebatecnica.authdemo.archive.LoginLogArchive;
+import com.pruebatecnica.authdemo.cache.CachedUser;
+import com.pruebatecnica.authdemo.cache.UserCache;
 import com.pruebatecnica.authdemo.client.DummyJsonClient;
+import com.pruebatecnica.authdemo.concurrency.ConcurrencyLimitExceededException;
+import com.pruebatecnica.authdemo.directory.UserDirectory;
 import com.pruebatecnica.authdemo.dto.LoginRequest;
 import com.pruebatecnica.authdemo.dto.LoginResponse;
 import com.pruebatecnica.authdemo.dto.UserResponse;
+import com.pruebatecnica.authdemo.dto.UserSearchResponse;
 import com.pruebatecnica.authdemo.dto.UsersListResponse;
 import com.pruebatecnica.authdemo.entity.LoginLog;
-import com.pruebatecnica.authdemo.repository.LoginLogRepository;
+import com.pruebatecnica.authdemo.event.LoginSucceededEvent;
+import com.pruebatecnica.authdemo.prefilter.UsernamePrefilter;
+import com.pruebatecnica.authdemo.profiling.PipelineEvents;
+import com.pruebatecnica.authdemo.repository.LoginLogStore;
+import com.pruebatecnica.authdemo.timing.RequestTiming;
+import feign.FeignException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class AuthService {
     
+    static final int DEFAULT_SEARCH_LIMIT = 20;
+    static final int MAX_SEARCH_LIMIT = 100;
+    
     private final DummyJsonClient dummyJsonClient;
-    private final LoginLogRepository loginLogRepository;
+    private final LoginLogStore loginLogStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserDirectory userDirectory;
+    private final LoginLogArchive loginLogArchive;
+    private final UserCache userCache;
+    private final UsernamePrefilter usernamePrefilter;
     
     /**
      * Authenticate user against DummyJSON API and save login log
      */
     @Transactional
     public LoginResponse authenticateUser(LoginRequest loginRequest) {
-        try {
+        if (usernamePrefilter.isDefinitelyUnknown(loginRequest.getUsername())) {
+            log.warn("Rejecting login for unknown user without calling DummyJSON: {}", loginRequest.getUsername());
+            throw new InvalidCredentialsException(loginRequest.getUsername());
+        }
+        try (PipelineEvents.Span loginEvent = PipelineEvents.login(loginRequest.getUsername())) {
             log.info("Attempting to authenticate user: {}", loginRequest.getUsername());
             
             // Call DummyJSON login endpoint
-            LoginResponse loginResponse = dummyJsonClient.login(loginRequest);
+            LoginResponse loginResponse;
+            try (RequestTiming.Stage stage = RequestTiming.stage("upstream")) {
+                loginResponse = dummyJsonClient.login(loginRequest);
+            } catch (FeignException.BadRequest | FeignException.Unauthorized e) {
+                log.warn("DummyJSON rejected the credentials of user: {}", loginRequest.getUsername());
+                throw new InvalidCredentialsException(loginRequest.getUsername());
+            }
             
             log.info("Authentication successful for user: {}", loginRequest.getUsername());
             
@@ -43,11 +78,27 @@ public class AuthService {
             );
             
             log.info("Saving login log for user: {}", loginResponse.getUsername());
-            LoginLog savedLog = loginLogRepository.save(loginLog);
+            LoginLog savedLog;
+            try (RequestTiming.Stage stage = RequestTiming.stage("db");
+                 PipelineEvents.Span saveEvent = PipelineEvents.loginLogSave()) {
+                savedLog = loginLogStore.save(loginLog);
+                saveEvent.succeeded();
+            }
+            RequestTiming.timeCommit();
+            PipelineEvents.timeCommit();
             log.info("Login log saved successfully with ID: {}", savedLog.getId());
             
+            // Other pods drop their cached /me results for this user once we commit
+            userCache.invalidateUser(savedLog.getUsername());
+            
+            // Delivered to login stream subscribers once the transaction commits
+            eventPublisher.publishEvent(LoginSucceededEvent.from(savedLog));
+            
+            loginEvent.succeeded();
             return loginResponse;
             
+        } catch (InvalidCredentialsException | ConcurrencyLimitExceededException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Authentication failed for user: {}. Error: {}", 
                 loginRequest.getUsername(), e.getMessage(), e);
@@ -62,12 +113,30 @@ public class AuthService {
         try {
             log.info("Getting current user information");
             
+            Optional<CachedUser> cached = userCache.get(accessToken);
+            if (cached.isPresent()) {
+                if (!cached.get().valid()) {
+                    throw new IllegalStateException("token was rejected by DummyJSON");
+                }
+                log.info("Serving current user from cache: {}", cached.get().user().getUsername());
+                return cached.get().user();
+            }
+            
             String authHeader = "Bearer " + accessToken;
-            UserResponse userResponse = dummyJsonClient.getCurrentUser(authHeader);
+            UserResponse userResponse;
+            try (RequestTiming.Stage stage = RequestTiming.stage("upstream")) {
+                userResponse = dummyJsonClient.getCurrentUser(authHeader);
+            } catch (FeignException.Unauthorized e) {
+                userCache.putInvalid(accessToken);
+                throw e;
+            }
+            userCache.put(accessToken, userResponse);
             
             log.info("Successfully retrieved user information for: {}", userResponse.getUsername());
             return userResponse;
             
+        } catch (ConcurrencyLimitExceededException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to get current user. Error: {}", e.getMessage());
             throw new RuntimeException("Failed to get user information: " + e.getMessage());
@@ -75,29 +144,62 @@ public class AuthService {
     }
     
     /**
-     * Get all available users from DummyJSON for testing
+     * Get every available user: the whole in-memory directory once it has loaded, and
+     * every user from DummyJSON (limit=0) until then, so both answers have the same shape
      */
     public UsersListResponse getAllUsers() {
+        Optional<List<UserResponse>> directory = userDirectory.allUsers();
+        if (directory.isPresent()) {
+            List<UserResponse> users = directory.get();
+            log.info("Serving {} users from the user directory", users.size());
+            return new UsersListResponse(users, users.size(), 0, users.size());
+        }
         try {
             log.info("Getting all users from DummyJSON");
             
-            UsersListResponse usersResponse = dummyJsonClient.getAllUsers();
+            UsersListResponse usersResponse;
+            try (RequestTiming.Stage stage = RequestTiming.stage("upstream")) {
+                usersResponse = dummyJsonClient.getAllUsers(DummyJsonClient.ALL_USERS);
+            }
             
             log.info("Successfully retrieved {} users", usersResponse.getUsers().size());
             return usersResponse;
             
+        } catch (ConcurrencyLimitExceededException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to get users. Error: {}", e.getMessage());
             throw new RuntimeException("Failed to get users: " + e.getMessage());
         }
     }
     
+    public boolean isUserDirectoryLoaded() {
+        return userDirectory.isLoaded();
+    }
+
     /**
-     * Get login history for a specific user
+     * Search the local user directory by username or email prefix
+     */
+    public UserSearchResponse searchUsers(String query, Integer limit, String cursor) {
+        int pageSize = limit == null ? DEFAULT_SEARCH_LIMIT : Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT));
+        log.info("Searching user directory (q: {}, limit: {})", query, pageSize);
+        return userDirectory.search(query, cursor, pageSize);
+    }
+    
+    /**
+     * Get login history for a specific user, merging the hot table with archived segments
      */
     public List<LoginLog> getLoginHistory(String username) {
         log.info("Getting login history for user: {}", username);
-        return loginLogRepository.findByUsernameOrderByLoginTimeDesc(username);
+        List<LoginLog> hot;
+        try (RequestTiming.Stage stage = RequestTiming.stage("db")) {
+            hot = loginLogStore.findByUsernameOrderByLoginTimeDesc(username);
+        }
+        List<LoginLog> archived;
+        try (RequestTiming.Stage stage = RequestTiming.stage("archive")) {
+            archived = loginLogArchive.findByUsername(username);
+        }
+        return archived.isEmpty() ? hot : mergeByLoginTimeDesc(hot, archived);
     }
     
     /**
@@ -105,7 +207,32 @@ public class AuthService {
      */
     public List<LoginLog> getAllLoginLogs() {
         log.info("Getting all login logs");
-        return loginLogRepository.findAllByOrderByLoginTimeDesc();
+        try (RequestTiming.Stage stage = RequestTiming.stage("db")) {
+            return loginLogStore.findAllByOrderByLoginTimeDesc();
+        }
+    }
+    
+    /**
+     * Merge two newest-first lists; rows present in both tiers (interrupted archival) are kept once
+     */
+    private static List<LoginLog> mergeByLoginTimeDesc(List<LoginLog> hot, List<LoginLog> archived) {
+        List<LoginLog> merged = new ArrayList<>(hot.size() + archived.size());
+        Set<UUID> seen = new HashSet<>();
+        int h = 0;
+        int a = 0;
+        while (h < hot.size() || a < archived.size()) {
+            LoginLog next;
+            if (a >= archived.size() || (h < hot.size()
+                    && !hot.get(h).getLoginTime().isBefore(archived.get(a).getLoginTime()))) {
+                next = hot.get(h++);
+            } else {
+                next = archived.get(a++);
+            }
+            if (seen.add(next.getId())) {
+                merged.add(next);
+            }
+        }
+        return merged;
     }
     
     /**
@@ -114,6 +241,6 @@ public class AuthService {
     @Transactional
     public LoginLog saveTestLoginLog(LoginLog loginLog) {
         log.info("Saving test login log for user: {}", loginLog.getUsername());
-        return loginLogRepository.save(loginLog);
+        return loginLogStore.save(loginLog);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.pruebatecnica.authdemo.service;
+
+/**
+ * Login rejected because the username or password is wrong, whether DummyJSON said so or
+ * the username prefilter knew the user does not exist
+ */
+public class InvalidCredentialsException extends RuntimeException {
+
+    public InvalidCredentialsException(String username) {
+        super("Authentication failed: invalid credentials for " + username);
+    }
+}
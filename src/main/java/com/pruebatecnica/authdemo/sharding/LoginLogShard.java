@@ -0,0 +1,129 @@
+package com.pruebatecnica.authdemo.sharding;
+
+import com.pruebatecnica.authdemo.entity.LoginLog;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * One login_log shard: a table in some schema of some datasource, with the same
+ * columns and indexes as the unsharded table
+ */
+class LoginLogShard {
+
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+    private static final String COLUMNS = "id, username, login_time, access_token, refresh_token";
+    private static final RowMapper<LoginLog> ROW_MAPPER = (rs, rowNum) -> new LoginLog(
+            rs.getObject(1, UUID.class),
+            rs.getString(2),
+            rs.getTimestamp(3).toLocalDateTime(),
+            rs.getString(4),
+            rs.getString(5));
+
+    private final String schema;
+    private final String table;
+    private final JdbcTemplate jdbcTemplate;
+
+    LoginLogShard(String schema, String table, JdbcTemplate jdbcTemplate) {
+        this.schema = schema == null || schema.isBlank() ? null : identifier(schema);
+        this.table = schema == null || schema.isBlank() ? identifier(table) : this.schema + "." + identifier(table);
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    String table() {
+        return table;
+    }
+
+    void createTable() {
+        if (schema != null) {
+            jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS " + schema);
+        }
+        jdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS %s (
+                    id             UUID PRIMARY KEY,
+                    username       VARCHAR(255) NOT NULL,
+                    login_time     TIMESTAMP(6) NOT NULL,
+                    access_token   VARCHAR(1000) NOT NULL,
+                    refresh_token  VARCHAR(1000) NOT NULL
+                )""".formatted(table));
+        String prefix = "idx_" + table.replace('.', '_');
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS " + prefix + "_username_time ON " + table
+                + " (username, login_time)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS " + prefix + "_time ON " + table + " (login_time)");
+    }
+
+    void insert(LoginLog loginLog) {
+        jdbcTemplate.update("INSERT INTO " + table + " (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?)",
+                loginLog.getId(), loginLog.getUsername(), Timestamp.valueOf(loginLog.getLoginTime()),
+                loginLog.getAccessToken(), loginLog.getRefreshToken());
+    }
+
+    List<LoginLog> findByUsernameDesc(String username) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM " + table
+                + " WHERE username = ? ORDER BY login_time DESC", ROW_MAPPER, username);
+    }
+
+    List<LoginLog> findByUsernameIgnoreCaseAfterAsc(String username, LocalDateTime loginTime, UUID id, int limit) {
+        Timestamp time = Timestamp.valueOf(loginTime);
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM " + table
+                        + " WHERE upper(username) = upper(?) AND (login_time > ? OR (login_time = ? AND id > ?))"
+                        + " ORDER BY login_time ASC, id ASC LIMIT ?",
+                ROW_MAPPER, username, time, time, id, limit);
+    }
+
+    List<LoginLog> findAllDesc() {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM " + table + " ORDER BY login_time DESC", ROW_MAPPER);
+    }
+
+    List<LoginLog> findAfterAsc(LocalDateTime loginTime, UUID id, int limit) {
+        Timestamp time = Timestamp.valueOf(loginTime);
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM " + table
+                        + " WHERE login_time > ? OR (login_time = ? AND id > ?) ORDER BY login_time ASC, id ASC LIMIT ?",
+                ROW_MAPPER, time, time, id, limit);
+    }
+
+    List<LoginLog> findBeforeAsc(LocalDateTime before, int limit) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM " + table
+                        + " WHERE login_time < ? ORDER BY login_time ASC, id ASC LIMIT ?",
+                ROW_MAPPER, Timestamp.valueOf(before), limit);
+    }
+
+    List<LoginLog> findBeforeAfterAsc(LocalDateTime before, LocalDateTime loginTime, UUID id, int limit) {
+        Timestamp time = Timestamp.valueOf(loginTime);
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM " + table
+                        + " WHERE login_time < ? AND (login_time > ? OR (login_time = ? AND id > ?))"
+                        + " ORDER BY login_time ASC, id ASC LIMIT ?",
+                ROW_MAPPER, Timestamp.valueOf(before), time, time, id, limit);
+    }
+
+    List<String> findDistinctUsernames() {
+        return jdbcTemplate.queryForList("SELECT DISTINCT username FROM " + table, String.class);
+    }
+
+    long count() {
+        Long count = jdbcTemplate.queryForObject("SELECT count(*) FROM " + table, Long.class);
+        return count == null ? 0 : count;
+    }
+
+    int deleteByIds(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        return jdbcTemplate.update("DELETE FROM " + table + " WHERE id IN (" + placeholders + ")", ids.toArray());
+    }
+
+    private static String identifier(String name) {
+        if (!IDENTIFIER.matcher(name).matches()) {
+            throw new IllegalArgumentException("Invalid shard schema or table name: " + name);
+        }
+        return name;
+    }
+}
@@ -0,0 +1,37 @@
+package com.pruebatecnica.authdemo.sharding;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Maps a username to a shard index. The hash is computed on the lower-cased name so
+ * case-insensitive lookups stay on one shard, and it is spelled out here (FNV-1a with a
+ * murmur finalizer) rather than taken from String.hashCode so the placement of existing
+ * rows never depends on the JDK.
+ */
+final class ShardRouter {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private ShardRouter() {
+    }
+
+    static int shardFor(String username, int shardCount) {
+        return (int) Math.floorMod(hash(username), (long) shardCount);
+    }
+
+    static long hash(String username) {
+        long hash = FNV_OFFSET;
+        for (byte b : username.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= FNV_PRIME;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,230 @@
+package com.pruebatecnica.authdemo.sharding;
+
+import com.pruebatecnica.authdemo.entity.LoginLog;
+import com.pruebatecnica.authdemo.repository.LoginLogStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * LoginLogStore that routes login_log rows to shards by username hash. Per-user
+ * operations touch one shard; time-ordered reads across all users query every shard in
+ * parallel, each returning its rows already sorted by login_time, and merge the results.
+ */
+@Slf4j
+public class ShardedLoginLogRepository implements LoginLogStore, AutoCloseable {
+
+    private static final Comparator<LoginLog> OLDEST_FIRST = Comparator.comparing(LoginLog::getLoginTime);
+    private static final Comparator<LoginLog> NEWEST_FIRST = OLDEST_FIRST.reversed();
+    /**
+     * login_time then id, with ids compared as unsigned 128-bit values like the uuid type
+     * of H2 and PostgreSQL (UUID.compareTo is signed)
+     */
+    private static final Comparator<LoginLog> POSITION = OLDEST_FIRST
+            .thenComparing(LoginLog::getId, ShardedLoginLogRepository::compareUnsigned);
+
+    private final List<LoginLogShard> shards;
+    private final Duration queryTimeout;
+    private final ExecutorService executor;
+    private final List<AutoCloseable> ownedResources;
+
+    ShardedLoginLogRepository(List<LoginLogShard> shards, Duration queryTimeout) {
+        this(shards, queryTimeout, List.of());
+    }
+
+    /**
+     * Scatter queries run on virtual threads, one per shard and request, so concurrent
+     * requests never queue behind each other for a thread; the connection pools are what
+     * bounds the load on each database.
+     */
+    ShardedLoginLogRepository(List<LoginLogShard> shards, Duration queryTimeout, List<AutoCloseable> ownedResources) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("At least one login_log shard is required");
+        }
+        this.shards = List.copyOf(shards);
+        this.queryTimeout = queryTimeout;
+        this.ownedResources = List.copyOf(ownedResources);
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("login-log-shard-", 0).factory());
+    }
+
+    public int shardCount() {
+        return shards.size();
+    }
+
+    public int shardFor(String username) {
+        return ShardRouter.shardFor(username, shards.size());
+    }
+
+    /**
+     * Assigns the id and login time the JPA mapping would have generated, then inserts
+     * into the user's shard
+     */
+    @Override
+    public <S extends LoginLog> S save(S loginLog) {
+        if (loginLog.getId() == null) {
+            loginLog.setId(UUID.randomUUID());
+        }
+        if (loginLog.getLoginTime() == null) {
+            loginLog.setLoginTime(LocalDateTime.now());
+        }
+        shard(loginLog.getUsername()).insert(loginLog);
+        return loginLog;
+    }
+
+    @Override
+    public List<LoginLog> findByUsernameOrderByLoginTimeDesc(String username) {
+        return shard(username).findByUsernameDesc(username);
+    }
+
+    /**
+     * Routing hashes the lower-cased name, so every spelling of it lives on one shard
+     */
+    @Override
+    public List<LoginLog> findByUsernameIgnoreCaseAfterPosition(String username, LocalDateTime loginTime, UUID id,
+                                                                Pageable pageable) {
+        return page(pageable, limit -> shard(username).findByUsernameIgnoreCaseAfterAsc(username, loginTime, id, limit));
+    }
+
+    @Override
+    public List<LoginLog> findAllByOrderByLoginTimeDesc() {
+        return KWayMerge.merge(scatter(LoginLogShard::findAllDesc), NEWEST_FIRST, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Each shard returns at most offset + size rows, which is enough for the merged page
+     */
+    @Override
+    public List<LoginLog> findAfterPosition(LocalDateTime loginTime, UUID id, Pageable pageable) {
+        return page(pageable, limit -> KWayMerge.merge(
+                scatter(shard -> shard.findAfterAsc(loginTime, id, limit)), POSITION, limit));
+    }
+
+    @Override
+    public List<LoginLog> findByLoginTimeBeforeOrderByLoginTimeAscIdAsc(LocalDateTime before, Pageable pageable) {
+        return page(pageable, limit -> KWayMerge.merge(
+                scatter(shard -> shard.findBeforeAsc(before, limit)), POSITION, limit));
+    }
+
+    @Override
+    public List<LoginLog> findBeforeAfterPosition(LocalDateTime before, LocalDateTime loginTime, UUID id,
+                                                  Pageable pageable) {
+        return page(pageable, limit -> KWayMerge.merge(
+                scatter(shard -> shard.findBeforeAfterAsc(before, loginTime, id, limit)), POSITION, limit));
+    }
+
+    @Override
+    public List<String> findDistinctUsernames() {
+        Set<String> usernames = new LinkedHashSet<>();
+        scatter(LoginLogShard::findDistinctUsernames).forEach(usernames::addAll);
+        return new ArrayList<>(usernames);
+    }
+
+    /**
+     * Ids carry no username, so the delete goes to every shard
+     */
+    @Override
+    public void deleteAllByIdInBatch(Iterable<UUID> ids) {
+        List<UUID> list = new ArrayList<>();
+        ids.forEach(list::add);
+        if (!list.isEmpty()) {
+            scatter(shard -> List.of(shard.deleteByIds(list)));
+        }
+    }
+
+    public long count() {
+        return scatter(shard -> List.of(shard.count())).stream()
+                .mapToLong(counts -> counts.get(0))
+                .sum();
+    }
+
+    /**
+     * Stops the scatter threads and closes the connection pools of separate shard databases
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        for (AutoCloseable resource : ownedResources) {
+            try {
+                resource.close();
+            } catch (Exception e) {
+                log.warn("Failed to close login_log shard resource: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static int compareUnsigned(UUID a, UUID b) {
+        int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+
+    private LoginLogShard shard(String username) {
+        return shards.get(shardFor(username));
+    }
+
+    /**
+     * Fetches offset + size rows in merged order and drops the first offset of them
+     */
+    private static List<LoginLog> page(Pageable pageable, Function<Integer, List<LoginLog>> query) {
+        if (pageable.isUnpaged()) {
+            return query.apply(Integer.MAX_VALUE);
+        }
+        int offset = Math.toIntExact(pageable.getOffset());
+        List<LoginLog> rows = query.apply(offset + pageable.getPageSize());
+        return offset >= rows.size() ? List.of() : rows.subList(offset, rows.size());
+    }
+
+    /**
+     * Runs the query on every shard at once, the first one on the calling thread. A partial
+     * answer would silently drop users, so one failed or slow shard fails the whole query.
+     */
+    private <T> List<List<T>> scatter(Function<LoginLogShard, List<T>> query) {
+        List<Future<List<T>>> futures = new ArrayList<>(shards.size() - 1);
+        for (LoginLogShard shard : shards.subList(1, shards.size())) {
+            futures.add(executor.submit(() -> query.apply(shard)));
+        }
+        long deadline = System.nanoTime() + queryTimeout.toNanos();
+        List<List<T>> results = new ArrayList<>(shards.size());
+        try {
+            results.add(query.apply(shards.get(0)));
+            for (int i = 0; i < futures.size(); i++) {
+                results.add(await(futures.get(i), shards.get(i + 1), deadline));
+            }
+            return results;
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private <T> List<T> await(Future<List<T>> future, LoginLogShard shard, long deadline) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new QueryTimeoutException("Shard " + shard.table() + " did not answer within " + queryTimeout, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataAccessResourceFailureException("Interrupted while querying shard " + shard.table(), e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new DataAccessResourceFailureException("Shard " + shard.table() + " query failed", e.getCause());
+        }
+    }
+}
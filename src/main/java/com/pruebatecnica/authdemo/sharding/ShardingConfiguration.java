@@ -0,0 +1,67 @@
+package com.pruebatecnica.authdemo.sharding;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Makes the sharded repository the primary LoginLogStore, in place of the JPA
+ * LoginLogRepository, when authdemo.sharding.enabled is set. Shards on the primary
+ * datasource share its connections and therefore the surrounding JPA transaction;
+ * shards with their own URL commit each statement on its own.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "authdemo.sharding", name = "enabled", havingValue = "true")
+public class ShardingConfiguration {
+
+    @Bean(destroyMethod = "close")
+    @Primary
+    public ShardedLoginLogRepository shardedLoginLogRepository(ShardingProperties properties, DataSource dataSource) {
+        if (properties.getShards().isEmpty()) {
+            throw new IllegalStateException("authdemo.sharding.enabled is set but no authdemo.sharding.shards are configured");
+        }
+        int timeoutSeconds = (int) Math.max(1, properties.getQueryTimeout().toSeconds());
+        List<LoginLogShard> shards = new ArrayList<>();
+        List<AutoCloseable> owned = new ArrayList<>();
+        for (ShardingProperties.Shard config : properties.getShards()) {
+            DataSource shardDataSource = dataSource;
+            if (config.getUrl() != null && !config.getUrl().isBlank()) {
+                HikariDataSource pool = new HikariDataSource();
+                pool.setPoolName("login-log-shard-" + shards.size());
+                pool.setJdbcUrl(config.getUrl());
+                pool.setUsername(config.getUsername());
+                pool.setPassword(config.getPassword());
+                pool.setMaximumPoolSize(config.getMaxPoolSize());
+                owned.add(pool);
+                shardDataSource = pool;
+            }
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(shardDataSource);
+            jdbcTemplate.setQueryTimeout(timeoutSeconds);
+            LoginLogShard shard = new LoginLogShard(config.getSchema(), config.getTable(), jdbcTemplate);
+            if (properties.isCreateTables()) {
+                createTable(shard);
+            }
+            shards.add(shard);
+        }
+        log.info("login_log sharded by username across {} shards", shards.size());
+        return new ShardedLoginLogRepository(shards, properties.getQueryTimeout(), owned);
+    }
+
+    private static void createTable(LoginLogShard shard) {
+        try {
+            shard.createTable();
+        } catch (DataAccessException e) {
+            log.warn("Could not create login_log shard table {}: {}", shard.table(), e.getMessage());
+        }
+    }
+}
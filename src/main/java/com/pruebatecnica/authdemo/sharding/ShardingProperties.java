@@ -0,0 +1,55 @@
+package com.pruebatecnica.authdemo.sharding;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hash sharding of login_log by username, bound from authdemo.sharding.*
+ */
+@Data
+@ConfigurationProperties(prefix = "authdemo.sharding")
+public class ShardingProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Shards in routing order; adding or reordering shards moves users between them
+     */
+    private List<Shard> shards = new ArrayList<>();
+
+    /**
+     * Per-statement timeout, also the bound on waiting for a scatter-gather query
+     */
+    private Duration queryTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Create missing shard schemas, tables and indexes at startup
+     */
+    private boolean createTables = true;
+
+    @Data
+    public static class Shard {
+
+        /**
+         * Schema holding the shard table; blank for the connection's default schema
+         */
+        private String schema;
+
+        private String table = "login_log";
+
+        /**
+         * JDBC URL of a separate database; blank to use the primary datasource
+         */
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        private int maxPoolSize = 5;
+    }
+}
@@ -0,0 +1,25 @@
+package com.pruebatecnica.authdemo.shedding;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class LoadSheddingConfiguration {
+
+    @Bean
+    public FilterRegistrationBean<LoadSheddingFilter> loadSheddingFilter(LoadSheddingProperties properties,
+                                                                         OverloadDetector overloadDetector,
+                                                                         ObjectMapper objectMapper,
+                                                                         MeterRegistry meterRegistry) {
+        FilterRegistrationBean<LoadSheddingFilter> registration = new FilterRegistrationBean<>(
+                new LoadSheddingFilter(properties, overloadDetector, objectMapper, meterRegistry));
+        registration.addUrlPatterns("/api/auth/*");
+        // Ahead of Server-Timing and everything else so a shed request costs next to nothing
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+        return registration;
+    }
+}
@@ -0,0 +1,126 @@
+package com.pruebatecnica.authdemo.shedding;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pruebatecnica.authdemo.dto.ErrorResponse;
+import com.pruebatecnica.authdemo.warmup.WarmupRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Admission control in front of AuthController. Each request is classified by path,
+ * shed with a fast 503 when the overload level covers its class, and otherwise
+ * admitted only while in-flight requests leave the CRITICAL reservation untouched.
+ * Startup warm-up requests go through admission but are left out of the counters.
+ */
+public class LoadSheddingFilter extends OncePerRequestFilter {
+
+    private final LoadSheddingProperties properties;
+    private final OverloadDetector overloadDetector;
+    private final ObjectMapper objectMapper;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<LoadSheddingProperties.Priority, Counter> admitted =
+            new EnumMap<>(LoadSheddingProperties.Priority.class);
+    private final Map<LoadSheddingProperties.Priority, Counter> shed =
+            new EnumMap<>(LoadSheddingProperties.Priority.class);
+
+    public LoadSheddingFilter(LoadSheddingProperties properties, OverloadDetector overloadDetector,
+                              ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.overloadDetector = overloadDetector;
+        this.objectMapper = objectMapper;
+        for (LoadSheddingProperties.Priority priority : LoadSheddingProperties.Priority.values()) {
+            admitted.put(priority, counter(meterRegistry, priority, "admitted"));
+            shed.put(priority, counter(meterRegistry, priority, "shed"));
+        }
+        Gauge.builder("authdemo.shedding.inflight", inFlight, AtomicInteger::get)
+                .description("Requests in flight behind the load shedding filter")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!properties.isEnabled()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        LoadSheddingProperties.Priority priority = classify(request);
+        boolean counted = !WarmupRequest.isWarmup(request);
+        if (priority.shedAt(overloadDetector.level()) || !tryAdmit(priority)) {
+            if (counted) {
+                shed.get(priority).increment();
+            }
+            reject(response);
+            return;
+        }
+        if (counted) {
+            admitted.get(priority).increment();
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    LoadSheddingProperties.Priority classify(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (Map.Entry<String, LoadSheddingProperties.Priority> route : properties.getRoutes().entrySet()) {
+            if (pathMatcher.match(route.getKey(), path)) {
+                return route.getValue();
+            }
+        }
+        return properties.getDefaultPriority();
+    }
+
+    private boolean tryAdmit(LoadSheddingProperties.Priority priority) {
+        int limit = priority == LoadSheddingProperties.Priority.CRITICAL
+                ? properties.getMaxConcurrent()
+                : properties.getMaxConcurrent() - properties.getCriticalReserved();
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        ErrorResponse errorResponse = new ErrorResponse(
+                "SERVICE_UNAVAILABLE",
+                "El servicio está sobrecargado. Intenta de nuevo en unos segundos.",
+                "AUTH_005");
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, LoadSheddingProperties.Priority priority,
+                                   String outcome) {
+        return Counter.builder("authdemo.shedding.requests")
+                .tag("class", priority.name().toLowerCase(Locale.ROOT))
+                .tag("outcome", outcome)
+                .description("Requests admitted or shed per priority class")
+                .register(meterRegistry);
+    }
+}
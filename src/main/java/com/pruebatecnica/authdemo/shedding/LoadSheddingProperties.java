@@ -0,0 +1,77 @@
+package com.pruebatecnica.authdemo.shedding;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Priority-aware admission control for /api/auth/*, bound from authdemo.load-shedding.*
+ */
+@Data
+@ConfigurationProperties(prefix = "authdemo.load-shedding")
+public class LoadSheddingProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Ant-style path patterns mapped to a priority class; first match wins
+     */
+    private Map<String, Priority> routes = defaultRoutes();
+
+    private Priority defaultPriority = Priority.NORMAL;
+
+    /**
+     * Requests in flight across all classes
+     */
+    private int maxConcurrent = 200;
+
+    /**
+     * Part of maxConcurrent only CRITICAL requests may use
+     */
+    private int criticalReserved = 50;
+
+    /**
+     * System CPU load (0..1) above which the service counts as overloaded
+     */
+    private double cpuThreshold = 0.9;
+
+    /**
+     * Smoothed scheduling lag of a timer thread above which the service counts as
+     * overloaded; it grows when runnable threads queue for CPU or GC pauses the JVM
+     */
+    private Duration lagThreshold = Duration.ofMillis(50);
+
+    private Duration sampleInterval = Duration.ofMillis(100);
+
+    /**
+     * Time without overload before the shedding level steps down by one
+     */
+    private Duration cooldown = Duration.ofSeconds(2);
+
+    private static Map<String, Priority> defaultRoutes() {
+        Map<String, Priority> routes = new LinkedHashMap<>();
+        routes.put("/api/auth/login", Priority.CRITICAL);
+        routes.put("/api/auth/me", Priority.CRITICAL);
+        return routes;
+    }
+
+    public enum Priority {
+        /** Never shed by the overload signal, only bounded by maxConcurrent */
+        CRITICAL,
+        /** Shed at level 2 */
+        NORMAL,
+        /** Shed first, at level 1 */
+        SHEDDABLE;
+
+        boolean shedAt(int level) {
+            return switch (this) {
+                case CRITICAL -> false;
+                case NORMAL -> level >= 2;
+                case SHEDDABLE -> level >= 1;
+            };
+        }
+    }
+}
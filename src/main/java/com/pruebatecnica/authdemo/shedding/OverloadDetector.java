@@ -0,0 +1,112 @@
+package com.pruebatecnica.authdemo.shedding;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples system CPU load and the scheduling lag of its own timer thread (both
+ * smoothed, and only once the application is ready so startup JIT work is not
+ * mistaken for overload) and turns them into a shedding level: 0 admits everything, 1 sheds SHEDDABLE, 2 sheds NORMAL
+ * too. Overload raises the level one step per sample; it steps down again after a
+ * cooldown without overload so classes are not flapped in and out.
+ */
+@Component
+@Slf4j
+public class OverloadDetector {
+
+    static final int MAX_LEVEL = 2;
+    private static final double ALPHA = 0.2;
+
+    private final LoadSheddingProperties properties;
+    private final OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+    private ScheduledExecutorService sampler;
+
+    private volatile int level;
+    private volatile double cpuLoad = -1;
+    private volatile double lagNanos;
+    private long lastSampleNanos;
+    private long calmSinceNanos;
+
+    public OverloadDetector(LoadSheddingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        Gauge.builder("authdemo.shedding.level", this, OverloadDetector::level)
+                .description("0 = admit all, 1 = shed SHEDDABLE, 2 = shed NORMAL and SHEDDABLE")
+                .register(meterRegistry);
+        Gauge.builder("authdemo.shedding.cpu", this, detector -> detector.cpuLoad)
+                .description("System CPU load seen by the overload detector")
+                .register(meterRegistry);
+        Gauge.builder("authdemo.shedding.lag", this, detector -> detector.lagNanos / 1_000_000.0)
+                .baseUnit("milliseconds")
+                .description("Smoothed scheduling lag seen by the overload detector")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "overload-detector");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getSampleInterval().toNanos();
+        lastSampleNanos = System.nanoTime();
+        sampler.scheduleAtFixedRate(this::sample, interval, interval, TimeUnit.NANOSECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (sampler != null) {
+            sampler.shutdownNow();
+        }
+    }
+
+    public int level() {
+        return level;
+    }
+
+    private void sample() {
+        long now = System.nanoTime();
+        long lag = Math.max(0, now - lastSampleNanos - properties.getSampleInterval().toNanos());
+        lastSampleNanos = now;
+        double cpu = os instanceof com.sun.management.OperatingSystemMXBean sunOs ? sunOs.getCpuLoad() : -1;
+        update(cpu, lag, now);
+    }
+
+    /**
+     * Feed one sample; cpu is negative when the platform does not report it
+     */
+    synchronized void update(double cpu, long lag, long now) {
+        if (cpu >= 0) {
+            cpuLoad = cpuLoad < 0 ? cpu : cpuLoad + ALPHA * (cpu - cpuLoad);
+        }
+        lagNanos += ALPHA * (lag - lagNanos);
+        boolean overloaded = cpuLoad >= properties.getCpuThreshold()
+                || lagNanos >= properties.getLagThreshold().toNanos();
+        if (overloaded) {
+            calmSinceNanos = now;
+            if (level < MAX_LEVEL) {
+                level++;
+                log.warn("Overload detected (cpu {}, lag {} ms), shedding level {}",
+                        String.format("%.2f", cpuLoad), String.format("%.1f", lagNanos / 1_000_000.0), level);
+            }
+        } else if (level > 0 && now - calmSinceNanos >= properties.getCooldown().toNanos()) {
+            level--;
+            calmSinceNanos = now;
+            log.info("Load recovered, shedding level {}", level);
+        }
+    }
+}
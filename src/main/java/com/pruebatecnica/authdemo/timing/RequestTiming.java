@@ -0,0 +1,137 @@
+package com.pruebatecnica.authdemo.timing;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Per-request stage timings, bound to the request thread by ServerTimingFilter.
+ * When no request is being timed every call is a ThreadLocal read returning a
+ * shared no-op, so instrumented code costs next to nothing with the feature off.
+ */
+public final class RequestTiming {
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+    private static final Stage NOOP = () -> { };
+
+    private final long startNanos;
+    private final Map<String, Long> stageNanos = new LinkedHashMap<>();
+    private long bodyWriteStartNanos;
+
+    private RequestTiming(long startNanos) {
+        this.startNanos = startNanos;
+    }
+
+    static RequestTiming begin() {
+        RequestTiming timing = new RequestTiming(System.nanoTime());
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Start timing a named stage; close the returned handle when the stage ends.
+     * Repeated stages with the same name are summed.
+     */
+    public static Stage stage(String name) {
+        RequestTiming timing = CURRENT.get();
+        if (timing == null) {
+            return NOOP;
+        }
+        long start = System.nanoTime();
+        return () -> timing.add(name, System.nanoTime() - start);
+    }
+
+    /**
+     * Record the flush + commit of the surrounding transaction as the "commit" stage
+     */
+    public static void timeCommit() {
+        RequestTiming timing = CURRENT.get();
+        if (timing == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private long start;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                start = System.nanoTime();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (start > 0) {
+                    timing.add("commit", System.nanoTime() - start);
+                }
+            }
+        });
+    }
+
+    /**
+     * Set Server-Timing on a response whose body is written directly, bypassing the
+     * message converters and therefore ServerTimingResponseAdvice
+     */
+    public static void applyHeader(HttpServletResponse response) {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            response.setHeader(ServerTimingFilter.HEADER, timing.toServerTimingHeader(System.nanoTime()));
+            timing.markBodyWriteStart();
+        }
+    }
+
+    void markBodyWriteStart() {
+        if (bodyWriteStartNanos == 0) {
+            bodyWriteStartNanos = System.nanoTime();
+        }
+    }
+
+    long startNanos() {
+        return startNanos;
+    }
+
+    long bodyWriteStartNanos() {
+        return bodyWriteStartNanos;
+    }
+
+    synchronized Map<String, Long> stages() {
+        return new LinkedHashMap<>(stageNanos);
+    }
+
+    /**
+     * Server-Timing value for the stages seen so far plus the elapsed "app" time
+     */
+    synchronized String toServerTimingHeader(long nowNanos) {
+        StringBuilder header = new StringBuilder();
+        stageNanos.forEach((name, nanos) -> append(header, name, nanos));
+        append(header, "app", nowNanos - startNanos);
+        return header.toString();
+    }
+
+    private synchronized void add(String name, long nanos) {
+        stageNanos.merge(name, nanos, Long::sum);
+    }
+
+    private static void append(StringBuilder header, String name, long nanos) {
+        if (!header.isEmpty()) {
+            header.append(", ");
+        }
+        header.append(name).append(";dur=").append(String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0));
+    }
+
+    @FunctionalInterface
+    public interface Stage extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,68 @@
+package com.pruebatecnica.authdemo.timing;
+
+import com.pruebatecnica.authdemo.dto.SlowRequestResponse;
+import com.pruebatecnica.authdemo.warmup.WarmupRequest;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Binds a RequestTiming to the request thread, emits Server-Timing for responses
+ * without a body (bodies get it from ServerTimingResponseAdvice before the first
+ * byte is written) and captures requests over the slow threshold. Startup warm-up
+ * requests are timed but never captured.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    static final String HEADER = "Server-Timing";
+
+    private final ServerTimingProperties properties;
+    private final SlowRequestLog slowRequestLog;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!properties.isEnabled()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        RequestTiming timing = RequestTiming.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestTiming.end();
+            long end = System.nanoTime();
+            if (!response.isCommitted() && !response.containsHeader(HEADER)) {
+                response.setHeader(HEADER, timing.toServerTimingHeader(end));
+            }
+            long total = end - timing.startNanos();
+            if (total >= properties.getSlowThreshold().toNanos() && !WarmupRequest.isWarmup(request)) {
+                slowRequestLog.record(toSlowRequest(request, response, timing, end, total));
+                log.warn("Slow request {} {} took {} ms", request.getMethod(), request.getRequestURI(),
+                        total / 1_000_000);
+            }
+        }
+    }
+
+    private static SlowRequestResponse toSlowRequest(HttpServletRequest request, HttpServletResponse response,
+                                                     RequestTiming timing, long end, long total) {
+        Map<String, Double> stages = new LinkedHashMap<>();
+        timing.stages().forEach((name, nanos) -> stages.put(name, nanos / 1_000_000.0));
+        if (timing.bodyWriteStartNanos() > 0) {
+            stages.put("serialize", (end - timing.bodyWriteStartNanos()) / 1_000_000.0);
+        }
+        return new SlowRequestResponse(LocalDateTime.now(), request.getMethod(), request.getRequestURI(),
+                response.getStatus(), total / 1_000_000.0, stages);
+    }
+}
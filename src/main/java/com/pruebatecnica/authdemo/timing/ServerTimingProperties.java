@@ -0,0 +1,23 @@
+package com.pruebatecnica.authdemo.timing;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Server-Timing header and slow request capture, bound from authdemo.server-timing.*
+ */
+@Data
+@ConfigurationProperties(prefix = "authdemo.server-timing")
+public class ServerTimingProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Requests at or above this duration are kept in the slow request buffer
+     */
+    private Duration slowThreshold = Duration.ofMillis(500);
+
+    private int slowBufferSize = 100;
+}
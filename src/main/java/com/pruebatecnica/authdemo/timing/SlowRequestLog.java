@@ -0,0 +1,45 @@
+package com.pruebatecnica.authdemo.timing;
+
+import com.pruebatecnica.authdemo.dto.SlowRequestResponse;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Bounded buffer of the most recent slow requests; the oldest entry is dropped when full
+ */
+@Component
+public class SlowRequestLog {
+
+    private final int capacity;
+    private final ArrayDeque<SlowRequestResponse> entries;
+
+    public SlowRequestLog(ServerTimingProperties properties) {
+        this.capacity = Math.max(1, properties.getSlowBufferSize());
+        this.entries = new ArrayDeque<>(capacity);
+    }
+
+    public synchronized void record(SlowRequestResponse entry) {
+        if (entries.size() >= capacity) {
+            entries.pollFirst();
+        }
+        entries.addLast(entry);
+    }
+
+    /**
+     * Captured requests, newest first
+     */
+    public synchronized List<SlowRequestResponse> getEntries() {
+        List<SlowRequestResponse> result = new ArrayList<>(entries.size());
+        Iterator<SlowRequestResponse> newestFirst = entries.descendingIterator();
+        newestFirst.forEachRemaining(result::add);
+        return result;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+}
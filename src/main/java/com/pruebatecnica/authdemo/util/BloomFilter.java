@@ -0,0 +1,112 @@
+package com.pruebatecnica.authdemo.util;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Minimal string Bloom filter (double hashing over a 64-bit FNV-1a/fmix hash).
+ * Not thread-safe while being populated; safe to share for reads once built.
+ */
+public final class BloomFilter {
+
+    private final long[] bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    private BloomFilter(long[] bits, int hashCount) {
+        this.bits = bits;
+        this.bitCount = (long) bits.length * Long.SIZE;
+        this.hashCount = hashCount;
+    }
+
+    /**
+     * Filter sized for the expected insertions and false positive probability
+     */
+    public static BloomFilter create(long expectedInsertions, double fpp) {
+        return create(expectedInsertions, fpp, Long.MAX_VALUE);
+    }
+
+    /**
+     * Same as {@link #create(long, double)} but never larger than maxBits
+     */
+    public static BloomFilter create(long expectedInsertions, double fpp, long maxBits) {
+        long n = Math.max(1, expectedInsertions);
+        long optimalBits = (long) Math.ceil(-n * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        long bitCount = Math.max(Long.SIZE, Math.min(optimalBits, maxBits));
+        int hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+        return new BloomFilter(new long[(int) ((bitCount + Long.SIZE - 1) / Long.SIZE)], hashCount);
+    }
+
+    public void put(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long index = Math.floorMod(h1 + (long) i * h2, bitCount);
+            bits[(int) (index >>> 6)] |= 1L << index;
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long index = Math.floorMod(h1 + (long) i * h2, bitCount);
+            if ((bits[(int) (index >>> 6)] & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long bitSize() {
+        return bitCount;
+    }
+
+    public int hashCount() {
+        return hashCount;
+    }
+
+    /**
+     * False positive probability once the given number of distinct values has been added
+     */
+    public double expectedFpp(long insertions) {
+        return Math.pow(1 - Math.exp(-(double) hashCount * insertions / bitCount), hashCount);
+    }
+
+    public int serializedSize() {
+        return Integer.BYTES * 2 + bits.length * Long.BYTES;
+    }
+
+    public void writeTo(ByteBuffer buffer) {
+        buffer.putInt(hashCount);
+        buffer.putInt(bits.length);
+        for (long word : bits) {
+            buffer.putLong(word);
+        }
+    }
+
+    public static BloomFilter readFrom(ByteBuffer buffer) {
+        int hashCount = buffer.getInt();
+        long[] bits = new long[buffer.getInt()];
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] = buffer.getLong();
+        }
+        return new BloomFilter(bits, hashCount);
+    }
+
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        // fmix64 from MurmurHash3 spreads FNV's weak low bits
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
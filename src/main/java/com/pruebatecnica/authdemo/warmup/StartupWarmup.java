@@ -0,0 +1,220 @@
+package com.pruebatecnica.authdemo.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pruebatecnica.authdemo.client.DummyJsonClient;
+import com.pruebatecnica.authdemo.dto.ErrorResponse;
+import com.pruebatecnica.authdemo.dto.LoginResponse;
+import com.pruebatecnica.authdemo.dto.UserResponse;
+import com.pruebatecnica.authdemo.dto.UsersListResponse;
+import com.pruebatecnica.authdemo.entity.LoginLog;
+import com.pruebatecnica.authdemo.repository.LoginLogStore;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Warms the JIT, the Hikari pool, Hibernate's query plans, the Feign proxy and the
+ * TLS connection to DummyJSON before the first real request. Spring Boot only
+ * publishes ReadinessState.ACCEPTING_TRAFFIC once every ApplicationRunner has
+ * returned, so /actuator/health/readiness stays OUT_OF_SERVICE while this runs.
+ * Steps that fail are logged and skipped; a cold instance is better than none.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StartupWarmup implements ApplicationRunner {
+
+    private static final String PROBE_USERNAME = "__warmup__";
+    private static final UUID NIL_ID = new UUID(0, 0);
+
+    private final WarmupProperties properties;
+    private final ApplicationContext applicationContext;
+    private final DataSource dataSource;
+    private final LoginLogStore loginLogStore;
+    private final DummyJsonClient dummyJsonClient;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Long> stepMillis = new LinkedHashMap<>();
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (!(applicationContext instanceof WebServerApplicationContext webContext)
+                || webContext.getWebServer() == null) {
+            log.debug("No embedded web server, skipping warm-up");
+            return;
+        }
+        long start = System.nanoTime();
+        long deadline = start + properties.getTimeout().toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "warmup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            // I/O-bound steps overlap; the CPU-bound ones then run against warm connections
+            CompletableFuture<Boolean> database = properties.isDatabase()
+                    ? CompletableFuture.supplyAsync(() -> step("database", this::warmDatabase), executor)
+                    : CompletableFuture.completedFuture(false);
+            CompletableFuture<Boolean> upstream = properties.isUpstream()
+                    ? CompletableFuture.supplyAsync(() -> step("upstream", this::warmUpstream), executor)
+                    : CompletableFuture.completedFuture(false);
+            step("serialization", this::warmSerialization);
+            CompletableFuture.allOf(database, upstream).get(remaining(deadline), TimeUnit.NANOSECONDS);
+            int port = webContext.getWebServer().getPort();
+            boolean databaseUp = database.join();
+            CompletableFuture.runAsync(() -> step("controllers", () -> warmControllers(port, databaseUp)), executor)
+                    .get(remaining(deadline), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Warm-up did not finish within {}, releasing readiness anyway", properties.getTimeout());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Warm-up aborted: {}", e.getMessage());
+        } finally {
+            executor.shutdownNow();
+        }
+        long total = System.nanoTime() - start;
+        record("total", total);
+        synchronized (stepMillis) {
+            log.info("Warm-up finished in {} ms {}", TimeUnit.NANOSECONDS.toMillis(total), stepMillis);
+        }
+    }
+
+    private void warmDatabase() throws Exception {
+        if (dataSource.isWrapperFor(HikariDataSource.class)) {
+            HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+            // Open the idle connections up front instead of letting the pool grow under load
+            int target = Math.min(hikari.getMaximumPoolSize(), Math.max(1, hikari.getMinimumIdle()));
+            List<Connection> connections = new ArrayList<>();
+            try {
+                for (int i = 0; i < target; i++) {
+                    connections.add(hikari.getConnection());
+                }
+            } finally {
+                for (Connection connection : connections) {
+                    connection.close();
+                }
+            }
+        }
+        LocalDateTime now = LocalDateTime.now();
+        PageRequest firstRow = PageRequest.of(0, 1);
+        for (int i = 0; i < properties.getDatabaseIterations(); i++) {
+            loginLogStore.findByUsernameOrderByLoginTimeDesc(PROBE_USERNAME);
+            loginLogStore.findAfterPosition(now, NIL_ID, firstRow);
+            loginLogStore.findByUsernameIgnoreCaseAfterPosition(PROBE_USERNAME, now, NIL_ID, firstRow);
+            loginLogStore.findByLoginTimeBeforeOrderByLoginTimeAscIdAsc(now.minusYears(100), firstRow);
+            loginLogStore.findBeforeAfterPosition(now.minusYears(100), now.minusYears(101), NIL_ID, firstRow);
+        }
+    }
+
+    private void warmUpstream() {
+        // Creates the Feign proxy chain and leaves a kept-alive TLS connection behind
+        dummyJsonClient.getUsers(1, 0, "id");
+    }
+
+    private void warmSerialization() throws Exception {
+        List<UserResponse> users = new ArrayList<>();
+        for (long id = 1; id <= 30; id++) {
+            users.add(new UserResponse(id, "user" + id, "user" + id + "@x.com", "First", "Last", "female",
+                    "https://dummyjson.com/icon/user/128", "+1 555 0100", "1990-1-1"));
+        }
+        UsersListResponse usersList = new UsersListResponse(users, 30, 0, 30);
+        LoginResponse login = new LoginResponse(1L, "emilys", "emily@x.com", "Emily", "Johnson", "female",
+                "https://dummyjson.com/icon/emilys/128", "access-token", "refresh-token");
+        LoginLog loginLog = new LoginLog(UUID.randomUUID(), "emilys", LocalDateTime.now(), "access", "refresh");
+        ErrorResponse error = new ErrorResponse("BAD_REQUEST", "warm-up", "AUTH_002");
+
+        for (int i = 0; i < properties.getSerializationIterations(); i++) {
+            objectMapper.readValue(objectMapper.writeValueAsBytes(usersList), UsersListResponse.class);
+            objectMapper.readValue(objectMapper.writeValueAsBytes(login), LoginResponse.class);
+            objectMapper.readValue(objectMapper.writeValueAsBytes(loginLog), LoginLog.class);
+            objectMapper.writeValueAsBytes(error);
+        }
+    }
+
+    private void warmControllers(int port, boolean databaseUp) throws Exception {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        // Read-only requests that never reach DummyJSON or the rate limiter; the header keeps
+        // them out of Server-Timing captures, query stats and shedding counters
+        List<URI> uris = new ArrayList<>(List.of(
+                URI.create("http://localhost:" + port + "/api/auth/me"),
+                URI.create("http://localhost:" + port + "/api/auth/users?q=warmup&limit=1")));
+        if (databaseUp) {
+            uris.add(URI.create("http://localhost:" + port + "/api/auth/login-history/" + PROBE_USERNAME));
+        }
+        for (int i = 0; i < properties.getControllerIterations(); i++) {
+            for (URI uri : uris) {
+                client.send(HttpRequest.newBuilder(uri)
+                                .header(WarmupRequest.HEADER, WarmupRequest.token())
+                                .timeout(Duration.ofSeconds(5))
+                                .GET()
+                                .build(),
+                        HttpResponse.BodyHandlers.discarding());
+            }
+        }
+    }
+
+    private boolean step(String name, WarmupStep step) {
+        long start = System.nanoTime();
+        try {
+            step.run();
+            record(name, System.nanoTime() - start);
+            return true;
+        } catch (Exception e) {
+            log.warn("Warm-up step {} failed after {} ms: {}", name,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), e.getMessage());
+            return false;
+        }
+    }
+
+    private void record(String name, long nanos) {
+        Timer.builder("authdemo.warmup.duration")
+                .tag("step", name)
+                .description("Time spent in each startup warm-up step")
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+        synchronized (stepMillis) {
+            stepMillis.put(name, TimeUnit.NANOSECONDS.toMillis(nanos));
+        }
+    }
+
+    private static long remaining(long deadline) {
+        return Math.max(0, deadline - System.nanoTime());
+    }
+
+    @FunctionalInterface
+    private interface WarmupStep {
+        void run() throws Exception;
+    }
+}
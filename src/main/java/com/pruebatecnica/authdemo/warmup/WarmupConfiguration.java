@@ -0,0 +1,19 @@
+package com.pruebatecnica.authdemo.warmup;
+
+import io.micrometer.observation.ObservationPredicate;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+
+@Configuration
+public class WarmupConfiguration {
+
+    /**
+     * Keeps warm-up requests out of http.server.requests
+     */
+    @Bean
+    public ObservationPredicate ignoreWarmupRequests() {
+        return (name, context) -> !(context instanceof ServerRequestObservationContext request
+                && WarmupRequest.isWarmup(request.getCarrier()));
+    }
+}
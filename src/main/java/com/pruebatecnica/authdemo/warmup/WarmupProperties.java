@@ -0,0 +1,38 @@
+package com.pruebatecnica.authdemo.warmup;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Startup warm-up run before readiness turns to ACCEPTING_TRAFFIC, bound from authdemo.warmup.*
+ */
+@Data
+@ConfigurationProperties(prefix = "authdemo.warmup")
+public class WarmupProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Readiness is released after this long even if some steps are still running
+     */
+    private Duration timeout = Duration.ofSeconds(30);
+
+    private boolean database = true;
+
+    /**
+     * Executions of each LoginLogStore query; PgJDBC switches to server-side
+     * prepared statements after prepareThreshold (5) executions on a connection
+     */
+    private int databaseIterations = 10;
+
+    private boolean upstream = true;
+
+    private int serializationIterations = 500;
+
+    /**
+     * Local HTTP calls per endpoint against the embedded server
+     */
+    private int controllerIterations = 20;
+}
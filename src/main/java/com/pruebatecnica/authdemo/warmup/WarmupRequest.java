@@ -0,0 +1,33 @@
+package com.pruebatecnica.authdemo.warmup;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.UUID;
+
+/**
+ * Marks the local requests StartupWarmup sends to the controllers. They still run the
+ * whole filter chain, so its code gets compiled, but the recorders skip them. The header
+ * value is a random token generated per process, so clients cannot hide their own
+ * requests behind it.
+ */
+public final class WarmupRequest {
+
+    public static final String HEADER = "X-Authdemo-Warmup";
+
+    private static final String TOKEN = UUID.randomUUID().toString();
+
+    private WarmupRequest() {
+    }
+
+    public static String token() {
+        return TOKEN;
+    }
+
+    public static boolean isWarmup(HttpServletRequest request) {
+        String provided = request.getHeader(HEADER);
+        return provided != null && MessageDigest.isEqual(TOKEN.getBytes(StandardCharsets.UTF_8),
+                provided.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,118 @@
+package com.pruebatecnica.authdemo.admin;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdminTokenFilterTest {
+
+    private AdminProperties properties;
+    private AdminTokenFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AdminProperties();
+        filter = new AdminTokenFilter(properties, new ObjectMapper());
+    }
+
+    @Test
+    void doFilter_NoTokenConfigured_RefusesReadOnlyEndpoints() throws Exception {
+        for (String path : new String[]{"/api/admin/slow-requests", "/api/admin/query-stats"}) {
+            // Act
+            MockFilterChain chain = new MockFilterChain();
+            MockHttpServletResponse response = perform(request(path, null), chain);
+
+            // Assert
+            assertEquals(403, response.getStatus(), path);
+            assertTrue(response.getContentAsString().contains("AUTH_006"), path);
+            assertNull(chain.getRequest(), path);
+        }
+    }
+
+    @Test
+    void doFilter_NoTokenConfigured_RefusesProfiling() throws Exception {
+        // Act
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = perform(request("/api/admin/profiling/recordings", "anything"), chain);
+
+        // Assert
+        assertEquals(403, response.getStatus());
+        assertTrue(response.getContentAsString().contains("AUTH_006"));
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    void doFilter_NoTokenConfigured_RefusesEncodedAndParameterizedProfilingPaths() throws Exception {
+        // Arrange
+        String[] spellings = {
+                "/api/admin/%70rofiling/continuous/file",
+                "/api/admin;x=1/profiling/continuous/file",
+                "/api/admin/profiling;x=1/continuous/file",
+                "/api/admin//profiling/continuous/file",
+                "/api/admin/./profiling/continuous/file"
+        };
+
+        for (String spelling : spellings) {
+            // Act
+            MockFilterChain chain = new MockFilterChain();
+            MockHttpServletResponse response = perform(request(spelling, null), chain);
+
+            // Assert
+            assertEquals(403, response.getStatus(), spelling);
+            assertNull(chain.getRequest(), spelling);
+        }
+    }
+
+    @Test
+    void doFilter_NoTokenConfigured_RefusesMutatingRequests() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = request("/api/admin/slow-requests", null);
+        request.setMethod("DELETE");
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        MockHttpServletResponse response = perform(request, chain);
+
+        // Assert
+        assertEquals(403, response.getStatus());
+        assertTrue(response.getContentAsString().contains("AUTH_006"));
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    void doFilter_TokenConfigured_RequiresMatchingHeader() throws Exception {
+        // Arrange
+        properties.setToken("s3cret");
+
+        // Act
+        MockHttpServletResponse missing = perform(request("/api/admin/query-stats", null), new MockFilterChain());
+        MockHttpServletResponse wrong = perform(request("/api/admin/query-stats", "s3cre"), new MockFilterChain());
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse valid = perform(request("/api/admin/profiling/recordings", "s3cret"), chain);
+
+        // Assert
+        assertEquals(401, missing.getStatus());
+        assertEquals(401, wrong.getStatus());
+        assertEquals(200, valid.getStatus());
+        assertNotNull(chain.getRequest());
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request, MockFilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String path, String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        if (token != null) {
+            request.addHeader(AdminTokenFilter.HEADER, token);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,103 @@
+package com.pruebatecnica.authdemo.archive;
+
+import com.pruebatecnica.authdemo.entity.LoginLog;
+import com.pruebatecnica.authdemo.repository.LoginLogStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoginLogArchiverTest {
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private LoginLogStore loginLogStore;
+
+    private ArchiveProperties properties;
+    private LoginLogArchive archive;
+    private LoginLogArchiver archiver;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        properties = new ArchiveProperties();
+        properties.setEnabled(true);
+        properties.setDirectory(directory);
+        properties.setChunkSize(2);
+        properties.setSegmentRows(10);
+        archive = new LoginLogArchive(properties);
+        archive.load();
+        archiver = new LoginLogArchiver(properties, archive, loginLogStore);
+    }
+
+    @Test
+    void archiveOldLogins_WritesSegmentThenDeletesInChunks() {
+        // Arrange
+        List<LoginLog> old = rows(3);
+        when(loginLogStore.findByLoginTimeBeforeOrderByLoginTimeAscIdAsc(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(old.subList(0, 2));
+        when(loginLogStore.findBeforeAfterPosition(any(LocalDateTime.class), any(LocalDateTime.class), any(UUID.class),
+                any(Pageable.class)))
+                .thenReturn(old.subList(2, 3));
+
+        // Act
+        archiver.archiveOldLogins();
+
+        // Assert
+        assertEquals(1, archive.getSegmentCount());
+        assertEquals(2, archive.findByUsername("emilys").size());
+        verify(loginLogStore).findBeforeAfterPosition(any(LocalDateTime.class), eq(old.get(1).getLoginTime()),
+                eq(old.get(1).getId()), any(Pageable.class));
+        verify(loginLogStore, times(2)).deleteAllByIdInBatch(anyList());
+    }
+
+    @Test
+    void archiveOldLogins_ReloadsSegmentsOnStartup() throws Exception {
+        // Arrange
+        archive.append(rows(4));
+        LoginLogArchive reloaded = new LoginLogArchive(properties);
+
+        // Act
+        reloaded.load();
+
+        // Assert
+        assertEquals(1, reloaded.getSegmentCount());
+        assertEquals(2, reloaded.findByUsername("emilys").size());
+    }
+
+    @Test
+    void archiveOldLogins_DisabledDoesNothing() {
+        properties.setEnabled(false);
+
+        archiver.archiveOldLogins();
+
+        verifyNoInteractions(loginLogStore);
+    }
+
+    private static List<LoginLog> rows(int count) {
+        List<LoginLog> rows = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.now().minusDays(400);
+        for (int i = 0; i < count; i++) {
+            rows.add(new LoginLog(UUID.randomUUID(), i % 2 == 0 ? "emilys" : "michaelw", start.plusHours(i),
+                    "access-" + i, "refresh-" + i));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,113 @@
+package com.pruebatecnica.authdemo.archive;
+
+import com.pruebatecnica.authdemo.entity.LoginLog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginLogSegmentTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void write_RoundTripsAllColumns() throws Exception {
+        List<LoginLog> rows = rows(50);
+
+        LoginLogSegment segment = LoginLogSegment.write(directory, rows, 0.01);
+        List<LoginLog> read = LoginLogSegment.open(segment.path()).readAll();
+
+        assertEquals(50, read.size());
+        LoginLog first = rows.get(0);
+        assertEquals(first.getId(), read.get(0).getId());
+        assertEquals(first.getUsername(), read.get(0).getUsername());
+        assertEquals(first.getLoginTime(), read.get(0).getLoginTime());
+        assertEquals(first.getAccessToken(), read.get(0).getAccessToken());
+        assertEquals(first.getRefreshToken(), read.get(0).getRefreshToken());
+        assertEquals(rows.get(49).getLoginTime(), segment.maxTime());
+    }
+
+    @Test
+    void findByUsername_ReturnsNewestFirst() throws Exception {
+        LoginLogSegment segment = LoginLogSegment.write(directory, rows(30), 0.01);
+
+        List<LoginLog> emilys = segment.findByUsername("emilys");
+
+        assertEquals(10, emilys.size());
+        assertTrue(emilys.stream().allMatch(log -> log.getUsername().equals("emilys")));
+        assertTrue(emilys.get(0).getLoginTime().isAfter(emilys.get(9).getLoginTime()));
+    }
+
+    @Test
+    void findByUsername_SkipsUsernamesOutsideHeaderRange() throws Exception {
+        LoginLogSegment segment = LoginLogSegment.write(directory, rows(30), 0.01);
+
+        assertFalse(segment.mightContain("aaron"));
+        assertFalse(segment.mightContain("zoe"));
+        assertTrue(segment.findByUsername("zoe").isEmpty());
+    }
+
+    @Test
+    void write_CompressesRepetitiveColumns() throws Exception {
+        LoginLogSegment segment = LoginLogSegment.write(directory, rows(1_000), 0.01);
+
+        long rawTokenBytes = 1_000L * 2 * "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9.token-0000".length();
+        assertTrue(Files.size(segment.path()) < rawTokenBytes / 2);
+        assertTrue(Files.list(directory).noneMatch(file -> file.toString().endsWith(".tmp")));
+    }
+
+    @Test
+    void findByUsername_InflatesOnlyRowGroupsWithMatches() throws Exception {
+        // Arrange
+        List<LoginLog> rows = rows(1_024);
+        LocalDateTime late = rows.get(rows.size() - 1).getLoginTime().plusMinutes(1);
+        rows.add(new LoginLog(UUID.randomUUID(), "oliviaw", late, "access-olivia", "refresh-olivia"));
+        LoginLogSegment segment = LoginLogSegment.write(directory, rows, 0.01);
+        LoginLogSegment all = LoginLogSegment.open(segment.path());
+        all.readAll();
+
+        // Act
+        List<LoginLog> olivia = segment.findByUsername("oliviaw");
+
+        // Assert
+        assertEquals(1, olivia.size());
+        assertEquals("access-olivia", olivia.get(0).getAccessToken());
+        assertEquals(late, olivia.get(0).getLoginTime());
+        assertTrue(segment.inflatedBytes() < all.inflatedBytes() / 3,
+                segment.inflatedBytes() + " of " + all.inflatedBytes() + " bytes inflated");
+    }
+
+    @Test
+    void findByUsername_MatchesAcrossRowGroups() throws Exception {
+        // Arrange
+        List<LoginLog> rows = rows(1_000);
+        LoginLogSegment segment = LoginLogSegment.write(directory, rows, 0.01);
+
+        // Act
+        List<LoginLog> sophia = segment.findByUsername("sophiab");
+
+        // Assert
+        List<LoginLog> expected = rows.stream().filter(log -> log.getUsername().equals("sophiab")).toList().reversed();
+        assertEquals(expected, sophia);
+    }
+
+    private static List<LoginLog> rows(int count) {
+        String[] usernames = {"emilys", "michaelw", "sophiab"};
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 8, 0, 0, 123_456_000);
+        List<LoginLog> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(new LoginLog(UUID.randomUUID(), usernames[i % usernames.length], start.plusMinutes(i),
+                    "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9.token-" + String.format("%04d", i),
+                    "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9.refresh-" + String.format("%04d", i)));
+        }
+        return rows;
+    }
+}
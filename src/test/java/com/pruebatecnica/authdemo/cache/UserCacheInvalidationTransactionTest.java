@@ -0,0 +1,58 @@
+package com.pruebatecnica.authdemo.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pruebatecnica.authdemo.entity.LoginLog;
+import com.pruebatecnica.authdemo.repository.LoginLogRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The user_cache table is never created here, so every shared invalidation fails the
+ * way it does against a database where createTable() was tolerated
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Import(UserCacheStore.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserCacheInvalidationTransactionTest {
+
+    @Autowired
+    private UserCacheStore store;
+
+    @Autowired
+    private LoginLogRepository loginLogRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void invalidateUser_SharedTableMissing_LoginStillCommits() {
+        // Arrange
+        SharedCacheProperties properties = new SharedCacheProperties();
+        properties.setEnabled(true);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        UserCache userCache = new UserCache(properties, store, new ObjectMapper(), meterRegistry);
+
+        // Act
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            loginLogRepository.save(new LoginLog("emilys", "access", "refresh"));
+            userCache.invalidateUser("emilys");
+        });
+
+        // Assert
+        assertEquals(1, loginLogRepository.findByUsernameOrderByLoginTimeDesc("emilys").size());
+        assertEquals(1.0, meterRegistry.get("authdemo.user-cache.requests").tag("result", "error").counter().count());
+        loginLogRepository.deleteAll();
+    }
+}
@@ -0,0 +1,163 @@
+package com.pruebatecnica.authdemo.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pruebatecnica.authdemo.dto.UserResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserCacheTest {
+
+    @Mock
+    private UserCacheStore store;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private SharedCacheProperties properties;
+    private UserCache userCache;
+    private UserResponse user;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SharedCacheProperties();
+        properties.setEnabled(true);
+        userCache = new UserCache(properties, store, objectMapper, new SimpleMeterRegistry());
+        user = new UserResponse(1L, "emilys", "emily@x.com", "Emily", "Johnson", "female", null, null, null);
+    }
+
+    @Test
+    void get_NearCacheHitSkipsDatabase() {
+        // Arrange
+        userCache.put("token", user);
+
+        // Act
+        Optional<CachedUser> cached = userCache.get("token");
+
+        // Assert
+        assertTrue(cached.isPresent());
+        assertEquals("emilys", cached.get().user().getUsername());
+        verify(store, never()).find(anyString());
+        verify(store).upsert(eq(UserCache.hash("token")), any(UserCacheStore.Entry.class));
+    }
+
+    @Test
+    void get_LoadsFromSharedTable() throws Exception {
+        // Arrange
+        when(store.find(UserCache.hash("token"))).thenReturn(Optional.of(new UserCacheStore.Entry(
+                "emilys", objectMapper.writeValueAsString(user), true, Instant.now().plusSeconds(60))));
+
+        // Act
+        Optional<CachedUser> first = userCache.get("token");
+        Optional<CachedUser> second = userCache.get("token");
+
+        // Assert
+        assertEquals("emilys", first.orElseThrow().user().getUsername());
+        assertTrue(second.isPresent());
+        verify(store, times(1)).find(anyString());
+    }
+
+    @Test
+    void invalidateUser_EvictsNearCacheAndNotifies() {
+        // Arrange
+        userCache.put("token", user);
+        when(store.find(anyString())).thenReturn(Optional.empty());
+
+        // Act
+        userCache.invalidateUser("emilys");
+
+        // Assert
+        assertTrue(userCache.get("token").isEmpty());
+        verify(store).deleteByUsernameAndNotify("emilys", "authdemo_user_cache");
+    }
+
+    @Test
+    void invalidateUser_InTransaction_TouchesSharedTableOnlyAfterCommit() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            userCache.invalidateUser("emilys");
+
+            // Assert
+            verifyNoInteractions(store);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(store).deleteByUsernameAndNotify("emilys", "authdemo_user_cache");
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void invalidateUser_StoreFailsAfterCommit_DoesNotPropagate() {
+        // Arrange
+        doThrow(new BadSqlGrammarException("delete", "DELETE FROM user_cache", new SQLException("no table")))
+                .when(store).deleteByUsernameAndNotify(anyString(), anyString());
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            userCache.invalidateUser("emilys");
+
+            // Act & Assert
+            assertDoesNotThrow(() -> TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(TransactionSynchronization::afterCommit));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void invalidateUser_RolledBack_LeavesSharedTableAlone() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            userCache.invalidateUser("emilys");
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+            // Assert
+            verifyNoInteractions(store);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void get_DatabaseErrorIsAMiss() {
+        when(store.find(anyString())).thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+        assertTrue(userCache.get("token").isEmpty());
+    }
+
+    @Test
+    void get_DisabledNeverTouchesDatabase() {
+        properties.setEnabled(false);
+
+        userCache.put("token", user);
+
+        assertTrue(userCache.get("token").isEmpty());
+        verifyNoInteractions(store);
+    }
+
+    @Test
+    void hash_NeverStoresRawToken() {
+        assertEquals(64, UserCache.hash("eyJhbGciOi").length());
+        assertNotEquals("eyJhbGciOi", UserCache.hash("eyJhbGciOi"));
+    }
+}
@@ -0,0 +1,74 @@
+package com.pruebatecnica.authdemo.client;
+
+import com.pruebatecnica.authdemo.passthrough.UserFieldFilter;
+import feign.Request;
+import feign.RequestTemplate;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class SelectFieldsInterceptorTest {
+
+    private final UpstreamDecodingProperties properties = new UpstreamDecodingProperties();
+    private final SelectFieldsInterceptor interceptor = new SelectFieldsInterceptor(properties);
+
+    @Test
+    void apply_UsersWithoutSelect_AddsUserResponseFields() {
+        // Arrange
+        RequestTemplate template = template(Request.HttpMethod.GET, "/users");
+
+        // Act
+        interceptor.apply(template);
+
+        // Assert
+        assertEquals(List.of(UserFieldFilter.SELECT), List.copyOf(template.queries().get("select")));
+    }
+
+    @Test
+    void apply_CallerSelect_IsKept() {
+        // Arrange
+        RequestTemplate template = template(Request.HttpMethod.GET, "/users");
+        template.query("select", "id");
+
+        // Act
+        interceptor.apply(template);
+
+        // Assert
+        assertEquals(List.of("id"), List.copyOf(template.queries().get("select")));
+    }
+
+    @Test
+    void apply_SingleUserEndpoint_IsUntouched() {
+        // Arrange
+        RequestTemplate template = template(Request.HttpMethod.GET, "/auth/me");
+
+        // Act
+        interceptor.apply(template);
+
+        // Assert
+        assertFalse(template.queries().containsKey("select"));
+    }
+
+    @Test
+    void apply_Disabled_IsUntouched() {
+        // Arrange
+        properties.setSelectTrimming(false);
+        RequestTemplate template = template(Request.HttpMethod.GET, "/users");
+
+        // Act
+        interceptor.apply(template);
+
+        // Assert
+        assertFalse(template.queries().containsKey("select"));
+    }
+
+    private static RequestTemplate template(Request.HttpMethod method, String path) {
+        RequestTemplate template = new RequestTemplate();
+        template.method(method);
+        template.uri(path);
+        return template;
+    }
+}
@@ -0,0 +1,187 @@
+package com.pruebatecnica.authdemo.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.pruebatecnica.authdemo.dto.LoginResponse;
+import com.pruebatecnica.authdemo.dto.UserResponse;
+import com.pruebatecnica.authdemo.dto.UsersListResponse;
+import com.pruebatecnica.authdemo.passthrough.UserFieldFilter;
+import feign.Request;
+import feign.Response;
+import feign.codec.DecodeException;
+import feign.codec.Decoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.BeanUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class TrimmingUserDecoderTest {
+
+    private static final String FULL_USER = """
+            {"id":1,"firstName":"Emily","lastName":"Johnson","maidenName":"Smith","age":28,"gender":"female",
+             "email":"emily.johnson@x.dummyjson.com","phone":"+81 965-431-3024","username":"emilys",
+             "password":"emilyspass","birthDate":"1996-5-30","image":"https://dummyjson.com/icon/emilys/128",
+             "bloodGroup":"O-","height":193.24,"weight":63.16,"eyeColor":"Green",
+             "hair":{"color":"Brown","type":"Curly"},
+             "address":{"address":"626 Main Street","city":"Phoenix","coordinates":{"lat":-77.16,"lng":-92.08}},
+             "bank":{"cardNumber":"9289760655481815","currency":"CNY"},
+             "company":{"department":"Engineering","name":"Dooley, Kozey and Cronin",
+                        "address":{"city":"San Francisco","coordinates":{"lat":97.0,"lng":-63.1}}},
+             "crypto":{"coin":"Bitcoin","wallet":"0xb9fc2fe63b2a6c003f1c324c3bfa53259162181a","network":"Ethereum (ERC20)"},
+             "role":"admin","tags":["a",["b",{"c":null}]]}""";
+
+    private Decoder delegate;
+    private UpstreamDecodingProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private TrimmingUserDecoder decoder;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(Decoder.class);
+        properties = new UpstreamDecodingProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        decoder = new TrimmingUserDecoder(delegate, new JsonFactory(), properties, meterRegistry);
+    }
+
+    @Test
+    void decode_User_KeepsMappedFieldsAndSkipsNestedDocuments() throws Exception {
+        // Act
+        UserResponse user = (UserResponse) decoder.decode(response(FULL_USER), UserResponse.class);
+
+        // Assert
+        assertEquals(new UserResponse(1L, "emilys", "emily.johnson@x.dummyjson.com", "Emily", "Johnson", "female",
+                "https://dummyjson.com/icon/emilys/128", "+81 965-431-3024", "1996-5-30"), user);
+        verifyNoInteractions(delegate);
+    }
+
+    @Test
+    void decode_UsersList_ReadsEveryUserAndPagingFields() throws Exception {
+        // Arrange
+        String body = "{\"users\":[" + FULL_USER + "," + FULL_USER.replace("\"id\":1", "\"id\":2")
+                + "],\"total\":208,\"skip\":30,\"limit\":2}";
+
+        // Act
+        UsersListResponse list = (UsersListResponse) decoder.decode(response(body), UsersListResponse.class);
+
+        // Assert
+        assertEquals(2, list.getUsers().size());
+        assertEquals(2L, list.getUsers().get(1).getId());
+        assertEquals("emilys", list.getUsers().get(1).getUsername());
+        assertEquals(208, list.getTotal());
+        assertEquals(30, list.getSkip());
+        assertEquals(2, list.getLimit());
+    }
+
+    @Test
+    void decode_Login_ReadsTokensAndNulls() throws Exception {
+        // Arrange
+        String body = "{\"id\":1,\"username\":\"emilys\",\"email\":null,\"accessToken\":\"a.b.c\","
+                + "\"refreshToken\":\"r.s.t\",\"address\":{\"city\":\"Phoenix\"}}";
+
+        // Act
+        LoginResponse login = (LoginResponse) decoder.decode(response(body), LoginResponse.class);
+
+        // Assert
+        assertEquals("emilys", login.getUsername());
+        assertNull(login.getEmail());
+        assertEquals("a.b.c", login.getAccessToken());
+        assertEquals("r.s.t", login.getRefreshToken());
+    }
+
+    @Test
+    void decode_EveryDeclaredDtoFieldIsRead() throws Exception {
+        for (Class<?> type : List.of(UserResponse.class, LoginResponse.class)) {
+            // Arrange
+            StringJoiner body = new StringJoiner(",", "{", "}");
+            for (String field : UserFieldFilter.fieldsOf(type)) {
+                Class<?> fieldType = BeanUtils.getPropertyDescriptor(type, field).getPropertyType();
+                body.add("\"" + field + "\":" + (fieldType == String.class ? "\"v\"" : "7"));
+            }
+
+            // Act
+            Object decoded = decoder.decode(response(body.toString()), type);
+
+            // Assert
+            for (String field : UserFieldFilter.fieldsOf(type)) {
+                assertNotNull(BeanUtils.getPropertyDescriptor(type, field).getReadMethod().invoke(decoded),
+                        type.getSimpleName() + "." + field);
+            }
+        }
+    }
+
+    @Test
+    void decode_OtherType_DelegatesToSpringDecoder() throws Exception {
+        // Arrange
+        Response response = response("{}");
+        Object decoded = Map.of();
+        when(delegate.decode(any(), any())).thenReturn(decoded);
+
+        // Act
+        Object result = decoder.decode(response, Map.class);
+
+        // Assert
+        assertSame(decoded, result);
+        verify(delegate).decode(response, Map.class);
+    }
+
+    @Test
+    void decode_StreamingDisabled_DelegatesUserTypes() throws Exception {
+        // Arrange
+        properties.setStreamingDecoder(false);
+        Response response = response(FULL_USER);
+
+        // Act
+        decoder.decode(response, UserResponse.class);
+
+        // Assert
+        verify(delegate).decode(response, UserResponse.class);
+    }
+
+    @Test
+    void decode_NotAnObject_ThrowsDecodeException() {
+        // Act & Assert
+        assertThrows(DecodeException.class, () -> decoder.decode(response("[1,2]"), UserResponse.class));
+    }
+
+    @Test
+    void decode_RecordsAllocationAndCpuPerType() throws Exception {
+        // Arrange
+        properties.setMeasure(true);
+
+        // Act
+        decoder.decode(response(FULL_USER), UserResponse.class);
+
+        // Assert
+        assertNotNull(meterRegistry.find("authdemo.upstream.decode.cpu")
+                .tags("type", "UserResponse", "decoder", "streaming").timer());
+        assertTrue(meterRegistry.get("authdemo.upstream.decode.allocated")
+                .tags("type", "UserResponse", "decoder", "streaming").summary().totalAmount() > 0);
+    }
+
+    private static Response response(String body) {
+        Request request = Request.create(Request.HttpMethod.GET, "https://dummyjson.com/auth/me", Map.of(), null,
+                StandardCharsets.UTF_8, null);
+        return Response.builder()
+                .status(200)
+                .request(request)
+                .headers(Map.of())
+                .body(body, StandardCharsets.UTF_8)
+                .build();
+    }
+}
@@ -0,0 +1,142 @@
+package com.pruebatecnica.authdemo.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.pruebatecnica.authdemo.dto.UserResponse;
+import com.pruebatecnica.authdemo.dto.UsersListResponse;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * CPU time and allocated bytes per decoded DummyJSON response: Jackson databind (what
+ * SpringDecoder does) against UserPayloadReader, on full user documents and on the
+ * select-trimmed ones. Not a test; run with
+ * mvn test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=com.pruebatecnica.authdemo.client.UpstreamDecoderBenchmark
+ */
+public final class UpstreamDecoderBenchmark {
+
+    private static final int WARMUP_ROUNDS = 3_000;
+    private static final int MEASURED_ROUNDS = 5_000;
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /** Consumes results so the JIT cannot drop the measured work */
+    private static volatile long blackhole;
+
+    private UpstreamDecoderBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+        JsonFactory factory = mapper.getFactory();
+        ObjectReader listReader = mapper.readerFor(UsersListResponse.class);
+        ObjectReader userReader = mapper.readerFor(UserResponse.class);
+
+        byte[] fullList = listPayload(mapper, 30, true);
+        byte[] selectedList = listPayload(mapper, 30, false);
+        byte[] fullUser = mapper.writeValueAsBytes(user(1, true));
+
+        System.out.printf(Locale.ROOT, "%-22s %-10s %8s %10s %12s%n", "payload", "decoder", "bytes", "cpu us", "alloc B/op");
+        run("/users x30 full", "databind", fullList, in -> listReader.readValue(in));
+        run("/users x30 full", "streaming", fullList, in -> stream(factory, in, UserPayloadReader::readUsersList));
+        run("/users x30 select", "databind", selectedList, in -> listReader.readValue(in));
+        run("/users x30 select", "streaming", selectedList, in -> stream(factory, in, UserPayloadReader::readUsersList));
+        run("/auth/me full", "databind", fullUser, in -> userReader.readValue(in));
+        run("/auth/me full", "streaming", fullUser, in -> stream(factory, in, UserPayloadReader::readUser));
+    }
+
+    private static void run(String payload, String decoder, byte[] body, Decode decode) throws Exception {
+        long sink = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink += decode.decode(new ByteArrayInputStream(body)).hashCode();
+        }
+        long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+        long cpuBefore = THREADS.getCurrentThreadCpuTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            sink += decode.decode(new ByteArrayInputStream(body)).hashCode();
+        }
+        double cpuMicros = (THREADS.getCurrentThreadCpuTime() - cpuBefore) / 1_000.0 / MEASURED_ROUNDS;
+        long allocated = (THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore) / MEASURED_ROUNDS;
+        blackhole = sink;
+        System.out.printf(Locale.ROOT, "%-22s %-10s %8d %10.1f %12d%n", payload, decoder, body.length, cpuMicros,
+                allocated);
+    }
+
+    private static Object stream(JsonFactory factory, ByteArrayInputStream in, TrimmingUserDecoder.PayloadReader reader)
+            throws Exception {
+        try (JsonParser parser = factory.createParser(in)) {
+            parser.nextToken();
+            return reader.read(parser);
+        }
+    }
+
+    private static byte[] listPayload(ObjectMapper mapper, int count, boolean full) throws Exception {
+        List<Map<String, Object>> users = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            users.add(user(i, full));
+        }
+        return mapper.writeValueAsBytes(Map.of("users", users, "total", 208, "skip", 0, "limit", count));
+    }
+
+    /**
+     * Shaped like a DummyJSON user; without full only the select=UserResponse fields remain
+     */
+    private static Map<String, Object> user(int i, boolean full) {
+        Map<String, Object> user = new LinkedHashMap<>();
+        user.put("id", i);
+        user.put("firstName", "First" + i);
+        user.put("lastName", "Last" + i);
+        user.put("gender", i % 2 == 0 ? "female" : "male");
+        user.put("email", "user" + i + "@x.dummyjson.com");
+        user.put("phone", "+81 965-431-" + (1000 + i));
+        user.put("username", "user" + i);
+        user.put("birthDate", "1996-5-" + (i % 28 + 1));
+        user.put("image", "https://dummyjson.com/icon/user" + i + "/128");
+        if (!full) {
+            return user;
+        }
+        Map<String, Object> coordinates = Map.of("lat", -77.16213 + i, "lng", -92.084824 - i);
+        user.put("maidenName", "Maiden" + i);
+        user.put("age", 20 + i % 40);
+        user.put("password", "password" + i);
+        user.put("bloodGroup", "O-");
+        user.put("height", 193.24);
+        user.put("weight", 63.16);
+        user.put("eyeColor", "Green");
+        user.put("hair", Map.of("color", "Brown", "type", "Curly"));
+        user.put("ip", "42.48.100." + i);
+        user.put("address", Map.of("address", i + " Main Street", "city", "Phoenix", "state", "Mississippi",
+                "stateCode", "MS", "postalCode", "29112", "coordinates", coordinates, "country", "United States"));
+        user.put("macAddress", "47:fa:41:18:ec:eb");
+        user.put("university", "University of Wisconsin--Madison");
+        user.put("bank", Map.of("cardExpire", "03/26", "cardNumber", "92897606554818" + i, "cardType", "Elo",
+                "currency", "CNY", "iban", "YPUXISOBI7TTHPK2BR3HAIXL"));
+        user.put("company", Map.of("department", "Engineering", "name", "Dooley, Kozey and Cronin",
+                "title", "Sales Manager", "address", Map.of("address", "263 Tenth Street", "city", "San Francisco",
+                        "state", "Wisconsin", "stateCode", "WI", "postalCode", "37657", "coordinates", coordinates,
+                        "country", "United States")));
+        user.put("ein", "977-175");
+        user.put("ssn", "900-590-289");
+        user.put("userAgent", "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/537.36 "
+                + "(KHTML, like Gecko) Chrome/96.0.4664.93 Safari/537.36");
+        user.put("crypto", Map.of("coin", "Bitcoin", "wallet", "0xb9fc2fe63b2a6c003f1c324c3bfa53259162181a",
+                "network", "Ethereum (ERC20)"));
+        user.put("role", "admin");
+        return user;
+    }
+
+    @FunctionalInterface
+    private interface Decode {
+        Object decode(ByteArrayInputStream in) throws Exception;
+    }
+}
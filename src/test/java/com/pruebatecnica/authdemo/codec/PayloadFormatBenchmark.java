@@ -0,0 +1,116 @@
+package com.pruebatecnica.authdemo.codec;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufFactory;
+import com.fasterxml.jackson.dataformat.protobuf.schema.NativeProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchemaLoader;
+import com.pruebatecnica.authdemo.dto.UserResponse;
+import com.pruebatecnica.authdemo.dto.UsersListResponse;
+import com.pruebatecnica.authdemo.entity.LoginLog;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Payload size and encode/decode cost of JSON, CBOR and protobuf for the two
+ * high-volume payloads (a login history page and the /users list). Not a test; run with
+ * mvn test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=com.pruebatecnica.authdemo.codec.PayloadFormatBenchmark
+ */
+public final class PayloadFormatBenchmark {
+
+    private static final int WARMUP_ROUNDS = 2_000;
+    private static final int MEASURED_ROUNDS = 5_000;
+
+    /** Consumes results so the JIT cannot drop the measured work */
+    private static volatile long blackhole;
+
+    private PayloadFormatBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        NativeProtobufSchema schema;
+        try (InputStream in = new ClassPathResource(ProtobufSchemaHttpMessageConverter.SCHEMA_LOCATION).getInputStream()) {
+            schema = ProtobufSchemaLoader.std.load(in).getSource();
+        }
+        ObjectMapper json = mapper().build();
+        ObjectMapper cbor = mapper().factory(new CBORFactory()).build();
+        ObjectMapper protobuf = mapper().factory(new ProtobufFactory()).build();
+
+        Map<String, Object> history = Map.of(ProtobufSchemaHttpMessageConverter.ITEMS_FIELD, loginHistory(100));
+        JavaType historyType = json.getTypeFactory().constructMapType(Map.class,
+                json.constructType(String.class),
+                json.getTypeFactory().constructCollectionType(List.class, LoginLog.class));
+        UsersListResponse users = new UsersListResponse(users(208), 208, 0, 0);
+
+        System.out.printf(Locale.ROOT, "%-24s %-9s %10s %12s %12s%n", "payload", "format", "bytes", "encode us", "decode us");
+        run("login-history x100", "json", json.writer(), json.readerFor(historyType), history);
+        run("login-history x100", "cbor", cbor.writer(), cbor.readerFor(historyType), history);
+        run("login-history x100", "protobuf", protobuf.writer(schema.forType("LoginLogList")),
+                protobuf.readerFor(historyType).with(schema.forType("LoginLogList")), history);
+        run("users x208", "json", json.writer(), json.readerFor(UsersListResponse.class), users);
+        run("users x208", "cbor", cbor.writer(), cbor.readerFor(UsersListResponse.class), users);
+        run("users x208", "protobuf", protobuf.writer(schema.forType("UsersListResponse")),
+                protobuf.readerFor(UsersListResponse.class).with(schema.forType("UsersListResponse")), users);
+    }
+
+    private static void run(String payload, String format, ObjectWriter writer, ObjectReader reader, Object value)
+            throws Exception {
+        byte[] encoded = writer.writeValueAsBytes(value);
+        long sink = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink += writer.writeValueAsBytes(value).length;
+            sink += reader.readValue(encoded).hashCode();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            sink += writer.writeValueAsBytes(value).length;
+        }
+        double encodeMicros = (System.nanoTime() - start) / 1_000.0 / MEASURED_ROUNDS;
+        start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            sink += reader.readValue(encoded).hashCode();
+        }
+        double decodeMicros = (System.nanoTime() - start) / 1_000.0 / MEASURED_ROUNDS;
+        blackhole = sink;
+        System.out.printf(Locale.ROOT, "%-24s %-9s %10d %12.1f %12.1f%n", payload, format, encoded.length,
+                encodeMicros, decodeMicros);
+    }
+
+    private static Jackson2ObjectMapperBuilder mapper() {
+        return Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    private static List<LoginLog> loginHistory(int count) {
+        List<LoginLog> logs = new ArrayList<>(count);
+        LocalDateTime time = LocalDateTime.of(2025, 6, 1, 10, 0);
+        for (int i = 0; i < count; i++) {
+            logs.add(new LoginLog(UUID.randomUUID(), "emilys", time.minusMinutes(i * 37L),
+                    "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9." + "a".repeat(180) + i,
+                    "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9." + "r".repeat(180) + i));
+        }
+        return logs;
+    }
+
+    private static List<UserResponse> users(int count) {
+        List<UserResponse> users = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            users.add(new UserResponse((long) i, "user" + i, "user" + i + "@x.dummyjson.com", "First" + i,
+                    "Last" + i, i % 2 == 0 ? "female" : "male", "https://dummyjson.com/icon/user" + i + "/128",
+                    "+81 965-431-" + (1000 + i), "1996-5-" + (i % 28 + 1)));
+        }
+        return users;
+    }
+}
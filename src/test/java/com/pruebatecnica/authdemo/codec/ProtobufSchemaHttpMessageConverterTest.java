@@ -0,0 +1,75 @@
+package com.pruebatecnica.authdemo.codec;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufFactory;
+import com.pruebatecnica.authdemo.dto.LoginRequest;
+import com.pruebatecnica.authdemo.dto.QueryStatsResponse;
+import com.pruebatecnica.authdemo.dto.UserResponse;
+import com.pruebatecnica.authdemo.entity.LoginLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProtobufSchemaHttpMessageConverterTest {
+
+    private static final Type LOGIN_LOG_LIST = new ParameterizedTypeReference<List<LoginLog>>() { }.getType();
+
+    private ProtobufSchemaHttpMessageConverter converter;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        converter = new ProtobufSchemaHttpMessageConverter(
+                Jackson2ObjectMapperBuilder.json().factory(new ProtobufFactory())
+                        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                        .build());
+    }
+
+    @Test
+    void canWrite_OnlyTypesWithAMessage() {
+        assertTrue(converter.canWrite(UserResponse.class, UserResponse.class,
+                ProtobufSchemaHttpMessageConverter.PROTOBUF));
+        assertTrue(converter.canWrite(LOGIN_LOG_LIST, List.class, ProtobufSchemaHttpMessageConverter.PROTOBUF));
+        assertFalse(converter.canWrite(QueryStatsResponse.class, QueryStatsResponse.class, null));
+        assertFalse(converter.canWrite(UserResponse.class, UserResponse.class, MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void writeAndRead_LoginLogListRoundTrips() throws Exception {
+        // Arrange
+        LoginLog loginLog = new LoginLog(UUID.randomUUID(), "emilys", LocalDateTime.of(2025, 6, 1, 10, 15, 30),
+                "access", "refresh");
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        // Act
+        converter.write(List.of(loginLog), LOGIN_LOG_LIST, ProtobufSchemaHttpMessageConverter.PROTOBUF, output);
+        Object decoded = converter.read(LOGIN_LOG_LIST, null, new MockHttpInputMessage(output.getBodyAsBytes()));
+
+        // Assert
+        assertEquals(List.of(loginLog), decoded);
+    }
+
+    @Test
+    void read_LoginRequest() throws Exception {
+        // Arrange
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(new LoginRequest("emilys", "emilyspass"), LoginRequest.class,
+                ProtobufSchemaHttpMessageConverter.PROTOBUF, output);
+
+        // Act
+        Object decoded = converter.read(LoginRequest.class, null, new MockHttpInputMessage(output.getBodyAsBytes()));
+
+        // Assert
+        assertEquals(new LoginRequest("emilys", "emilyspass"), decoded);
+    }
+}
@@ -0,0 +1,182 @@
+package com.pruebatecnica.authdemo.concurrency;
+
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(20);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(200);
+
+    private ConcurrencyLimitProperties properties;
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ConcurrencyLimitProperties();
+        properties.setInitialLimit(4);
+        properties.setMinLimit(2);
+        properties.setMaxLimit(10);
+        limiter = new AdaptiveConcurrencyLimiter(properties);
+    }
+
+    @Test
+    void onSuccess_GrowsLimitWhileBusyAndFast() throws Exception {
+        for (int round = 0; round < 10; round++) {
+            int acquired = 0;
+            while (limiter.acquire(0)) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limiter.onSuccess(FAST);
+            }
+        }
+
+        assertEquals(10, limiter.limit());
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    void onSuccess_IdleTrafficDoesNotGrowLimit() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            limiter.acquire(0);
+            limiter.onSuccess(FAST);
+        }
+
+        assertEquals(4, limiter.limit());
+    }
+
+    @Test
+    void onSuccess_LatencySpikeShrinksLimit() throws Exception {
+        limiter.acquire(0);
+        limiter.onSuccess(FAST);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire(0);
+            limiter.onSuccess(SLOW);
+        }
+
+        assertEquals(2, limiter.limit());
+    }
+
+    @Test
+    void acquire_RejectsAfterMaxWait() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.acquire(0));
+        }
+
+        long start = System.nanoTime();
+        assertFalse(limiter.acquire(TimeUnit.MILLISECONDS.toNanos(30)));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(25));
+        assertFalse(limiter.acquire(0));
+    }
+
+    @Test
+    void acquire_WaiterGetsReleasedSlot() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            limiter.acquire(0);
+        }
+        Thread releaser = new Thread(() -> {
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException ignored) {
+                return;
+            }
+            limiter.onSuccess(FAST);
+        });
+        releaser.start();
+
+        assertTrue(limiter.acquire(TimeUnit.SECONDS.toNanos(2)));
+        releaser.join();
+    }
+
+    @Test
+    void client_OverloadStatusCountsAsDrop() throws Exception {
+        // Arrange
+        properties.setMaxWait(Duration.ZERO);
+        Counter rejected = new SimpleMeterRegistry().counter("rejected");
+        ConcurrencyLimitingClient client = new ConcurrencyLimitingClient(
+                (request, options) -> response(503), limiter, 0, rejected);
+
+        // Act
+        client.execute(request(), new Request.Options());
+        client.execute(request(), new Request.Options());
+        client.execute(request(), new Request.Options());
+
+        // Assert
+        assertEquals(2, limiter.limit());
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    void client_SocketTimeoutCountsAsDrop() {
+        // Arrange
+        Counter rejected = new SimpleMeterRegistry().counter("rejected");
+        ConcurrencyLimitingClient client = new ConcurrencyLimitingClient((request, options) -> {
+            throw new SocketTimeoutException("Read timed out");
+        }, limiter, 0, rejected);
+
+        // Act
+        assertThrows(SocketTimeoutException.class, () -> client.execute(request(), new Request.Options()));
+
+        // Assert
+        assertTrue(limiter.limit() < 4);
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    void client_CancelledCallIsIgnored() {
+        // Arrange
+        Counter rejected = new SimpleMeterRegistry().counter("rejected");
+        ConcurrencyLimitingClient client = new ConcurrencyLimitingClient((request, options) -> {
+            Thread.currentThread().interrupt();
+            throw new SocketException("Socket closed");
+        }, limiter, 0, rejected);
+
+        // Act
+        try {
+            assertThrows(SocketException.class, () -> client.execute(request(), new Request.Options()));
+        } finally {
+            Thread.interrupted();
+        }
+
+        // Assert
+        assertEquals(4, limiter.limit());
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    void client_RejectsWhenFull() throws Exception {
+        Counter rejected = new SimpleMeterRegistry().counter("rejected");
+        ConcurrencyLimitingClient client = new ConcurrencyLimitingClient(
+                (request, options) -> response(200), limiter, 0, rejected);
+        for (int i = 0; i < 4; i++) {
+            limiter.acquire(0);
+        }
+
+        assertThrows(ConcurrencyLimitExceededException.class, () -> client.execute(request(), new Request.Options()));
+        assertEquals(1, rejected.count());
+    }
+
+    private static Request request() {
+        return Request.create(Request.HttpMethod.GET, "https://dummyjson.com/auth/me", Map.of(), null,
+                StandardCharsets.UTF_8, null);
+    }
+
+    private static Response response(int status) {
+        return Response.builder().status(status).request(request()).headers(Map.of()).build();
+    }
+}
@@ -0,0 +1,112 @@
+package com.pruebatecnica.authdemo.config;
+
+import com.pruebatecnica.authdemo.cache.CachedUser;
+import com.pruebatecnica.authdemo.controller.AdminController;
+import com.pruebatecnica.authdemo.controller.AuthController;
+import com.pruebatecnica.authdemo.dto.LoginRequest;
+import com.pruebatecnica.authdemo.dto.LoginResponse;
+import com.pruebatecnica.authdemo.dto.UserResponse;
+import com.pruebatecnica.authdemo.dto.UsersListResponse;
+import com.pruebatecnica.authdemo.entity.LoginLog;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.type.filter.AssignableTypeFilter;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import java.lang.reflect.Method;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuthdemoRuntimeHintsTest {
+
+    @Test
+    void registerHints_CoversDtosAndLoginLog() {
+        RuntimeHints hints = new RuntimeHints();
+        new AuthdemoRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        for (Class<?> type : new Class<?>[]{LoginRequest.class, LoginResponse.class, UserResponse.class,
+                UsersListResponse.class, LoginLog.class, CachedUser.class}) {
+            assertTrue(RuntimeHintsPredicates.reflection().onType(type).test(hints), type.getName());
+        }
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(UserResponse.class, "getUsername").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("proto/authdemo.proto").test(hints));
+    }
+
+    @Test
+    void registerHints_CoversEveryJfrEvent() {
+        // Arrange
+        RuntimeHints hints = new RuntimeHints();
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AssignableTypeFilter(jdk.jfr.Event.class));
+
+        // Act
+        new AuthdemoRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        // Assert
+        var events = scanner.findCandidateComponents(AuthdemoRuntimeHints.BASE_PACKAGE);
+        assertFalse(events.isEmpty());
+        for (var event : events) {
+            Class<?> type = ClassUtils.resolveClassName(event.getBeanClassName(), getClass().getClassLoader());
+            assertTrue(RuntimeHintsPredicates.reflection().onType(type).test(hints), type.getName());
+        }
+    }
+
+    /**
+     * Guards against application types that Jackson (de)serializes at the web boundary
+     * living outside the dto package without a hint
+     */
+    @Test
+    void registerHints_CoversEveryApplicationTypeOfTheControllers() {
+        // Arrange
+        RuntimeHints hints = new RuntimeHints();
+        Set<Class<?>> types = new LinkedHashSet<>();
+        for (Class<?> controller : new Class<?>[]{AuthController.class, AdminController.class}) {
+            for (Method method : controller.getDeclaredMethods()) {
+                if (!AnnotatedElementUtils.hasAnnotation(method, RequestMapping.class)) {
+                    continue;
+                }
+                collect(ResolvableType.forMethodReturnType(method), types);
+                for (int i = 0; i < method.getParameterCount(); i++) {
+                    MethodParameter parameter = new MethodParameter(method, i);
+                    if (parameter.hasParameterAnnotation(RequestBody.class)) {
+                        collect(ResolvableType.forMethodParameter(parameter), types);
+                    }
+                }
+            }
+        }
+
+        // Act
+        new AuthdemoRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        // Assert
+        assertFalse(types.isEmpty());
+        for (Class<?> type : types) {
+            assertTrue(RuntimeHintsPredicates.reflection().onType(type).test(hints), type.getName());
+        }
+    }
+
+    private static void collect(ResolvableType type, Set<Class<?>> types) {
+        Class<?> raw = type.resolve();
+        if (raw == null) {
+            return;
+        }
+        if (raw.getName().startsWith(AuthdemoRuntimeHints.BASE_PACKAGE + ".") && types.add(raw)) {
+            for (var field : raw.getDeclaredFields()) {
+                collect(ResolvableType.forField(field), types);
+            }
+        }
+        for (ResolvableType generic : type.getGenerics()) {
+            collect(generic, types);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.pruebatecnica.authdemo.controller;
+
+import com.pruebatecnica.authdemo.dto.QueryStatsResponse;
+import com.pruebatecnica.authdemo.dto.RecordingResponse;
+import com.pruebatecnica.authdemo.profiling.RecordingManager;
+import com.pruebatecnica.authdemo.dto.SlowRequestResponse;
+import com.pruebatecnica.authdemo.querystats.QueryStatsService;
+import com.pruebatecnica.authdemo.timing.SlowRequestLog;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(AdminController.class)
+class AdminControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private SlowRequestLog slowRequestLog;
+
+    @MockBean
+    private QueryStatsService queryStatsService;
+
+    @MockBean
+    private RecordingManager recordingManager;
+
+    @Test
+    void getSlowRequests_Success() throws Exception {
+        // Arrange
+        SlowRequestResponse entry = new SlowRequestResponse(LocalDateTime.now(), "POST", "/api/auth/login",
+                200, 812.5, Map.of("upstream", 790.0));
+        when(slowRequestLog.getEntries()).thenReturn(List.of(entry));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/admin/slow-requests"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].path", is("/api/auth/login")))
+                .andExpect(jsonPath("$[0].stagesMs.upstream", is(790.0)));
+    }
+
+    @Test
+    void clearSlowRequests_Success() throws Exception {
+        // Act & Assert
+        mockMvc.perform(delete("/api/admin/slow-requests"))
+                .andExpect(status().isNoContent());
+
+        verify(slowRequestLog).clear();
+    }
+
+    @Test
+    void getQueryStats_Success() throws Exception {
+        // Arrange
+        QueryStatsResponse stats = new QueryStatsResponse(true, LocalDateTime.now(), 42, 30, 250,
+                "select l from LoginLog l", 12, 0, 5, 0, 0, 5, 8, 8,
+                Map.of("LoginLog", new QueryStatsResponse.EntityStats(12, 0, 5, 0, 0)),
+                List.of(new QueryStatsResponse.QueryStats("select l from LoginLog l", 30, 20, 250, 120)));
+        when(queryStatsService.getStats()).thenReturn(stats);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/admin/query-stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.statementsPrepared", is(42)))
+                .andExpect(jsonPath("$.entities.LoginLog.inserts", is(5)))
+                .andExpect(jsonPath("$.slowQueries", hasSize(1)))
+                .andExpect(jsonPath("$.slowQueries[0].maxMs", is(250)));
+    }
+
+    @Test
+    void resetQueryStats_Success() throws Exception {
+        // Act & Assert
+        mockMvc.perform(delete("/api/admin/query-stats"))
+                .andExpect(status().isNoContent());
+
+        verify(queryStatsService).reset();
+    }
+
+    @Test
+    void startRecording_Success() throws Exception {
+        // Arrange
+        RecordingResponse recording = new RecordingResponse(7, "authdemo-on-demand", "RUNNING",
+                LocalDateTime.now(), null, 30L, 0);
+        when(recordingManager.start(Duration.ofSeconds(30))).thenReturn(recording);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/admin/profiling/recordings").param("duration", "30s"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id", is(7)))
+                .andExpect(jsonPath("$.state", is("RUNNING")))
+                .andExpect(jsonPath("$.durationSeconds", is(30)));
+    }
+
+    @Test
+    void startRecording_InvalidDuration_ReturnsBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/admin/profiling/recordings").param("duration", "soon"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code", is("AUTH_002")));
+    }
+
+    @Test
+    void startRecording_AlreadyRunning_ReturnsConflict() throws Exception {
+        // Arrange
+        when(recordingManager.start(null)).thenThrow(new IllegalStateException("running"));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/admin/profiling/recordings"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.code", is("AUTH_007")));
+    }
+
+    @Test
+    void downloadRecording_StreamsDumpAndDeletesIt() throws Exception {
+        // Arrange
+        Path dump = Files.createTempFile("authdemo-test-", ".jfr");
+        Files.write(dump, new byte[]{1, 2, 3});
+        when(recordingManager.dump(7)).thenReturn(Optional.of(dump));
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/admin/profiling/recordings/7/file"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", containsString("authdemo-7.jfr")))
+                .andExpect(content().bytes(new byte[]{1, 2, 3}));
+        assertFalse(Files.exists(dump));
+    }
+
+    @Test
+    void downloadRecording_Unknown_ReturnsNotFound() throws Exception {
+        // Arrange
+        when(recordingManager.dump(99)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/admin/profiling/recordings/99/file"))
+                .andExpect(status().isNotFound());
+    }
+}
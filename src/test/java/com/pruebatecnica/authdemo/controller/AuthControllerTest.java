@@ -1,29 +1,51 @@
 package com.pruebatecnica.authdemo.controller;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchemaLoader;
+import com.pruebatecnica.authdemo.codec.ProtobufSchemaHttpMessageConverter;
+import com.pruebatecnica.authdemo.concurrency.ConcurrencyLimitExceededException;
 import com.pruebatecnica.authdemo.dto.ErrorResponse;
 import com.pruebatecnica.authdemo.dto.LoginRequest;
 import com.pruebatecnica.authdemo.dto.LoginResponse;
 import com.pruebatecnica.authdemo.dto.UserResponse;
+import com.pruebatecnica.authdemo.dto.UserSearchResponse;
 import com.pruebatecnica.authdemo.dto.UsersListResponse;
 import com.pruebatecnica.authdemo.entity.LoginLog;
+import com.pruebatecnica.authdemo.event.LoginEventBroadcaster;
+import com.pruebatecnica.authdemo.passthrough.UsersPassthrough;
+import com.pruebatecnica.authdemo.ratelimit.LoginRateLimiter;
+import com.pruebatecnica.authdemo.ratelimit.RateLimitDecision;
 import com.pruebatecnica.authdemo.service.AuthService;
+import com.pruebatecnica.authdemo.service.InvalidCredentialsException;
+import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -37,6 +59,15 @@ class AuthControllerTest {
     @MockBean
     private AuthService authService;
 
+    @MockBean
+    private LoginRateLimiter loginRateLimiter;
+
+    @MockBean
+    private LoginEventBroadcaster loginEventBroadcaster;
+
+    @MockBean
+    private UsersPassthrough usersPassthrough;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -47,6 +78,8 @@ class AuthControllerTest {
 
     @BeforeEach
     void setUp() {
+        when(loginRateLimiter.tryAcquire(any(), any())).thenReturn(RateLimitDecision.allow());
+
         loginRequest = new LoginRequest("emilys", "emilyspass");
 
         loginResponse = new LoginResponse();
@@ -102,13 +135,14 @@ class AuthControllerTest {
     void login_InvalidCredentials() throws Exception {
         // Arrange
         when(authService.authenticateUser(any(LoginRequest.class)))
-                .thenThrow(new RuntimeException("Authentication failed: Invalid credentials"));
+                .thenThrow(new InvalidCredentialsException("emilys"));
 
         // Act & Assert
         mockMvc.perform(post("/api/auth/login")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(loginRequest)))
-                .andExpect(status().isBadRequest());
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code", is("AUTH_009")));
     }
 
     @Test
@@ -120,6 +154,50 @@ class AuthControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void login_RateLimited_Returns429WithRetryAfter() throws Exception {
+        // Arrange
+        when(loginRateLimiter.tryAcquire(any(), any()))
+                .thenReturn(RateLimitDecision.reject(1_500_000_000L));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.code", is("AUTH_003")));
+
+        verify(authService, never()).authenticateUser(any(LoginRequest.class));
+    }
+
+    @Test
+    void login_UpstreamConcurrencyLimit_Returns503WithRetryAfter() throws Exception {
+        // Arrange
+        when(authService.authenticateUser(any(LoginRequest.class)))
+                .thenThrow(new ConcurrencyLimitExceededException(20));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.code", is("AUTH_008")));
+    }
+
+    @Test
+    void getAllUsers_UpstreamConcurrencyLimit_Returns503WithRetryAfter() throws Exception {
+        // Arrange
+        when(authService.getAllUsers()).thenThrow(new ConcurrencyLimitExceededException(20));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/auth/users"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.code", is("AUTH_008")));
+    }
+
     @Test
     void getCurrentUser_Success_WithCookie() throws Exception {
         // Arrange
@@ -199,6 +277,67 @@ class AuthControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void getAllUsers_PassthroughIsFallbackUntilDirectoryLoads() throws Exception {
+        // Arrange
+        when(authService.isUserDirectoryLoaded()).thenReturn(false);
+        when(usersPassthrough.accepts(any())).thenReturn(true);
+        doAnswer(invocation -> {
+            HttpServletResponse response = invocation.getArgument(0);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getOutputStream().write("{\"users\":[],\"total\":0}".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(usersPassthrough).proxyAllUsers(any());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/auth/users"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", is(0)));
+        verify(authService, never()).getAllUsers();
+    }
+
+    @Test
+    void getAllUsers_DirectoryLoadedSkipsPassthrough() throws Exception {
+        // Arrange
+        UsersListResponse usersResponse = new UsersListResponse(List.of(userResponse), 1, 0, 1);
+        when(authService.isUserDirectoryLoaded()).thenReturn(true);
+        when(usersPassthrough.accepts(any())).thenReturn(true);
+        when(authService.getAllUsers()).thenReturn(usersResponse);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/auth/users"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users[0].username", is("emilys")));
+        verify(usersPassthrough, never()).proxyAllUsers(any());
+    }
+
+    @Test
+    void searchUsers_Success() throws Exception {
+        // Arrange
+        UserSearchResponse searchResponse = new UserSearchResponse(List.of(userResponse), 3, "ZW1pbHlz");
+        when(authService.searchUsers("em", 1, null)).thenReturn(searchResponse);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/auth/users").param("q", "em").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users", hasSize(1)))
+                .andExpect(jsonPath("$.users[0].username", is("emilys")))
+                .andExpect(jsonPath("$.total", is(3)))
+                .andExpect(jsonPath("$.nextCursor", is("ZW1pbHlz")));
+    }
+
+    @Test
+    void searchUsers_DirectoryNotLoaded() throws Exception {
+        // Arrange
+        when(authService.searchUsers(any(), any(), any()))
+                .thenThrow(new IllegalStateException("User directory is not loaded yet"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/auth/users").param("q", "em"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.code", is("AUTH_004")));
+    }
+
     @Test
     void getLoginHistory_Success() throws Exception {
         // Arrange
@@ -212,6 +351,57 @@ class AuthControllerTest {
                 .andExpect(jsonPath("$[0].username", is("emilys")));
     }
 
+    @Test
+    void getLoginHistory_Cbor() throws Exception {
+        // Arrange
+        when(authService.getLoginHistory("emilys")).thenReturn(loginLogs);
+        ObjectMapper cborMapper = new ObjectMapper(new CBORFactory()).findAndRegisterModules();
+
+        // Act
+        byte[] body = mockMvc.perform(get("/api/auth/login-history/emilys").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Assert
+        List<LoginLog> decoded = cborMapper.readValue(body, new TypeReference<List<LoginLog>>() { });
+        assertEquals(loginLogs.get(0).getId(), decoded.get(0).getId());
+        assertEquals(loginLogs.get(0).getLoginTime(), decoded.get(0).getLoginTime());
+    }
+
+    @Test
+    void getAllUsers_Protobuf() throws Exception {
+        // Arrange
+        when(authService.getAllUsers()).thenReturn(new UsersListResponse(List.of(userResponse), 1, 0, 30));
+
+        // Act
+        byte[] body = mockMvc.perform(get("/api/auth/users").accept(ProtobufSchemaHttpMessageConverter.PROTOBUF))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(ProtobufSchemaHttpMessageConverter.PROTOBUF))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Assert
+        ProtobufMapper protobufMapper = new ProtobufMapper();
+        ProtobufSchema schema;
+        try (InputStream in = new ClassPathResource(ProtobufSchemaHttpMessageConverter.SCHEMA_LOCATION).getInputStream()) {
+            schema = ProtobufSchemaLoader.std.load(in).getSource().forType("UsersListResponse");
+        }
+        UsersListResponse decoded = protobufMapper.readerFor(UsersListResponse.class).with(schema).readValue(body);
+        assertEquals(1, decoded.getTotal());
+        assertEquals("emilys", decoded.getUsers().get(0).getUsername());
+    }
+
+    @Test
+    void getLoginHistory_DefaultsToJsonForWildcardAccept() throws Exception {
+        // Arrange
+        when(authService.getLoginHistory("emilys")).thenReturn(loginLogs);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/auth/login-history/emilys").accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
     @Test
     void getLoginHistory_EmptyResult() throws Exception {
         // Arrange
@@ -259,6 +449,34 @@ class AuthControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void streamLoginLogs_StartsAsyncStream() throws Exception {
+        // Arrange
+        when(loginEventBroadcaster.subscribe("emilys", "2025-06-18T15:42:11.123456"))
+                .thenReturn(new SseEmitter());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/auth/login-logs/stream")
+                .param("username", "emilys")
+                .header("Last-Event-ID", "2025-06-18T15:42:11.123456")
+                .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+
+        verify(loginEventBroadcaster).subscribe("emilys", "2025-06-18T15:42:11.123456");
+    }
+
+    @Test
+    void streamLoginLogs_TooManySubscribers() throws Exception {
+        // Arrange
+        when(loginEventBroadcaster.subscribe(any(), any()))
+                .thenThrow(new IllegalStateException("Too many login stream subscribers"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/auth/login-logs/stream")
+                .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isServiceUnavailable());
+    }
+
     @Test
     void corsHeadersPresent() throws Exception {
         // Act & Assert
@@ -0,0 +1,99 @@
+package com.pruebatecnica.authdemo.directory;
+
+import com.pruebatecnica.authdemo.client.DummyJsonClient;
+import com.pruebatecnica.authdemo.dto.UserResponse;
+import com.pruebatecnica.authdemo.dto.UsersListResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserDirectoryTest {
+
+    @Mock
+    private DummyJsonClient dummyJsonClient;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private UserDirectoryProperties properties;
+    private UserDirectory userDirectory;
+
+    @BeforeEach
+    void setUp() {
+        properties = new UserDirectoryProperties();
+        properties.setPageSize(2);
+        properties.setMaxConcurrency(2);
+        userDirectory = new UserDirectory(dummyJsonClient, properties, eventPublisher);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userDirectory.shutdown();
+    }
+
+    @Test
+    void refresh_FetchesEveryPage() {
+        // Arrange
+        when(dummyJsonClient.getUsers(eq(2), eq(0), anyString())).thenReturn(page(5, 0, "u0", "u1"));
+        when(dummyJsonClient.getUsers(eq(2), eq(2), anyString())).thenReturn(page(5, 2, "u2", "u3"));
+        when(dummyJsonClient.getUsers(eq(2), eq(4), anyString())).thenReturn(page(5, 4, "u4"));
+
+        // Act
+        userDirectory.refresh();
+
+        // Assert
+        assertTrue(userDirectory.isLoaded());
+        assertEquals(5, userDirectory.size());
+        assertEquals(5, userDirectory.search("u", null, 10).getTotal());
+        verify(dummyJsonClient, times(3)).getUsers(eq(2), anyInt(), eq(properties.getSelect()));
+        ArgumentCaptor<Object> event = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(5, ((UserDirectoryRefreshedEvent) event.getValue()).usernames().size());
+    }
+
+    @Test
+    void refresh_KeepsPreviousSnapshotOnFailure() {
+        // Arrange
+        when(dummyJsonClient.getUsers(eq(2), eq(0), anyString()))
+                .thenReturn(page(1, 0, "u0"))
+                .thenThrow(new RuntimeException("Service unavailable"));
+        userDirectory.refresh();
+
+        // Act
+        userDirectory.refresh();
+
+        // Assert
+        assertEquals(1, userDirectory.size());
+    }
+
+    @Test
+    void search_BeforeFirstLoad() {
+        assertThrows(IllegalStateException.class, () -> userDirectory.search("", null, 10));
+    }
+
+    private static UsersListResponse page(int total, int skip, String... usernames) {
+        List<UserResponse> users = new ArrayList<>();
+        for (String username : usernames) {
+            UserResponse user = new UserResponse();
+            user.setUsername(username);
+            user.setEmail(username + "@x.dummyjson.com");
+            users.add(user);
+        }
+        return new UsersListResponse(users, total, skip, 2);
+    }
+}
@@ -0,0 +1,103 @@
+package com.pruebatecnica.authdemo.directory;
+
+import com.pruebatecnica.authdemo.dto.UserResponse;
+import com.pruebatecnica.authdemo.dto.UserSearchResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserIndexTest {
+
+    private UserIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = UserIndex.build(List.of(
+                user("michaelw", "michael.williams@x.dummyjson.com"),
+                user("emilys", "emily.johnson@x.dummyjson.com"),
+                user("emmaj", "emma.miller@x.dummyjson.com"),
+                user("jamesd", "james.davis@x.dummyjson.com"),
+                user("sophiab", "sophia.brown@x.dummyjson.com")));
+    }
+
+    @Test
+    void search_MatchesUsernamePrefixInUsernameOrder() {
+        UserSearchResponse result = index.search("em", null, 10);
+
+        assertEquals(2, result.getTotal());
+        assertEquals(List.of("emilys", "emmaj"), usernames(result));
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void search_MatchesEmailPrefixIgnoringCase() {
+        UserSearchResponse result = index.search("Emily.J", null, 10);
+
+        assertEquals(List.of("emilys"), usernames(result));
+    }
+
+    @Test
+    void search_PagesWithCursorUntilExhausted() {
+        UserSearchResponse first = index.search("", null, 2);
+        assertEquals(5, first.getTotal());
+        assertEquals(List.of("emilys", "emmaj"), usernames(first));
+        assertNotNull(first.getNextCursor());
+
+        UserSearchResponse second = index.search("", first.getNextCursor(), 2);
+        assertEquals(List.of("jamesd", "michaelw"), usernames(second));
+
+        UserSearchResponse third = index.search("", second.getNextCursor(), 2);
+        assertEquals(List.of("sophiab"), usernames(third));
+        assertNull(third.getNextCursor());
+    }
+
+    @Test
+    void search_MergesEmailMatchesOutsideUsernameRangeAcrossPages() {
+        UserIndex mixed = UserIndex.build(List.of(
+                user("zed", "jz@x.dummyjson.com"),
+                user("jamesd", "james.davis@x.dummyjson.com"),
+                user("adam", "jay@x.dummyjson.com"),
+                user("kate", "kate@x.dummyjson.com")));
+
+        UserSearchResponse first = mixed.search("j", null, 2);
+        UserSearchResponse second = mixed.search("j", first.getNextCursor(), 2);
+
+        assertEquals(3, first.getTotal());
+        assertEquals(List.of("adam", "jamesd"), usernames(first));
+        assertEquals(List.of("zed"), usernames(second));
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void all_KeepsSourceOrder() {
+        assertEquals(List.of("michaelw", "emilys", "emmaj", "jamesd", "sophiab"),
+                index.all().stream().map(UserResponse::getUsername).toList());
+    }
+
+    @Test
+    void search_NoMatches() {
+        UserSearchResponse result = index.search("zz", null, 10);
+
+        assertEquals(0, result.getTotal());
+        assertTrue(result.getUsers().isEmpty());
+    }
+
+    @Test
+    void search_InvalidCursor() {
+        assertThrows(IllegalArgumentException.class, () -> index.search("", "%%%", 10));
+    }
+
+    private static List<String> usernames(UserSearchResponse response) {
+        return response.getUsers().stream().map(UserResponse::getUsername).toList();
+    }
+
+    private static UserResponse user(String username, String email) {
+        UserResponse user = new UserResponse();
+        user.setUsername(username);
+        user.setEmail(email);
+        return user;
+    }
+}
@@ -0,0 +1,161 @@
+package com.pruebatecnica.authdemo.event;
+
+import com.pruebatecnica.authdemo.repository.LoginLogStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LoginEventBroadcasterTest {
+
+    private static final LocalDateTime LOGIN_TIME = LocalDateTime.of(2024, 1, 1, 12, 0, 0, 123_456_000);
+
+    private LoginStreamProperties properties;
+    private LoginLogStore loginLogStore;
+    private final CountDownLatch releaseWrites = new CountDownLatch(1);
+    private final Deque<SseEmitter> emitters = new ArrayDeque<>();
+    private LoginEventBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        properties = new LoginStreamProperties();
+        properties.setSendTimeout(Duration.ofMillis(100));
+        loginLogStore = mock(LoginLogStore.class);
+        broadcaster = new LoginEventBroadcaster(properties, loginLogStore) {
+            @Override
+            SseEmitter createEmitter() {
+                return emitters.removeFirst();
+            }
+        };
+    }
+
+    @AfterEach
+    void tearDown() {
+        releaseWrites.countDown();
+        broadcaster.shutdown();
+    }
+
+    @Test
+    void onLoginSucceeded_StalledSubscribersAreDroppedAndTheirThreadsReplaced() throws Exception {
+        // Arrange
+        for (int i = 0; i < 2 * properties.getDeliveryThreads(); i++) {
+            emitters.add(new BlockingEmitter(releaseWrites));
+            broadcaster.subscribe(null, null);
+        }
+        CountDownLatch delivered = new CountDownLatch(1);
+        emitters.add(new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) {
+                delivered.countDown();
+            }
+        });
+        broadcaster.subscribe(null, null);
+
+        // Act
+        broadcaster.onLoginSucceeded(new LoginSucceededEvent(UUID.randomUUID(), "emilys", LOGIN_TIME));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(3);
+        while ((delivered.getCount() > 0 || broadcaster.getSubscriberCount() > 1) && System.nanoTime() < deadline) {
+            Thread.sleep(150);
+            broadcaster.disconnectStalledSubscribers();
+        }
+
+        // Assert
+        assertEquals(0, delivered.getCount());
+        assertEquals(1, broadcaster.getSubscriberCount());
+    }
+
+    @Test
+    void sendHeartbeats_UsesOnlyTheDeliveryThreads() throws Exception {
+        // Arrange
+        int subscribers = 100;
+        CountDownLatch heartbeats = new CountDownLatch(subscribers);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        for (int i = 0; i < subscribers; i++) {
+            emitters.add(new SseEmitter() {
+                @Override
+                public void send(SseEventBuilder builder) {
+                    threads.add(Thread.currentThread().getName());
+                    heartbeats.countDown();
+                }
+            });
+            broadcaster.subscribe(null, null);
+        }
+
+        // Act
+        broadcaster.sendHeartbeats();
+
+        // Assert
+        assertTrue(heartbeats.await(2, TimeUnit.SECONDS));
+        assertTrue(threads.size() <= properties.getDeliveryThreads(), threads.toString());
+    }
+
+    @Test
+    void subscribe_ResumesAfterLoginTimeAndId() {
+        // Arrange
+        UUID lastId = UUID.randomUUID();
+        emitters.add(new SseEmitter());
+        when(loginLogStore.findAfterPosition(any(), any(), any())).thenReturn(List.of());
+
+        // Act
+        broadcaster.subscribe(null, LOGIN_TIME + "/" + lastId);
+
+        // Assert
+        verify(loginLogStore).findAfterPosition(eq(LOGIN_TIME), eq(lastId), any(Pageable.class));
+    }
+
+    @Test
+    void subscribe_TimeOnlyEventIdResumesAtStartOfThatInstant() {
+        // Arrange
+        emitters.add(new SseEmitter());
+        when(loginLogStore.findByUsernameIgnoreCaseAfterPosition(any(), any(), any(), any())).thenReturn(List.of());
+
+        // Act
+        broadcaster.subscribe("emilys", LOGIN_TIME.toString());
+
+        // Assert
+        verify(loginLogStore).findByUsernameIgnoreCaseAfterPosition(
+                eq("emilys"), eq(LOGIN_TIME), eq(new UUID(0, 0)), any(Pageable.class));
+    }
+
+    /**
+     * Write that blocks like a socket whose peer stopped reading, ignoring interrupts
+     */
+    private static final class BlockingEmitter extends SseEmitter {
+        private final CountDownLatch release;
+
+        private BlockingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            while (true) {
+                try {
+                    release.await();
+                    return;
+                } catch (InterruptedException e) {
+                    // keep blocking
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.pruebatecnica.authdemo.event;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginEventSubscriptionTest {
+
+    private LoginStreamProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new LoginStreamProperties();
+        properties.setBufferSize(2);
+    }
+
+    @Test
+    void accepts_FiltersByUsernameIgnoringCase() {
+        LoginEventSubscription subscription = new LoginEventSubscription(new SseEmitter(), "Emilys", properties);
+
+        assertTrue(subscription.accepts(event("emilys")));
+        assertFalse(subscription.accepts(event("michaelw")));
+    }
+
+    @Test
+    void offer_DropOldestKeepsNewestEvents() {
+        LoginEventSubscription subscription = live(new LoginEventSubscription(new SseEmitter(), null, properties));
+        LoginSucceededEvent first = event("user1");
+        LoginSucceededEvent second = event("user2");
+        LoginSucceededEvent third = event("user3");
+
+        assertTrue(subscription.offer(first));
+        assertTrue(subscription.offer(second));
+        assertTrue(subscription.offer(third));
+
+        assertEquals(second, subscription.poll());
+        assertEquals(third, subscription.poll());
+        assertNull(subscription.poll());
+    }
+
+    @Test
+    void offer_DisconnectPolicyRejectsWhenFull() {
+        properties.setOverflowPolicy(LoginStreamProperties.OverflowPolicy.DISCONNECT);
+        LoginEventSubscription subscription = live(new LoginEventSubscription(new SseEmitter(), null, properties));
+
+        assertTrue(subscription.offer(event("user1")));
+        assertTrue(subscription.offer(event("user2")));
+        assertFalse(subscription.offer(event("user3")));
+    }
+
+    @Test
+    void finishReplay_SkipsLiveEventsAlreadyReplayed() {
+        LoginEventSubscription subscription = new LoginEventSubscription(new SseEmitter(), null, properties);
+        LoginSucceededEvent replayed = event("user1");
+        LoginSucceededEvent live = event("user2");
+
+        subscription.offer(replayed);
+        subscription.offer(live);
+        subscription.replay(List.of(replayed));
+        assertTrue(subscription.finishReplay());
+
+        assertEquals(replayed, subscription.poll());
+        assertEquals(live, subscription.poll());
+        assertNull(subscription.poll());
+    }
+
+    private static LoginEventSubscription live(LoginEventSubscription subscription) {
+        subscription.finishReplay();
+        return subscription;
+    }
+
+    private static LoginSucceededEvent event(String username) {
+        return new LoginSucceededEvent(UUID.randomUUID(), username, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,261 @@
+package com.pruebatecnica.authdemo.hedging;
+
+import feign.Client;
+import feign.Contract;
+import feign.MethodMetadata;
+import feign.Request;
+import feign.RequestLine;
+import feign.RequestTemplate;
+import feign.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HedgingClientTest {
+
+    interface Upstream {
+        @RequestLine("GET /auth/me")
+        String getCurrentUser();
+
+        @RequestLine("POST /auth/login")
+        String login();
+    }
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ThreadPoolExecutor executor = (ThreadPoolExecutor) Executors.newCachedThreadPool();
+    private HedgingProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new HedgingProperties();
+        properties.setEnabled(true);
+        properties.setInitialDelay(Duration.ofMillis(50));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute_FastPrimaryIsNotHedged() throws Exception {
+        // Arrange
+        AtomicInteger calls = new AtomicInteger();
+        HedgingClient client = client((request, options) -> {
+            calls.incrementAndGet();
+            return response("primary", new CountDownLatch(1));
+        });
+
+        // Act
+        Response response = client.execute(request("getCurrentUser"), new Request.Options());
+
+        // Assert
+        assertEquals("primary", body(response));
+        assertEquals(1, calls.get());
+        assertEquals(0, count("authdemo.hedging.hedges"));
+    }
+
+    @Test
+    void execute_SlowPrimaryLosesToHedgeAndIsClosed() throws Exception {
+        // Arrange
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch primaryClosed = new CountDownLatch(1);
+        HedgingClient client = client((request, options) -> {
+            if (calls.incrementAndGet() == 1) {
+                sleepUninterruptibly(300);
+                return response("primary", primaryClosed);
+            }
+            return response("hedge", new CountDownLatch(1));
+        });
+
+        // Act
+        Response response = client.execute(request("getCurrentUser"), new Request.Options());
+
+        // Assert
+        assertEquals("hedge", body(response));
+        assertTrue(primaryClosed.await(2, TimeUnit.SECONDS));
+        assertEquals(1, count("authdemo.hedging.hedges"));
+        assertEquals(1, meterRegistry.get("authdemo.hedging.wins").tag("winner", "hedge").counter().count());
+    }
+
+    @Test
+    void execute_LosingAttemptBlockedOnSocketIsAborted() throws Exception {
+        // Arrange
+        CountDownLatch primaryClosedByClient = new CountDownLatch(1);
+        try (ServerSocket server = new ServerSocket(0)) {
+            Thread upstream = Thread.ofVirtual().start(() -> serve(server, primaryClosedByClient));
+            HedgingClient client = client(new AbortableClient(null, null));
+            Request.Options options = new Request.Options(1, TimeUnit.SECONDS, 10, TimeUnit.SECONDS, true);
+
+            // Act
+            Response response = client.execute(request("getCurrentUser", "http://127.0.0.1:" + server.getLocalPort()),
+                    options);
+
+            // Assert
+            assertEquals("hedge", body(response));
+            assertTrue(primaryClosedByClient.await(2, TimeUnit.SECONDS));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+            while (executor.getActiveCount() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(0, executor.getActiveCount());
+            upstream.interrupt();
+        }
+    }
+
+    @Test
+    void execute_LoginIsNotHedgedUnlessConfigured() throws Exception {
+        // Arrange
+        Thread caller = Thread.currentThread();
+        HedgingClient client = client((request, options) -> {
+            assertSame(caller, Thread.currentThread());
+            return response("login", new CountDownLatch(1));
+        });
+
+        // Act
+        Response response = client.execute(request("login"), new Request.Options());
+
+        // Assert
+        assertEquals("login", body(response));
+        assertTrue(meterRegistry.find("authdemo.hedging.requests").counters().isEmpty());
+    }
+
+    @Test
+    void execute_ExhaustedBudgetWaitsForPrimary() throws Exception {
+        // Arrange
+        properties.setBudgetBurst(0);
+        properties.setBudgetPercent(0);
+        AtomicInteger calls = new AtomicInteger();
+        HedgingClient client = client((request, options) -> {
+            calls.incrementAndGet();
+            sleepUninterruptibly(100);
+            return response("primary", new CountDownLatch(1));
+        });
+
+        // Act
+        Response response = client.execute(request("getCurrentUser"), new Request.Options());
+
+        // Assert
+        assertEquals("primary", body(response));
+        assertEquals(1, calls.get());
+        assertEquals(1, count("authdemo.hedging.budget.exhausted"));
+    }
+
+    @Test
+    void budget_AllowsConfiguredPercentage() {
+        HedgeBudget budget = new HedgeBudget(10, 1);
+        assertTrue(budget.tryWithdraw());
+        assertFalse(budget.tryWithdraw());
+
+        for (int i = 0; i < 9; i++) {
+            budget.deposit();
+        }
+        assertFalse(budget.tryWithdraw());
+        budget.deposit();
+        assertTrue(budget.tryWithdraw());
+    }
+
+    @Test
+    void latencyWindow_ReportsPercentile() {
+        LatencyWindow window = new LatencyWindow(100, 95);
+        for (int i = 1; i <= 160; i++) {
+            window.record(i);
+        }
+
+        // Window holds 61..160
+        assertEquals(155, window.percentileNanos());
+    }
+
+    private HedgingClient client(Client delegate) {
+        HedgeBudget budget = new HedgeBudget(properties.getBudgetPercent(), properties.getBudgetBurst());
+        return new HedgingClient(delegate, properties, budget, executor, meterRegistry);
+    }
+
+    private double count(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+
+    private static Request request(String method) {
+        return request(method, "https://dummyjson.com");
+    }
+
+    private static Request request(String method, String target) {
+        MethodMetadata metadata = new Contract.Default().parseAndValidateMetadata(Upstream.class).stream()
+                .filter(candidate -> candidate.method().getName().equals(method))
+                .findFirst()
+                .orElseThrow();
+        RequestTemplate template = new RequestTemplate().method(Request.HttpMethod.GET).uri("/auth/me");
+        template.methodMetadata(metadata);
+        template.target(target);
+        return template.resolve(Map.of()).request();
+    }
+
+    private static Response response(String body, CountDownLatch closed) {
+        InputStream stream = new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public void close() {
+                closed.countDown();
+            }
+        };
+        return Response.builder()
+                .status(200)
+                .request(Request.create(Request.HttpMethod.GET, "https://dummyjson.com/auth/me", Map.of(), null,
+                        StandardCharsets.UTF_8, null))
+                .headers(Map.of("Content-Type", List.of("application/json")))
+                .body(stream, body.length())
+                .build();
+    }
+
+    private static String body(Response response) throws Exception {
+        return new String(response.body().asInputStream().readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Never answers the first connection and reports when the client closes it; answers the second one
+     */
+    private static void serve(ServerSocket server, CountDownLatch primaryClosedByClient) {
+        try (Socket primary = server.accept(); Socket hedge = server.accept()) {
+            OutputStream out = hedge.getOutputStream();
+            out.write(("HTTP/1.1 200 OK\r\nContent-Type: application/json\r\nContent-Length: 5\r\n"
+                    + "Connection: close\r\n\r\nhedge").getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            primary.setSoTimeout(5_000);
+            InputStream in = primary.getInputStream();
+            while (in.read() >= 0) {
+                // drain the request until the client closes the socket
+            }
+            primaryClosedByClient.countDown();
+        } catch (Exception e) {
+            // the test fails on the latch
+        }
+    }
+
+    private static void sleepUninterruptibly(long millis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            } catch (InterruptedException e) {
+                // keep sleeping: a real socket read ignores interrupts as well
+            }
+        }
+    }
+}
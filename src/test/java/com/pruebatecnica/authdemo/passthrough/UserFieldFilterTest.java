@@ -0,0 +1,54 @@
+package com.pruebatecnica.authdemo.passthrough;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserFieldFilterTest {
+
+    private final JsonFactory factory = new JsonFactory();
+
+    @Test
+    void copy_KeepsOnlyPublicFields() throws Exception {
+        String upstream = """
+                {"users":[{"id":1,"username":"emilys","password":"emilyspass","email":"emily@x.com",
+                "address":{"city":"Phoenix","coordinates":{"lat":1.5}},"hair":{"color":"Brown"},
+                "birthDate":"1996-5-30"}],"total":208,"skip":0,"limit":30,"extra":[1,2,3]}
+                """;
+
+        String filtered = filter(upstream);
+
+        assertEquals("{\"users\":[{\"id\":1,\"username\":\"emilys\",\"email\":\"emily@x.com\","
+                + "\"birthDate\":\"1996-5-30\"}],\"total\":208,\"skip\":0,\"limit\":30}", filtered);
+    }
+
+    @Test
+    void copy_PreservesEscapesAndNulls() throws Exception {
+        String filtered = filter("{\"users\":[{\"firstName\":\"Zo\\u00eb \\\"Z\\\"\",\"image\":null}],\"total\":1}");
+
+        assertEquals("{\"users\":[{\"firstName\":\"Zoë \\\"Z\\\"\",\"image\":null}],\"total\":1}", filtered);
+    }
+
+    @Test
+    void copy_RejectsNonObjectPayload() {
+        assertThrows(Exception.class, () -> filter("[1,2]"));
+    }
+
+    @Test
+    void select_MatchesUserResponseFields() {
+        assertEquals("id,username,email,firstName,lastName,gender,image,phone,birthDate", UserFieldFilter.SELECT);
+    }
+
+    private String filter(String json) throws Exception {
+        StringWriter out = new StringWriter();
+        try (JsonParser parser = factory.createParser(json); JsonGenerator generator = factory.createGenerator(out)) {
+            UserFieldFilter.copy(parser, generator);
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,138 @@
+package com.pruebatecnica.authdemo.passthrough;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pruebatecnica.authdemo.client.DummyJsonClient;
+import feign.Request;
+import feign.Response;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UsersPassthroughTest {
+
+    private static final String BODY = "{\"users\":[{\"id\":1,\"username\":\"emilys\",\"password\":\"x\"}],\"total\":1}";
+
+    @Mock
+    private DummyJsonClient dummyJsonClient;
+
+    private PassthroughProperties properties;
+    private UsersPassthrough passthrough;
+
+    @BeforeEach
+    void setUp() {
+        properties = new PassthroughProperties();
+        passthrough = new UsersPassthrough(properties, dummyJsonClient, new ObjectMapper());
+    }
+
+    @Test
+    void accepts_OnlyJsonCompatibleRequestsWhenEnabled() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        assertFalse(passthrough.accepts(request));
+
+        properties.setMode(PassthroughProperties.Mode.FILTERED);
+        assertTrue(passthrough.accepts(request));
+        request.addHeader("Accept", "application/xml");
+        assertFalse(passthrough.accepts(request));
+
+        MockHttpServletRequest wildcard = new MockHttpServletRequest();
+        wildcard.addHeader("Accept", "text/html, */*;q=0.8");
+        assertTrue(passthrough.accepts(wildcard));
+    }
+
+    @Test
+    void accepts_StepsAsideWhenBinaryFormatIsPreferred() {
+        properties.setMode(PassthroughProperties.Mode.FILTERED);
+
+        MockHttpServletRequest cbor = new MockHttpServletRequest();
+        cbor.addHeader("Accept", "application/cbor, */*");
+        assertFalse(passthrough.accepts(cbor));
+
+        MockHttpServletRequest protobuf = new MockHttpServletRequest();
+        protobuf.addHeader("Accept", "application/x-protobuf;q=0.9, application/json");
+        assertTrue(passthrough.accepts(protobuf));
+        protobuf = new MockHttpServletRequest();
+        protobuf.addHeader("Accept", "application/x-protobuf, application/json;q=0.5");
+        assertFalse(passthrough.accepts(protobuf));
+    }
+
+    @Test
+    void proxyAllUsers_RawCopiesBytesAndLength() throws Exception {
+        // Arrange
+        properties.setMode(PassthroughProperties.Mode.RAW);
+        when(dummyJsonClient.getAllUsersRaw(DummyJsonClient.ALL_USERS, UserFieldFilter.SELECT))
+                .thenReturn(response(200, Map.of("Content-Type", List.of("application/json; charset=utf-8"))));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        passthrough.proxyAllUsers(response);
+
+        // Assert
+        assertEquals(200, response.getStatus());
+        assertEquals(BODY, response.getContentAsString());
+        assertEquals(BODY.length(), response.getContentLength());
+        assertEquals("application/json;charset=utf-8", response.getContentType().replace(" ", ""));
+    }
+
+    @Test
+    void proxyAllUsers_RawDropsLengthOfCompressedBody() throws Exception {
+        properties.setMode(PassthroughProperties.Mode.RAW);
+        when(dummyJsonClient.getAllUsersRaw(DummyJsonClient.ALL_USERS, UserFieldFilter.SELECT))
+                .thenReturn(response(200, Map.of("Content-Encoding", List.of("gzip"))));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        passthrough.proxyAllUsers(response);
+
+        assertEquals(0, response.getContentLength());
+        assertNull(response.getHeader("Content-Length"));
+    }
+
+    @Test
+    void proxyAllUsers_FilteredStripsPrivateFields() throws Exception {
+        // Arrange
+        properties.setMode(PassthroughProperties.Mode.FILTERED);
+        when(dummyJsonClient.getAllUsersRaw(DummyJsonClient.ALL_USERS, UserFieldFilter.SELECT)).thenReturn(response(200, Map.of()));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        passthrough.proxyAllUsers(response);
+
+        // Assert
+        assertEquals("{\"users\":[{\"id\":1,\"username\":\"emilys\"}],\"total\":1}", response.getContentAsString());
+        assertEquals("application/json", response.getContentType());
+    }
+
+    @Test
+    void proxyAllUsers_UpstreamErrorWritesNothing() {
+        properties.setMode(PassthroughProperties.Mode.RAW);
+        when(dummyJsonClient.getAllUsersRaw(DummyJsonClient.ALL_USERS, UserFieldFilter.SELECT)).thenReturn(response(500, Map.of()));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThrows(IllegalStateException.class, () -> passthrough.proxyAllUsers(response));
+        assertFalse(response.isCommitted());
+    }
+
+    private static Response response(int status, Map<String, Collection<String>> headers) {
+        Request request = Request.create(Request.HttpMethod.GET, "https://dummyjson.com/users",
+                Map.of(), null, StandardCharsets.UTF_8, null);
+        return Response.builder()
+                .status(status)
+                .request(request)
+                .headers(new HashMap<>(headers))
+                .body(BODY, StandardCharsets.UTF_8)
+                .build();
+    }
+}
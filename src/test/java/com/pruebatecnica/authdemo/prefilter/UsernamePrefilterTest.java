@@ -0,0 +1,111 @@
+package com.pruebatecnica.authdemo.prefilter;
+
+import com.pruebatecnica.authdemo.directory.UserDirectoryRefreshedEvent;
+import com.pruebatecnica.authdemo.repository.LoginLogStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UsernamePrefilterTest {
+
+    @Mock
+    private LoginLogStore loginLogStore;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PrefilterProperties properties;
+    private UsernamePrefilter prefilter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new PrefilterProperties();
+        prefilter = new UsernamePrefilter(properties, loginLogStore, meterRegistry);
+    }
+
+    @Test
+    void isDefinitelyUnknown_BeforeFirstBuild_FailsOpen() {
+        // Act & Assert
+        assertFalse(prefilter.isArmed());
+        assertFalse(prefilter.isDefinitelyUnknown("nobody"));
+        assertEquals(1, meterRegistry.counter("authdemo.login.prefilter", "outcome", "unarmed").count());
+    }
+
+    @Test
+    void isDefinitelyUnknown_RejectsNamesOutsideDirectoryAndLoginLog() {
+        // Arrange
+        when(loginLogStore.findDistinctUsernames()).thenReturn(List.of("legacyuser"));
+        prefilter.onUserDirectoryRefreshed(new UserDirectoryRefreshedEvent(List.of("emilys", "michaelw")));
+
+        // Act & Assert
+        assertFalse(prefilter.isDefinitelyUnknown("emilys"));
+        assertFalse(prefilter.isDefinitelyUnknown("EMILYS"));
+        assertFalse(prefilter.isDefinitelyUnknown("legacyuser"));
+        assertTrue(prefilter.isDefinitelyUnknown("admin' or 1=1 --"));
+        assertEquals(1, meterRegistry.counter("authdemo.login.prefilter", "outcome", "rejected").count());
+        assertEquals(3, meterRegistry.counter("authdemo.login.prefilter", "outcome", "passed").count());
+        assertEquals(0.25, meterRegistry.get("authdemo.login.prefilter.rejection.ratio").gauge().value(), 1e-9);
+        assertEquals(3, meterRegistry.get("authdemo.login.prefilter.entries").gauge().value());
+    }
+
+    @Test
+    void rebuild_LoginLogFailure_StillUsesDirectory() {
+        // Arrange
+        when(loginLogStore.findDistinctUsernames()).thenThrow(new RuntimeException("connection refused"));
+
+        // Act
+        prefilter.onUserDirectoryRefreshed(new UserDirectoryRefreshedEvent(List.of("emilys")));
+
+        // Assert
+        assertTrue(prefilter.isArmed());
+        assertFalse(prefilter.isDefinitelyUnknown("emilys"));
+    }
+
+    @Test
+    void rebuild_RespectsFalsePositiveRateWithinMemoryBudget() {
+        // Arrange
+        properties.setFalsePositiveRate(0.01);
+        properties.setMaxMemory(DataSize.ofKilobytes(64));
+        List<String> known = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            known.add("user" + i);
+        }
+        when(loginLogStore.findDistinctUsernames()).thenReturn(List.of());
+
+        // Act
+        prefilter.onUserDirectoryRefreshed(new UserDirectoryRefreshedEvent(known));
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (!prefilter.isDefinitelyUnknown("stranger" + i)) {
+                falsePositives++;
+            }
+        }
+
+        // Assert
+        assertTrue(falsePositives < 200, "false positives: " + falsePositives);
+        assertTrue(meterRegistry.get("authdemo.login.prefilter.memory").gauge().value() <= 64 * 1024);
+        known.forEach(name -> assertFalse(prefilter.isDefinitelyUnknown(name)));
+    }
+
+    @Test
+    void onUserDirectoryRefreshed_Disabled_NeverArms() {
+        // Arrange
+        properties.setEnabled(false);
+
+        // Act
+        prefilter.onUserDirectoryRefreshed(new UserDirectoryRefreshedEvent(List.of("emilys")));
+
+        // Assert
+        assertFalse(prefilter.isArmed());
+        assertFalse(prefilter.isDefinitelyUnknown("nobody"));
+    }
+}
@@ -0,0 +1,100 @@
+package com.pruebatecnica.authdemo.profiling;
+
+import com.pruebatecnica.authdemo.dto.RecordingResponse;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecordingManagerTest {
+
+    private ProfilingProperties properties;
+    private RecordingManager manager;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ProfilingProperties();
+        properties.setRecordingSettings("default");
+        properties.setMaxDuration(Duration.ofMinutes(1));
+        manager = new RecordingManager(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        manager.close();
+    }
+
+    @Test
+    void start_CapsDurationAndAllowsOneRunningRecording() throws Exception {
+        // Act
+        RecordingResponse recording = manager.start(Duration.ofHours(1));
+
+        // Assert
+        assertEquals("RUNNING", recording.getState());
+        assertEquals(60L, recording.getDurationSeconds());
+        assertThrows(IllegalStateException.class, () -> manager.start(null));
+    }
+
+    @Test
+    void dump_ContainsPipelineEventsWithHashedUsername() throws Exception {
+        // Arrange
+        RecordingResponse recording = manager.start(Duration.ofSeconds(30));
+
+        // Act
+        try (PipelineEvents.Span login = PipelineEvents.login("emilys")) {
+            try (PipelineEvents.Span upstream = PipelineEvents.upstreamCall("DummyJsonClient#login(LoginRequest)")) {
+                upstream.status(200);
+            }
+            try (PipelineEvents.Span save = PipelineEvents.loginLogSave()) {
+                // failed save: no outcome set
+            }
+            login.succeeded();
+        }
+        manager.stop(recording.getId());
+        Path dump = manager.dump(recording.getId()).orElseThrow();
+
+        // Assert
+        Map<String, RecordedEvent> events;
+        try {
+            events = RecordingFile.readAllEvents(dump).stream()
+                    .filter(e -> e.getEventType().getName().startsWith("authdemo."))
+                    .collect(Collectors.toMap(e -> e.getEventType().getName(), Function.identity()));
+        } finally {
+            Files.deleteIfExists(dump);
+        }
+        String hash = PipelineEvents.hash("emilys");
+        assertEquals(16, hash.length());
+        assertEquals("success", events.get("authdemo.Login").getString("outcome"));
+        assertEquals(hash, events.get("authdemo.Login").getString("usernameHash"));
+        assertEquals(200, events.get("authdemo.UpstreamCall").getInt("status"));
+        assertEquals(hash, events.get("authdemo.UpstreamCall").getString("usernameHash"));
+        assertEquals("failure", events.get("authdemo.LoginLogPersist").getString("outcome"));
+        assertEquals("save", events.get("authdemo.LoginLogPersist").getString("stage"));
+    }
+
+    @Test
+    void startContinuous_ListsContinuousRecordingFirst() {
+        // Arrange
+        properties.setContinuousSettings("default");
+
+        // Act
+        manager.startContinuous();
+        List<RecordingResponse> recordings = manager.list();
+
+        // Assert
+        assertEquals(RecordingManager.CONTINUOUS_NAME, recordings.get(0).getName());
+        assertEquals("RUNNING", recordings.get(0).getState());
+        assertFalse(manager.delete(recordings.get(0).getId()));
+    }
+}
@@ -0,0 +1,40 @@
+package com.pruebatecnica.authdemo.querystats;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class QueryStatsConfigurationTest {
+
+    private final QueryStatsConfiguration configuration = new QueryStatsConfiguration();
+
+    @Test
+    void queryStatsHibernateProperties_StatisticsOffByDefault() {
+        // Arrange
+        Map<String, Object> hibernateProperties = new HashMap<>();
+
+        // Act
+        configuration.queryStatsHibernateProperties(new QueryStatsProperties()).customize(hibernateProperties);
+
+        // Assert
+        assertEquals(false, hibernateProperties.get(AvailableSettings.GENERATE_STATISTICS));
+    }
+
+    @Test
+    void queryStatsHibernateProperties_StatisticsFollowTheFeatureProperty() {
+        // Arrange
+        QueryStatsProperties properties = new QueryStatsProperties();
+        properties.setHibernateStatistics(true);
+        Map<String, Object> hibernateProperties = new HashMap<>();
+
+        // Act
+        configuration.queryStatsHibernateProperties(properties).customize(hibernateProperties);
+
+        // Assert
+        assertEquals(true, hibernateProperties.get(AvailableSettings.GENERATE_STATISTICS));
+    }
+}
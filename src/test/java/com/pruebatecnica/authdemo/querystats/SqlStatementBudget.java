@@ -0,0 +1,37 @@
+package com.pruebatecnica.authdemo.querystats;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test helper: runs an operation and fails if it issues more SQL statements than allowed.
+ * The statement inspector must be active, which it is whenever application.properties is loaded.
+ */
+public final class SqlStatementBudget {
+
+    @FunctionalInterface
+    public interface Operation<T> {
+        T run() throws Exception;
+    }
+
+    private SqlStatementBudget() {
+    }
+
+    public static <T> T assertMaxStatements(int max, Operation<T> operation) throws Exception {
+        T result;
+        SqlStatementCounter.Scope scope = SqlStatementCounter.open();
+        try {
+            result = operation.run();
+        } finally {
+            scope.close();
+        }
+        assertTrue(scope.total() <= max, "Expected at most " + max + " SQL statements but got " + scope);
+        return result;
+    }
+
+    public static void assertMaxStatements(int max, Runnable operation) throws Exception {
+        assertMaxStatements(max, () -> {
+            operation.run();
+            return null;
+        });
+    }
+}
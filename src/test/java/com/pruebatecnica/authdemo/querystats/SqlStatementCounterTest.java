@@ -0,0 +1,62 @@
+package com.pruebatecnica.authdemo.querystats;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SqlStatementCounterTest {
+
+    @Test
+    void record_ClassifiesStatementsByVerb() {
+        // Arrange
+        SqlStatementCounter.Scope scope = SqlStatementCounter.open();
+
+        // Act
+        try (scope) {
+            SqlStatementCounter.record("select l1_0.id from login_log l1_0");
+            SqlStatementCounter.record("  (select 1)");
+            SqlStatementCounter.record("insert into login_log (id) values (?)");
+            SqlStatementCounter.record("update login_log set username=? where id=?");
+            SqlStatementCounter.record("delete from login_log where id=?");
+            SqlStatementCounter.record("call next value for login_log_seq");
+        }
+
+        // Assert
+        assertEquals(6, scope.total());
+        assertEquals(2, scope.selects());
+        assertEquals(1, scope.inserts());
+        assertEquals(1, scope.updates());
+        assertEquals(1, scope.deletes());
+        assertEquals(1, scope.others());
+    }
+
+    @Test
+    void close_AddsNestedCountsToEnclosingScope() {
+        // Arrange
+        SqlStatementCounter.Scope outer = SqlStatementCounter.open();
+        SqlStatementCounter.Scope inner = SqlStatementCounter.open();
+
+        // Act
+        SqlStatementCounter.record("select 1");
+        inner.close();
+        SqlStatementCounter.record("insert into login_log (id) values (?)");
+        outer.close();
+        SqlStatementCounter.record("select 2");
+
+        // Assert
+        assertEquals(1, inner.total());
+        assertEquals(2, outer.total());
+        assertEquals(1, outer.selects());
+    }
+
+    @Test
+    void record_WithoutOpenScope_IsIgnored() {
+        // Act
+        SqlStatementCounter.record("select 1");
+        SqlStatementCounter.Scope scope = SqlStatementCounter.open();
+        scope.close();
+
+        // Assert
+        assertEquals(0, scope.total());
+    }
+}
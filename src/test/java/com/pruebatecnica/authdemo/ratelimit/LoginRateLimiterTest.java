@@ -0,0 +1,140 @@
+package com.pruebatecnica.authdemo.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginRateLimiterTest {
+
+    private RateLimitProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        properties.setUsername(new RateLimitProperties.Bucket(2, 1, Duration.ofMinutes(1)));
+        properties.setIp(new RateLimitProperties.Bucket(3, 1, Duration.ofMinutes(1)));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void tryAcquire_RejectsUsernameAfterCapacity() {
+        LoginRateLimiter limiter = new LoginRateLimiter(properties, meterRegistry);
+
+        assertTrue(limiter.tryAcquire("emilys", "10.0.0.1").allowed());
+        assertTrue(limiter.tryAcquire("EMILYS", "10.0.0.2").allowed());
+
+        RateLimitDecision decision = limiter.tryAcquire("emilys", "10.0.0.3");
+        assertFalse(decision.allowed());
+        assertTrue(decision.retryAfterSeconds() > 0 && decision.retryAfterSeconds() <= 60);
+
+        assertTrue(limiter.tryAcquire("michaelw", "10.0.0.3").allowed());
+        assertEquals(1.0, meterRegistry.get("authdemo.ratelimit.requests")
+                .tag("dimension", "username").tag("outcome", "rejected").counter().count());
+    }
+
+    @Test
+    void tryAcquire_RejectsIpAcrossUsernames() {
+        LoginRateLimiter limiter = new LoginRateLimiter(properties, meterRegistry);
+
+        assertTrue(limiter.tryAcquire("user1", "10.0.0.1").allowed());
+        assertTrue(limiter.tryAcquire("user2", "10.0.0.1").allowed());
+        assertTrue(limiter.tryAcquire("user3", "10.0.0.1").allowed());
+        assertFalse(limiter.tryAcquire("user4", "10.0.0.1").allowed());
+    }
+
+    @Test
+    void tryAcquire_DisabledAlwaysAllows() {
+        properties.setEnabled(false);
+        LoginRateLimiter limiter = new LoginRateLimiter(properties, meterRegistry);
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire("emilys", "10.0.0.1").allowed());
+        }
+    }
+
+    @Test
+    void evictIdleBuckets_KeepsRecentlyUsedBuckets() {
+        LoginRateLimiter limiter = new LoginRateLimiter(properties, meterRegistry);
+        limiter.tryAcquire("emilys", "10.0.0.1");
+
+        limiter.evictIdleBuckets();
+
+        assertEquals(1.0, meterRegistry.get("authdemo.ratelimit.keys").tag("dimension", "username").gauge().value());
+    }
+
+    @Test
+    void tryAcquire_FullMapLimitsNewUsernamesByIpOnly() {
+        // Arrange
+        properties.setMaxKeys(2);
+        properties.setIp(new RateLimitProperties.Bucket(100, 1, Duration.ofMinutes(1)));
+        LoginRateLimiter limiter = new LoginRateLimiter(properties, meterRegistry);
+        assertTrue(limiter.tryAcquire("attacker1", "10.0.0.1").allowed());
+        assertTrue(limiter.tryAcquire("attacker2", "10.0.0.1").allowed());
+
+        // Act
+        boolean firstNewUser = limiter.tryAcquire("emilys", "10.0.0.2").allowed();
+        boolean secondNewUser = limiter.tryAcquire("michaelw", "10.0.0.3").allowed();
+        boolean thirdNewUser = limiter.tryAcquire("sophiab", "10.0.0.4").allowed();
+
+        // Assert
+        assertTrue(firstNewUser);
+        assertTrue(secondNewUser);
+        assertTrue(thirdNewUser);
+        assertEquals(2.0, meterRegistry.get("authdemo.ratelimit.keys").tag("dimension", "username").gauge().value());
+        assertEquals(3.0, meterRegistry.get("authdemo.ratelimit.overflow")
+                .tag("dimension", "username").functionCounter().count());
+    }
+
+    @Test
+    void tryAcquire_IpRejectionRefundsUsernameToken() {
+        // Arrange
+        properties.setIp(new RateLimitProperties.Bucket(1, 1, Duration.ofMinutes(1)));
+        LoginRateLimiter limiter = new LoginRateLimiter(properties, meterRegistry);
+        assertTrue(limiter.tryAcquire("user1", "10.0.0.1").allowed());
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            assertFalse(limiter.tryAcquire("emilys", "10.0.0.1").allowed());
+        }
+
+        // Assert
+        assertTrue(limiter.tryAcquire("emilys", "10.0.0.2").allowed());
+        assertTrue(limiter.tryAcquire("emilys", "10.0.0.3").allowed());
+    }
+
+    @Test
+    void tryAcquire_UsernameRejectionKeepsIpAllowance() {
+        // Arrange
+        LoginRateLimiter limiter = new LoginRateLimiter(properties, meterRegistry);
+        assertTrue(limiter.tryAcquire("emilys", "10.0.0.9").allowed());
+        assertTrue(limiter.tryAcquire("emilys", "10.0.0.9").allowed());
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            assertFalse(limiter.tryAcquire("emilys", "10.0.0.1").allowed());
+        }
+
+        // Assert
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.tryAcquire("user" + i, "10.0.0.1").allowed());
+        }
+    }
+
+    @Test
+    void resolveClientIp_UsesForwardedForOnlyWhenTrusted() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.9");
+        request.addHeader("X-Forwarded-For", "203.0.113.7, 10.0.0.1");
+
+        assertEquals("10.0.0.9", new LoginRateLimiter(properties, meterRegistry).resolveClientIp(request));
+
+        properties.setTrustForwardedFor(true);
+        assertEquals("203.0.113.7", new LoginRateLimiter(properties, new SimpleMeterRegistry()).resolveClientIp(request));
+    }
+}
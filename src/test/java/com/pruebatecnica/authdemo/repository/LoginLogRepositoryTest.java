@@ -0,0 +1,134 @@
+package com.pruebatecnica.authdemo.repository;
+
+import com.pruebatecnica.authdemo.entity.LoginLog;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static com.pruebatecnica.authdemo.querystats.SqlStatementBudget.assertMaxStatements;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class LoginLogRepositoryTest {
+
+    @Autowired
+    private LoginLogRepository loginLogRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void save_IssuesSingleInsert() throws Exception {
+        // Arrange
+        LoginLog loginLog = new LoginLog("emilys", "access", "refresh");
+
+        // Act & Assert
+        assertMaxStatements(1, () -> {
+            loginLogRepository.save(loginLog);
+            entityManager.flush();
+        });
+    }
+
+    @Test
+    void findByUsernameOrderByLoginTimeDesc_IssuesSingleSelect() throws Exception {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            entityManager.persist(new LoginLog(i % 2 == 0 ? "emilys" : "michaelw", "access" + i, "refresh" + i));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        List<LoginLog> history = assertMaxStatements(1,
+                () -> loginLogRepository.findByUsernameOrderByLoginTimeDesc("emilys"));
+
+        // Assert
+        assertEquals(3, history.size());
+    }
+
+    @Test
+    void findDistinctUsernames_ReturnsEachUsernameOnce() {
+        // Arrange
+        entityManager.persist(new LoginLog("emilys", "access1", "refresh1"));
+        entityManager.persist(new LoginLog("emilys", "access2", "refresh2"));
+        entityManager.persist(new LoginLog("michaelw", "access3", "refresh3"));
+        entityManager.flush();
+
+        // Act
+        List<String> usernames = loginLogRepository.findDistinctUsernames();
+
+        // Assert
+        assertEquals(2, usernames.size());
+        assertTrue(usernames.containsAll(List.of("emilys", "michaelw")));
+    }
+
+    @Test
+    void findAfterPosition_KeepsRowsSharingTheLastLoginTime() {
+        // Arrange
+        LocalDateTime loginTime = LocalDateTime.of(2024, 1, 1, 12, 0);
+        for (int i = 0; i < 3; i++) {
+            entityManager.persist(new LoginLog("user" + i, "access" + i, "refresh" + i));
+        }
+        entityManager.flush();
+        entityManager.getEntityManager().createNativeQuery("update login_log set login_time = ?1")
+                .setParameter(1, loginTime)
+                .executeUpdate();
+        entityManager.clear();
+        List<UUID> ids = loginLogRepository.findAll().stream()
+                .map(LoginLog::getId)
+                .sorted(Comparator.comparing(UUID::getMostSignificantBits, Long::compareUnsigned)
+                        .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned))
+                .toList();
+
+        // Act
+        List<LoginLog> rows = loginLogRepository.findAfterPosition(loginTime, ids.get(0), Pageable.ofSize(10));
+        List<LoginLog> userRows = loginLogRepository.findByUsernameIgnoreCaseAfterPosition(
+                "USER0", loginTime.minusSeconds(1), new UUID(0, 0), Pageable.ofSize(10));
+
+        // Assert
+        assertEquals(ids.subList(1, 3), rows.stream().map(LoginLog::getId).toList());
+        assertEquals(1, userRows.size());
+    }
+
+    @Test
+    void findBeforeAfterPosition_WalksRowsSharingALoginTimeOneByOne() {
+        // Arrange
+        LocalDateTime loginTime = LocalDateTime.of(2024, 1, 1, 12, 0);
+        for (int i = 0; i < 3; i++) {
+            entityManager.persist(new LoginLog("user" + i, "access" + i, "refresh" + i));
+        }
+        entityManager.flush();
+        entityManager.getEntityManager().createNativeQuery("update login_log set login_time = ?1")
+                .setParameter(1, loginTime)
+                .executeUpdate();
+        entityManager.clear();
+        LocalDateTime cutoff = loginTime.plusDays(1);
+
+        // Act
+        List<LoginLog> walked = new ArrayList<>(
+                loginLogRepository.findByLoginTimeBeforeOrderByLoginTimeAscIdAsc(cutoff, Pageable.ofSize(1)));
+        List<LoginLog> chunk = walked;
+        while (!chunk.isEmpty()) {
+            LoginLog last = chunk.get(0);
+            chunk = loginLogRepository.findBeforeAfterPosition(cutoff, last.getLoginTime(), last.getId(),
+                    Pageable.ofSize(1));
+            walked.addAll(chunk);
+        }
+
+        // Assert
+        assertEquals(3, walked.stream().map(LoginLog::getId).distinct().count());
+        assertEquals(3, walked.size());
+    }
+}
@@ -0,0 +1,87 @@
+package com.pruebatecnica.authdemo.service;
+
+import com.pruebatecnica.authdemo.archive.LoginLogArchive;
+import com.pruebatecnica.authdemo.cache.UserCache;
+import com.pruebatecnica.authdemo.client.DummyJsonClient;
+import com.pruebatecnica.authdemo.directory.UserDirectory;
+import com.pruebatecnica.authdemo.dto.LoginRequest;
+import com.pruebatecnica.authdemo.dto.LoginResponse;
+import com.pruebatecnica.authdemo.entity.LoginLog;
+import com.pruebatecnica.authdemo.prefilter.UsernamePrefilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+import static com.pruebatecnica.authdemo.querystats.SqlStatementBudget.assertMaxStatements;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Query-count budgets for the AuthService paths that touch the database
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Import(AuthService.class)
+class AuthServiceQueryBudgetTest {
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockBean
+    private DummyJsonClient dummyJsonClient;
+
+    @MockBean
+    private UserDirectory userDirectory;
+
+    @MockBean
+    private LoginLogArchive loginLogArchive;
+
+    @MockBean
+    private UserCache userCache;
+
+    @MockBean
+    private UsernamePrefilter usernamePrefilter;
+
+    @Test
+    void authenticateUser_StaysWithinOneStatement() throws Exception {
+        // Arrange
+        LoginResponse loginResponse = new LoginResponse();
+        loginResponse.setUsername("emilys");
+        loginResponse.setAccessToken("access");
+        loginResponse.setRefreshToken("refresh");
+        when(dummyJsonClient.login(any(LoginRequest.class))).thenReturn(loginResponse);
+
+        // Act & Assert
+        assertMaxStatements(1, () -> {
+            authService.authenticateUser(new LoginRequest("emilys", "emilyspass"));
+            entityManager.flush();
+        });
+    }
+
+    @Test
+    void getLoginHistory_StaysWithinOneStatement() throws Exception {
+        // Arrange
+        entityManager.persist(new LoginLog("emilys", "access1", "refresh1"));
+        entityManager.persist(new LoginLog("emilys", "access2", "refresh2"));
+        entityManager.flush();
+        entityManager.clear();
+        when(loginLogArchive.findByUsername("emilys")).thenReturn(List.of());
+
+        // Act
+        List<LoginLog> history = assertMaxStatements(1, () -> authService.getLoginHistory("emilys"));
+
+        // Assert
+        assertEquals(2, history.size());
+    }
+}
@@ -1,27 +1,41 @@
 package com.pruebatecnica.authdemo.service;
 
+import com.pruebatecnica.authdemo.archive.LoginLogArchive;
+import com.pruebatecnica.authdemo.cache.CachedUser;
+import com.pruebatecnica.authdemo.cache.UserCache;
 import com.pruebatecnica.authdemo.client.DummyJsonClient;
+import com.pruebatecnica.authdemo.concurrency.ConcurrencyLimitExceededException;
+import com.pruebatecnica.authdemo.directory.UserDirectory;
 import com.pruebatecnica.authdemo.dto.LoginRequest;
 import com.pruebatecnica.authdemo.dto.LoginResponse;
 import com.pruebatecnica.authdemo.dto.UserResponse;
+import com.pruebatecnica.authdemo.dto.UserSearchResponse;
 import com.pruebatecnica.authdemo.dto.UsersListResponse;
 import com.pruebatecnica.authdemo.entity.LoginLog;
-import com.pruebatecnica.authdemo.repository.LoginLogRepository;
+import com.pruebatecnica.authdemo.event.LoginSucceededEvent;
+import com.pruebatecnica.authdemo.prefilter.UsernamePrefilter;
+import com.pruebatecnica.authdemo.repository.LoginLogStore;
 import feign.FeignException;
+import feign.Request;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -32,7 +46,22 @@ class AuthServiceTest {
     private DummyJsonClient dummyJsonClient;
 
     @Mock
-    private LoginLogRepository loginLogRepository;
+    private LoginLogStore loginLogStore;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private UserDirectory userDirectory;
+
+    @Mock
+    private LoginLogArchive loginLogArchive;
+
+    @Mock
+    private UserCache userCache;
+
+    @Mock
+    private UsernamePrefilter usernamePrefilter;
 
     @InjectMocks
     private AuthService authService;
@@ -77,7 +106,7 @@ class AuthServiceTest {
     void authenticateUser_Success() {
         // Arrange
         when(dummyJsonClient.login(loginRequest)).thenReturn(loginResponse);
-        when(loginLogRepository.save(any(LoginLog.class))).thenReturn(loginLog);
+        when(loginLogStore.save(any(LoginLog.class))).thenReturn(loginLog);
 
         // Act
         LoginResponse result = authService.authenticateUser(loginRequest);
@@ -95,7 +124,9 @@ class AuthServiceTest {
 
         // Verify interactions
         verify(dummyJsonClient, times(1)).login(loginRequest);
-        verify(loginLogRepository, times(1)).save(any(LoginLog.class));
+        verify(loginLogStore, times(1)).save(any(LoginLog.class));
+        verify(eventPublisher, times(1)).publishEvent(any(LoginSucceededEvent.class));
+        verify(userCache, times(1)).invalidateUser("emilys");
     }
 
     @Test
@@ -111,7 +142,33 @@ class AuthServiceTest {
 
         assertTrue(exception.getMessage().contains("Authentication failed"));
         verify(dummyJsonClient, times(1)).login(loginRequest);
-        verify(loginLogRepository, never()).save(any(LoginLog.class));
+        verify(loginLogStore, never()).save(any(LoginLog.class));
+    }
+
+    @Test
+    void authenticateUser_UnknownUsername_SkipsUpstream() {
+        // Arrange
+        when(usernamePrefilter.isDefinitelyUnknown("emilys")).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(InvalidCredentialsException.class, () -> authService.authenticateUser(loginRequest));
+
+        verify(dummyJsonClient, never()).login(any());
+        verify(loginLogStore, never()).save(any(LoginLog.class));
+    }
+
+    @Test
+    void authenticateUser_UpstreamRejectsCredentials_SameExceptionAsPrefilter() {
+        // Arrange
+        Request request = Request.create(Request.HttpMethod.POST, "https://dummyjson.com/auth/login",
+                Map.of(), null, StandardCharsets.UTF_8, null);
+        when(dummyJsonClient.login(loginRequest)).thenThrow(new FeignException.BadRequest(
+                "Invalid credentials", request, null, Map.of()));
+
+        // Act & Assert
+        assertThrows(InvalidCredentialsException.class, () -> authService.authenticateUser(loginRequest));
+
+        verify(loginLogStore, never()).save(any(LoginLog.class));
     }
 
     @Test
@@ -128,14 +185,14 @@ class AuthServiceTest {
 
         assertTrue(exception.getMessage().contains("Authentication failed"));
         verify(dummyJsonClient, times(1)).login(loginRequest);
-        verify(loginLogRepository, never()).save(any(LoginLog.class));
+        verify(loginLogStore, never()).save(any(LoginLog.class));
     }
 
     @Test
     void authenticateUser_DatabaseError() {
         // Arrange
         when(dummyJsonClient.login(loginRequest)).thenReturn(loginResponse);
-        when(loginLogRepository.save(any(LoginLog.class)))
+        when(loginLogStore.save(any(LoginLog.class)))
                 .thenThrow(new RuntimeException("Database connection error"));
 
         // Act & Assert
@@ -145,7 +202,8 @@ class AuthServiceTest {
 
         assertTrue(exception.getMessage().contains("Authentication failed"));
         verify(dummyJsonClient, times(1)).login(loginRequest);
-        verify(loginLogRepository, times(1)).save(any(LoginLog.class));
+        verify(loginLogStore, times(1)).save(any(LoginLog.class));
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
@@ -160,7 +218,7 @@ class AuthServiceTest {
 
         assertTrue(exception.getMessage().contains("Authentication failed"));
         verify(dummyJsonClient, times(1)).login(loginRequest);
-        verify(loginLogRepository, never()).save(any(LoginLog.class));
+        verify(loginLogStore, never()).save(any(LoginLog.class));
     }
 
     @Test
@@ -185,6 +243,46 @@ class AuthServiceTest {
         verify(dummyJsonClient, times(1)).getCurrentUser(authHeader);
     }
 
+    @Test
+    void getCurrentUser_ServedFromCache() {
+        // Arrange
+        String accessToken = "cached-token";
+        when(userCache.get(accessToken)).thenReturn(Optional.of(new CachedUser(userResponse, true)));
+
+        // Act
+        UserResponse result = authService.getCurrentUser(accessToken);
+
+        // Assert
+        assertEquals("emilys", result.getUsername());
+        verify(dummyJsonClient, never()).getCurrentUser(anyString());
+    }
+
+    @Test
+    void getCurrentUser_CachedRejectionSkipsUpstream() {
+        // Arrange
+        String accessToken = "rejected-token";
+        when(userCache.get(accessToken)).thenReturn(Optional.of(new CachedUser(null, false)));
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> authService.getCurrentUser(accessToken));
+        assertTrue(exception.getMessage().contains("Failed to get user information"));
+        verify(dummyJsonClient, never()).getCurrentUser(anyString());
+    }
+
+    @Test
+    void getCurrentUser_CachesUpstreamResult() {
+        // Arrange
+        String accessToken = "test-token";
+        when(dummyJsonClient.getCurrentUser("Bearer " + accessToken)).thenReturn(userResponse);
+
+        // Act
+        authService.getCurrentUser(accessToken);
+
+        // Assert
+        verify(userCache).put(accessToken, userResponse);
+    }
+
     @Test
     void getCurrentUser_InvalidToken() {
         // Arrange
@@ -255,9 +353,9 @@ class AuthServiceTest {
         usersListResponse.setUsers(users);
         usersListResponse.setTotal(2);
         usersListResponse.setSkip(0);
-        usersListResponse.setLimit(30);
+        usersListResponse.setLimit(2);
 
-        when(dummyJsonClient.getAllUsers()).thenReturn(usersListResponse);
+        when(dummyJsonClient.getAllUsers(DummyJsonClient.ALL_USERS)).thenReturn(usersListResponse);
 
         // Act
         UsersListResponse result = authService.getAllUsers();
@@ -269,13 +367,32 @@ class AuthServiceTest {
         assertEquals("emilys", result.getUsers().get(0).getUsername());
         assertEquals("michaelw", result.getUsers().get(1).getUsername());
 
-        verify(dummyJsonClient, times(1)).getAllUsers();
+        verify(dummyJsonClient, times(1)).getAllUsers(DummyJsonClient.ALL_USERS);
+    }
+
+    @Test
+    void getAllUsers_DirectoryLoaded_ServesEveryUserWithoutUpstream() {
+        // Arrange
+        List<UserResponse> users = new ArrayList<>();
+        for (long id = 1; id <= 208; id++) {
+            users.add(new UserResponse(id, "user" + id, null, null, null, null, null, null, null));
+        }
+        when(userDirectory.allUsers()).thenReturn(Optional.of(users));
+
+        // Act
+        UsersListResponse result = authService.getAllUsers();
+
+        // Assert
+        assertEquals(208, result.getUsers().size());
+        assertEquals(208, result.getTotal());
+        assertEquals(208, result.getLimit());
+        verify(dummyJsonClient, never()).getAllUsers(anyInt());
     }
 
     @Test
     void getAllUsers_ServiceUnavailable() {
         // Arrange
-        when(dummyJsonClient.getAllUsers())
+        when(dummyJsonClient.getAllUsers(DummyJsonClient.ALL_USERS))
                 .thenThrow(new RuntimeException("Service unavailable"));
 
         // Act & Assert
@@ -284,7 +401,35 @@ class AuthServiceTest {
         });
 
         assertTrue(exception.getMessage().contains("Failed to get users"));
-        verify(dummyJsonClient, times(1)).getAllUsers();
+        verify(dummyJsonClient, times(1)).getAllUsers(DummyJsonClient.ALL_USERS);
+    }
+
+    @Test
+    void getAllUsers_ConcurrencyLimitIsNotWrapped() {
+        // Arrange
+        when(dummyJsonClient.getAllUsers(DummyJsonClient.ALL_USERS))
+                .thenThrow(new ConcurrencyLimitExceededException(20));
+
+        // Act & Assert
+        assertThrows(ConcurrencyLimitExceededException.class, () -> authService.getAllUsers());
+    }
+
+    @Test
+    void searchUsers_ClampsLimit() {
+        // Arrange
+        UserSearchResponse searchResponse = new UserSearchResponse(List.of(userResponse), 1, null);
+        when(userDirectory.search("em", null, 100)).thenReturn(searchResponse);
+        when(userDirectory.search("em", null, 20)).thenReturn(searchResponse);
+
+        // Act
+        UserSearchResponse capped = authService.searchUsers("em", 5000, null);
+        UserSearchResponse defaulted = authService.searchUsers("em", null, null);
+
+        // Assert
+        assertEquals(1, capped.getTotal());
+        assertEquals("emilys", defaulted.getUsers().get(0).getUsername());
+        verify(userDirectory, times(1)).search("em", null, 100);
+        verify(userDirectory, times(1)).search("em", null, 20);
     }
 
     @Test
@@ -304,7 +449,7 @@ class AuthServiceTest {
         mockLogs.add(log1);
         mockLogs.add(log2);
 
-        when(loginLogRepository.findByUsernameOrderByLoginTimeDesc(username)).thenReturn(mockLogs);
+        when(loginLogStore.findByUsernameOrderByLoginTimeDesc(username)).thenReturn(mockLogs);
 
         // Act
         List<LoginLog> result = authService.getLoginHistory(username);
@@ -316,7 +461,37 @@ class AuthServiceTest {
         assertEquals(username, result.get(1).getUsername());
         assertTrue(result.get(0).getLoginTime().isAfter(result.get(1).getLoginTime()));
 
-        verify(loginLogRepository, times(1)).findByUsernameOrderByLoginTimeDesc(username);
+        verify(loginLogStore, times(1)).findByUsernameOrderByLoginTimeDesc(username);
+    }
+
+    @Test
+    void getLoginHistory_MergesArchivedRows() {
+        // Arrange
+        String username = "emilys";
+        LoginLog hot = new LoginLog(username, "token1", "refresh1");
+        hot.setId(UUID.randomUUID());
+        hot.setLoginTime(LocalDateTime.now());
+
+        LoginLog archived = new LoginLog(username, "token2", "refresh2");
+        archived.setId(UUID.randomUUID());
+        archived.setLoginTime(LocalDateTime.now().minusDays(60));
+
+        // Row archived but not yet deleted from the hot table
+        LoginLog duplicate = new LoginLog(username, "token3", "refresh3");
+        duplicate.setId(UUID.randomUUID());
+        duplicate.setLoginTime(LocalDateTime.now().minusDays(30));
+
+        when(loginLogStore.findByUsernameOrderByLoginTimeDesc(username)).thenReturn(List.of(hot, duplicate));
+        when(loginLogArchive.findByUsername(username)).thenReturn(List.of(duplicate, archived));
+
+        // Act
+        List<LoginLog> result = authService.getLoginHistory(username);
+
+        // Assert
+        assertEquals(3, result.size());
+        assertEquals(hot.getId(), result.get(0).getId());
+        assertEquals(duplicate.getId(), result.get(1).getId());
+        assertEquals(archived.getId(), result.get(2).getId());
     }
 
     @Test
@@ -340,7 +515,7 @@ class AuthServiceTest {
         mockLogs.add(log2);
         mockLogs.add(log3);
 
-        when(loginLogRepository.findAllByOrderByLoginTimeDesc()).thenReturn(mockLogs);
+        when(loginLogStore.findAllByOrderByLoginTimeDesc()).thenReturn(mockLogs);
 
         // Act
         List<LoginLog> result = authService.getAllLoginLogs();
@@ -352,14 +527,14 @@ class AuthServiceTest {
         assertEquals("user2", result.get(1).getUsername());
         assertEquals("user1", result.get(2).getUsername());
 
-        verify(loginLogRepository, times(1)).findAllByOrderByLoginTimeDesc();
+        verify(loginLogStore, times(1)).findAllByOrderByLoginTimeDesc();
     }
 
     @Test
     void getAllLoginLogs_DatabaseError() {
         // Arrange
         RuntimeException dbException = new RuntimeException("Database connection failed");
-        when(loginLogRepository.findAllByOrderByLoginTimeDesc()).thenThrow(dbException);
+        when(loginLogStore.findAllByOrderByLoginTimeDesc()).thenThrow(dbException);
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
@@ -367,19 +542,19 @@ class AuthServiceTest {
         });
 
         assertEquals("Database connection failed", exception.getMessage());
-        verify(loginLogRepository, times(1)).findAllByOrderByLoginTimeDesc();
+        verify(loginLogStore, times(1)).findAllByOrderByLoginTimeDesc();
     }
 
     @Test
     void saveTestLoginLog_Success() {
         // Arrange
         LoginLog testLog = new LoginLog("test-user", "test-token", "test-refresh");
-        when(loginLogRepository.save(testLog)).thenReturn(testLog);
+        when(loginLogStore.save(testLog)).thenReturn(testLog);
 
         // Act
         assertDoesNotThrow(() -> authService.saveTestLoginLog(testLog));
 
         // Assert
-        verify(loginLogRepository, times(1)).save(testLog);
+        verify(loginLogStore, times(1)).save(testLog);
     }
 } 
\ No newline at end of file
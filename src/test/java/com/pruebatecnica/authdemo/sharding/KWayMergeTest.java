@@ -0,0 +1,47 @@
+package com.pruebatecnica.authdemo.sharding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class KWayMergeTest {
+
+    @Test
+    void merge_InterleavesSortedLists() {
+        // Arrange
+        List<List<Integer>> lists = List.of(List.of(1, 4, 7), List.of(), List.of(2, 5, 8), List.of(3, 6, 9));
+
+        // Act
+        List<Integer> merged = KWayMerge.merge(lists, Comparator.naturalOrder(), Integer.MAX_VALUE);
+
+        // Assert
+        assertEquals(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9), merged);
+    }
+
+    @Test
+    void merge_StopsAtLimit() {
+        // Arrange
+        List<List<Integer>> lists = List.of(List.of(9, 5, 1), List.of(8, 7, 2));
+
+        // Act
+        List<Integer> merged = KWayMerge.merge(lists, Comparator.<Integer>reverseOrder(), 3);
+
+        // Assert
+        assertEquals(List.of(9, 8, 7), merged);
+    }
+
+    @Test
+    void merge_KeepsDuplicatesFromEveryList() {
+        // Arrange
+        List<List<Integer>> lists = List.of(List.of(1, 1), List.of(1));
+
+        // Act
+        List<Integer> merged = KWayMerge.merge(lists, Comparator.naturalOrder(), 10);
+
+        // Assert
+        assertEquals(List.of(1, 1, 1), merged);
+    }
+}
@@ -0,0 +1,272 @@
+package com.pruebatecnica.authdemo.sharding;
+
+import com.pruebatecnica.authdemo.entity.LoginLog;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Three shards as three schemas of one in-memory H2 database
+ */
+class ShardedLoginLogRepositoryTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 1, 1, 12, 0);
+    private static final List<String> USERS = List.of("emilys", "michaelw", "sophiab", "jamesd", "emmaj", "oliviaw");
+
+    private JdbcTemplate jdbcTemplate;
+    private ShardedLoginLogRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:shards-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        List<LoginLogShard> shards = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            LoginLogShard shard = new LoginLogShard("shard_" + i, "login_log", jdbcTemplate);
+            shard.createTable();
+            shards.add(shard);
+        }
+        repository = new ShardedLoginLogRepository(shards, Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.close();
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+
+    @Test
+    void save_WritesEachUserToExactlyOneShard() {
+        // Arrange
+        insertLogins();
+
+        // Act & Assert
+        for (String username : USERS) {
+            int expected = repository.shardFor(username);
+            for (int i = 0; i < 3; i++) {
+                assertEquals(i == expected ? 3 : 0, countInShard(i, username), username + " in shard_" + i);
+            }
+        }
+        assertTrue(new HashSet<>(USERS.stream().map(repository::shardFor).toList()).size() > 1,
+                "test users should spread over more than one shard");
+    }
+
+    @Test
+    void save_AssignsIdAndLoginTime() {
+        // Act
+        LoginLog saved = repository.save(new LoginLog("emilys", "access", "refresh"));
+
+        // Assert
+        assertNotNull(saved.getId());
+        assertNotNull(saved.getLoginTime());
+        assertEquals(1, repository.findByUsernameOrderByLoginTimeDesc("emilys").size());
+    }
+
+    @Test
+    void findByUsernameOrderByLoginTimeDesc_ReturnsOnlyThatUserNewestFirst() {
+        // Arrange
+        insertLogins();
+
+        // Act
+        List<LoginLog> logs = repository.findByUsernameOrderByLoginTimeDesc("sophiab");
+
+        // Assert
+        assertEquals(3, logs.size());
+        assertTrue(logs.stream().allMatch(log -> log.getUsername().equals("sophiab")));
+        assertSorted(logs, Comparator.comparing(LoginLog::getLoginTime).reversed());
+    }
+
+    @Test
+    void findAllByOrderByLoginTimeDesc_MergesAllShardsNewestFirst() {
+        // Arrange
+        insertLogins();
+
+        // Act
+        List<LoginLog> logs = repository.findAllByOrderByLoginTimeDesc();
+
+        // Assert
+        assertEquals(USERS.size() * 3, logs.size());
+        assertSorted(logs, Comparator.comparing(LoginLog::getLoginTime).reversed());
+    }
+
+    @Test
+    void findAfterPosition_ReturnsGlobalFirstPage() {
+        // Arrange
+        insertLogins();
+
+        // Act
+        List<LoginLog> logs = repository.findAfterPosition(T0.plusMinutes(2), new UUID(-1L, -1L), PageRequest.of(0, 4));
+
+        // Assert
+        assertEquals(List.of(T0.plusMinutes(3), T0.plusMinutes(4), T0.plusMinutes(5), T0.plusMinutes(6)),
+                logs.stream().map(LoginLog::getLoginTime).toList());
+    }
+
+    @Test
+    void findAfterPosition_KeepsLoginsSharingTheLastTimeInUnsignedIdOrder() {
+        // Arrange
+        UUID signedNegative = new UUID(Long.MIN_VALUE, 0);
+        List<UUID> ids = List.of(new UUID(1, 0), new UUID(2, 0), signedNegative);
+        for (int i = 0; i < ids.size(); i++) {
+            LoginLog log = new LoginLog(ids.get(i), USERS.get(i), T0, "access", "refresh");
+            repository.save(log);
+        }
+        LoginLog later = new LoginLog(USERS.get(3), "access", "refresh");
+        later.setLoginTime(T0.plusSeconds(1));
+        repository.save(later);
+
+        // Act
+        List<LoginLog> logs = repository.findAfterPosition(T0, ids.get(0), Pageable.ofSize(10));
+
+        // Assert
+        assertEquals(List.of(new UUID(2, 0), signedNegative, later.getId()), logs.stream().map(LoginLog::getId).toList());
+    }
+
+    @Test
+    void findBeforeAfterPosition_ContinuesAfterTheLastRowAcrossShards() {
+        // Arrange
+        insertLogins();
+
+        // Act
+        List<LoginLog> logs = repository.findBeforeAfterPosition(
+                T0.plusMinutes(10), T0.plusMinutes(2), new UUID(-1L, -1L), Pageable.ofSize(3));
+
+        // Assert
+        assertEquals(List.of(T0.plusMinutes(3), T0.plusMinutes(4), T0.plusMinutes(5)),
+                logs.stream().map(LoginLog::getLoginTime).toList());
+    }
+
+    @Test
+    void findByUsernameIgnoreCaseAfterPosition_RoutesMixedCaseToSameShard() {
+        // Arrange
+        insertLogins();
+
+        // Act
+        List<LoginLog> logs = repository.findByUsernameIgnoreCaseAfterPosition(
+                "EmilyS", T0.minusDays(1), new UUID(0, 0), Pageable.ofSize(10));
+
+        // Assert
+        assertEquals(repository.shardFor("emilys"), repository.shardFor("EmilyS"));
+        assertEquals(3, logs.size());
+        assertSorted(logs, Comparator.comparing(LoginLog::getLoginTime));
+    }
+
+    @Test
+    void deleteAllByIdInBatch_RemovesRowsFromEveryShard() {
+        // Arrange
+        insertLogins();
+        List<UUID> ids = repository.findAllByOrderByLoginTimeDesc().stream()
+                .limit(7)
+                .map(LoginLog::getId)
+                .toList();
+
+        // Act
+        repository.deleteAllByIdInBatch(ids);
+
+        // Assert
+        assertEquals(USERS.size() * 3L - 7, repository.count());
+    }
+
+    @Test
+    void findDistinctUsernames_UnionsShards() {
+        // Arrange
+        insertLogins();
+
+        // Act
+        List<String> usernames = repository.findDistinctUsernames();
+
+        // Assert
+        assertEquals(new HashSet<>(USERS), new HashSet<>(usernames));
+        assertEquals(USERS.size(), usernames.size());
+    }
+
+    @Test
+    void findAllByOrderByLoginTimeDesc_ConcurrentRequestsDoNotQueueForThreads() throws Exception {
+        // Arrange: every shard query takes 200 ms; 16 requests x 4 shards would need
+        // 3.2 s on a shared 4-thread pool, far past the 1 s timeout
+        List<LoginLogShard> slowShards = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            slowShards.add(new LoginLogShard("slow_" + i, "login_log", jdbcTemplate) {
+                @Override
+                List<LoginLog> findAllDesc() {
+                    try {
+                        Thread.sleep(200);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return List.of();
+                }
+            });
+        }
+        ExecutorService callers = Executors.newFixedThreadPool(16);
+        try (ShardedLoginLogRepository slow = new ShardedLoginLogRepository(slowShards, Duration.ofSeconds(1))) {
+            List<Future<List<LoginLog>>> results = new ArrayList<>();
+
+            // Act
+            for (int i = 0; i < 16; i++) {
+                results.add(callers.submit(slow::findAllByOrderByLoginTimeDesc));
+            }
+
+            // Assert
+            for (Future<List<LoginLog>> result : results) {
+                assertTrue(result.get(5, TimeUnit.SECONDS).isEmpty());
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void shardFor_IsStableAcrossInstances() {
+        // Act & Assert
+        assertEquals(ShardRouter.shardFor("emilys", 3), ShardRouter.shardFor("EMILYS", 3));
+        assertEquals(ShardRouter.hash("emilys"), ShardRouter.hash("emilys"));
+    }
+
+    /**
+     * Three logins per user at distinct minutes, interleaved across users
+     */
+    private void insertLogins() {
+        int minute = 0;
+        for (int round = 0; round < 3; round++) {
+            for (String username : USERS) {
+                LoginLog log = new LoginLog(username, "access", "refresh");
+                log.setLoginTime(T0.plusMinutes(minute++));
+                repository.save(log);
+            }
+        }
+    }
+
+    private int countInShard(int shard, String username) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM shard_" + shard + ".login_log WHERE username = ?", Integer.class, username);
+        return count == null ? 0 : count;
+    }
+
+    private static void assertSorted(List<LoginLog> logs, Comparator<LoginLog> order) {
+        for (int i = 1; i < logs.size(); i++) {
+            assertTrue(order.compare(logs.get(i - 1), logs.get(i)) <= 0, "rows out of order at " + i);
+        }
+    }
+}
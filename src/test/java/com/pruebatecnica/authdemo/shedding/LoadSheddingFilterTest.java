@@ -0,0 +1,124 @@
+package com.pruebatecnica.authdemo.shedding;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadSheddingFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private LoadSheddingProperties properties;
+    private OverloadDetector overloadDetector;
+    private LoadSheddingFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new LoadSheddingProperties();
+        Map<String, LoadSheddingProperties.Priority> routes = new LinkedHashMap<>();
+        routes.put("/api/auth/login", LoadSheddingProperties.Priority.CRITICAL);
+        routes.put("/api/auth/me", LoadSheddingProperties.Priority.CRITICAL);
+        routes.put("/api/auth/login-logs/**", LoadSheddingProperties.Priority.SHEDDABLE);
+        routes.put("/api/auth/login-history/**", LoadSheddingProperties.Priority.SHEDDABLE);
+        properties.setRoutes(routes);
+        properties.setCooldown(Duration.ofSeconds(1));
+        overloadDetector = new OverloadDetector(properties, meterRegistry);
+        filter = new LoadSheddingFilter(properties, overloadDetector, new ObjectMapper(), meterRegistry);
+    }
+
+    @Test
+    void classify_UsesFirstMatchingRoute() {
+        assertEquals(LoadSheddingProperties.Priority.CRITICAL, filter.classify(get("/api/auth/login")));
+        assertEquals(LoadSheddingProperties.Priority.SHEDDABLE, filter.classify(get("/api/auth/login-logs")));
+        assertEquals(LoadSheddingProperties.Priority.SHEDDABLE, filter.classify(get("/api/auth/login-history/emilys")));
+        assertEquals(LoadSheddingProperties.Priority.NORMAL, filter.classify(get("/api/auth/users")));
+    }
+
+    @Test
+    void doFilter_ShedsLowestClassFirst() throws Exception {
+        // Arrange: one overloaded sample raises the level to 1
+        overloadDetector.update(0.99, 0, 0);
+
+        // Act
+        MockHttpServletResponse history = perform(get("/api/auth/login-history/emilys"));
+        MockHttpServletResponse users = perform(get("/api/auth/users"));
+        MockHttpServletResponse me = perform(get("/api/auth/me"));
+
+        // Assert
+        assertEquals(503, history.getStatus());
+        assertEquals("1", history.getHeader("Retry-After"));
+        assertTrue(history.getContentAsString().contains("AUTH_005"));
+        assertEquals(200, users.getStatus());
+        assertEquals(200, me.getStatus());
+        assertEquals(1, count("sheddable", "shed"));
+    }
+
+    @Test
+    void doFilter_CriticalSurvivesMaxLevel() throws Exception {
+        overloadDetector.update(0.99, 0, 0);
+        overloadDetector.update(0.99, 0, 1);
+
+        assertEquals(503, perform(get("/api/auth/users")).getStatus());
+        assertEquals(200, perform(get("/api/auth/login")).getStatus());
+    }
+
+    @Test
+    void update_StepsDownAfterCooldown() {
+        overloadDetector.update(0.99, 0, 0);
+        overloadDetector.update(0.10, 0, Duration.ofMillis(500).toNanos());
+        assertEquals(1, overloadDetector.level());
+
+        overloadDetector.update(0.10, 0, Duration.ofMillis(1_100).toNanos());
+        assertEquals(0, overloadDetector.level());
+    }
+
+    @Test
+    void doFilter_ReservesCapacityForCritical() throws Exception {
+        // Arrange
+        properties.setMaxConcurrent(2);
+        properties.setCriticalReserved(1);
+        MockHttpServletResponse[] nested = new MockHttpServletResponse[2];
+        FilterChain holdingChain = (request, response) -> {
+            nested[0] = perform(get("/api/auth/users"));
+            nested[1] = perform(get("/api/auth/me"));
+        };
+
+        // Act: a NORMAL request is in flight while two more arrive
+        filter.doFilter(get("/api/auth/users"), new MockHttpServletResponse(), holdingChain);
+
+        // Assert
+        assertEquals(503, nested[0].getStatus());
+        assertEquals(200, nested[1].getStatus());
+        assertEquals(1, count("normal", "shed"));
+        assertEquals(1, count("critical", "admitted"));
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, new MockFilterChain());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return response;
+    }
+
+    private double count(String priority, String outcome) {
+        return meterRegistry.get("authdemo.shedding.requests").tag("class", priority).tag("outcome", outcome)
+                .counter().count();
+    }
+
+    private static MockHttpServletRequest get(String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+}
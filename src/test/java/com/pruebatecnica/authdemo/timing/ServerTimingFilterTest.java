@@ -0,0 +1,92 @@
+package com.pruebatecnica.authdemo.timing;
+
+import com.pruebatecnica.authdemo.dto.SlowRequestResponse;
+import com.pruebatecnica.authdemo.warmup.WarmupRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServerTimingFilterTest {
+
+    private ServerTimingProperties properties;
+    private SlowRequestLog slowRequestLog;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ServerTimingProperties();
+        properties.setEnabled(true);
+        properties.setSlowBufferSize(2);
+        slowRequestLog = new SlowRequestLog(properties);
+        request = new MockHttpServletRequest("POST", "/api/auth/login");
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    void doFilter_EmitsServerTimingWithStages() throws Exception {
+        ServerTimingFilter filter = new ServerTimingFilter(properties, slowRequestLog);
+
+        filter.doFilter(request, response, (req, res) -> {
+            try (RequestTiming.Stage stage = RequestTiming.stage("upstream")) {
+                // simulated DummyJSON call
+            }
+            try (RequestTiming.Stage stage = RequestTiming.stage("db")) {
+                // simulated repository call
+            }
+        });
+
+        String header = response.getHeader("Server-Timing");
+        assertNotNull(header);
+        assertTrue(header.matches("upstream;dur=[0-9.]+, db;dur=[0-9.]+, app;dur=[0-9.]+"), header);
+        assertNull(RequestTiming.current());
+    }
+
+    @Test
+    void doFilter_CapturesSlowRequestsWithinBufferSize() throws Exception {
+        properties.setSlowThreshold(Duration.ZERO);
+        ServerTimingFilter filter = new ServerTimingFilter(properties, slowRequestLog);
+
+        for (int i = 0; i < 3; i++) {
+            filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+                try (RequestTiming.Stage stage = RequestTiming.stage("upstream")) {
+                    // simulated DummyJSON call
+                }
+            });
+        }
+
+        List<SlowRequestResponse> entries = slowRequestLog.getEntries();
+        assertEquals(2, entries.size());
+        assertEquals("/api/auth/login", entries.get(0).getPath());
+        assertTrue(entries.get(0).getStagesMs().containsKey("upstream"));
+    }
+
+    @Test
+    void doFilter_WarmupRequestsAreNotCaptured() throws Exception {
+        properties.setSlowThreshold(Duration.ZERO);
+        request.addHeader(WarmupRequest.HEADER, WarmupRequest.token());
+        ServerTimingFilter filter = new ServerTimingFilter(properties, slowRequestLog);
+
+        filter.doFilter(request, response, (req, res) -> assertNotNull(RequestTiming.current()));
+
+        assertTrue(slowRequestLog.getEntries().isEmpty());
+    }
+
+    @Test
+    void doFilter_DisabledLeavesResponseUntouched() throws Exception {
+        properties.setEnabled(false);
+        properties.setSlowThreshold(Duration.ZERO);
+        ServerTimingFilter filter = new ServerTimingFilter(properties, slowRequestLog);
+
+        filter.doFilter(request, response, (req, res) -> assertNull(RequestTiming.current()));
+
+        assertNull(response.getHeader("Server-Timing"));
+        assertTrue(slowRequestLog.getEntries().isEmpty());
+    }
+}
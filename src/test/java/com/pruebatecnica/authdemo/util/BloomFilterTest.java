@@ -0,0 +1,59 @@
+package com.pruebatecnica.authdemo.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void mightContain_NoFalseNegatives() {
+        BloomFilter filter = BloomFilter.create(1_000, 0.01);
+        for (int i = 0; i < 1_000; i++) {
+            filter.put("user" + i);
+        }
+
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(filter.mightContain("user" + i));
+        }
+    }
+
+    @Test
+    void mightContain_FalsePositiveRateNearTarget() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain("unknown" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void create_RespectsMaxBits() {
+        BloomFilter filter = BloomFilter.create(1_000_000, 0.001, 8_192);
+
+        assertEquals(8_192, filter.bitSize());
+    }
+
+    @Test
+    void writeTo_RoundTrips() {
+        BloomFilter filter = BloomFilter.create(100, 0.01);
+        filter.put("emilys");
+        ByteBuffer buffer = ByteBuffer.allocate(filter.serializedSize());
+        filter.writeTo(buffer);
+        buffer.flip();
+
+        BloomFilter copy = BloomFilter.readFrom(buffer);
+
+        assertTrue(copy.mightContain("emilys"));
+        assertEquals(filter.bitSize(), copy.bitSize());
+    }
+}
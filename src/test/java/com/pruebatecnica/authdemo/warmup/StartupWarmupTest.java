@@ -0,0 +1,82 @@
+package com.pruebatecnica.authdemo.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.pruebatecnica.authdemo.client.DummyJsonClient;
+import com.pruebatecnica.authdemo.repository.LoginLogStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StartupWarmupTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private LoginLogStore loginLogStore;
+
+    @Mock
+    private DummyJsonClient dummyJsonClient;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private WarmupProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new WarmupProperties();
+        properties.setDatabaseIterations(3);
+        properties.setSerializationIterations(5);
+        properties.setControllerIterations(0);
+    }
+
+    @Test
+    void run_SkipsWithoutEmbeddedServer() {
+        StartupWarmup warmup = warmup(new GenericApplicationContext());
+
+        warmup.run(new DefaultApplicationArguments());
+
+        verifyNoInteractions(loginLogStore, dummyJsonClient);
+        assertNull(meterRegistry.find("authdemo.warmup.duration").timer());
+    }
+
+    @Test
+    void run_ToleratesFailingStepsAndReportsDuration() throws Exception {
+        // Arrange
+        ServletWebServerApplicationContext context = mock(ServletWebServerApplicationContext.class);
+        WebServer webServer = mock(WebServer.class);
+        when(context.getWebServer()).thenReturn(webServer);
+        when(dataSource.isWrapperFor(any())).thenReturn(false);
+        when(dummyJsonClient.getUsers(anyInt(), anyInt(), anyString()))
+                .thenThrow(new RuntimeException("dummyjson.com unreachable"));
+
+        // Act
+        warmup(context).run(new DefaultApplicationArguments());
+
+        // Assert
+        verify(loginLogStore, times(3)).findByUsernameOrderByLoginTimeDesc("__warmup__");
+        assertNotNull(meterRegistry.find("authdemo.warmup.duration").tag("step", "total").timer());
+        assertNotNull(meterRegistry.find("authdemo.warmup.duration").tag("step", "database").timer());
+        assertNull(meterRegistry.find("authdemo.warmup.duration").tag("step", "upstream").timer());
+    }
+
+    private StartupWarmup warmup(org.springframework.context.ApplicationContext context) {
+        return new StartupWarmup(properties, context, dataSource, loginLogStore, dummyJsonClient,
+                objectMapper, meterRegistry);
+    }
+}
@@ -0,0 +1,25 @@
+package com.pruebatecnica.authdemo.warmup;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WarmupRequestTest {
+
+    @Test
+    void isWarmup_OnlyTheProcessTokenMarksARequest() {
+        // Arrange
+        MockHttpServletRequest warmup = new MockHttpServletRequest("GET", "/api/auth/me");
+        warmup.addHeader(WarmupRequest.HEADER, WarmupRequest.token());
+        MockHttpServletRequest forged = new MockHttpServletRequest("GET", "/api/auth/me");
+        forged.addHeader(WarmupRequest.HEADER, "true");
+        MockHttpServletRequest regular = new MockHttpServletRequest("GET", "/api/auth/me");
+
+        // Act & Assert
+        assertTrue(WarmupRequest.isWarmup(warmup));
+        assertFalse(WarmupRequest.isWarmup(forged));
+        assertFalse(WarmupRequest.isWarmup(regular));
+    }
+}